@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.atlasmap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.core.DefaultAtlasContext;
+
+/**
+ * A thread safe and bounded cache of the {@link AtlasContext} created from the mapping definitions
+ * passed in the {@link AtlasConstants#ATLAS_MAPPING} header. The entry is keyed by the SHA-256 digest
+ * of the mapping definition, so that the routes which pass the same mapping for every exchange pay the
+ * cost of deserializing the mapping and initializing the context once, without retaining the mapping
+ * text itself.
+ * <p>
+ * Once the cache exceeds its maximum size, the oldest entries are evicted in the order they were added.
+ * The maximum size of {@code 0} disables the cache. The contexts evicted or cleared from the cache are
+ * unregistered from JMX.
+ * </p>
+ */
+public class AtlasContextCache {
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    private final ConcurrentHashMap<Key, AtlasContext> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    /**
+     * Creates an {@link AtlasContext} from the mapping definition.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        AtlasContext load(String mapping) throws Exception;
+    }
+
+    public AtlasContextCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public AtlasContextCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Gets the cached {@link AtlasContext} for the mapping definition, or creates and caches it if it's not cached.
+     *
+     * @param mapping mapping definition
+     * @param loader creates the context on a cache miss
+     * @return the context
+     * @throws Exception if the loader fails to create the context
+     */
+    public AtlasContext get(String mapping, Loader loader) throws Exception {
+        if (maxSize == 0) {
+            misses.increment();
+            return loader.load(mapping);
+        }
+        Key key = new Key(mapping);
+        AtlasContext answer = entries.get(key);
+        if (answer != null) {
+            hits.increment();
+            return answer;
+        }
+        misses.increment();
+        answer = loader.load(mapping);
+        AtlasContext existing = entries.putIfAbsent(key, answer);
+        if (existing != null) {
+            // created concurrently by an another thread
+            release(answer);
+            return existing;
+        }
+        insertionOrder.add(key);
+        while (entries.size() > maxSize) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            AtlasContext evicted = entries.remove(eldest);
+            if (evicted != null) {
+                evictions.increment();
+                release(evicted);
+            }
+        }
+        return answer;
+    }
+
+    public void clear() {
+        insertionOrder.clear();
+        for (Key key : entries.keySet()) {
+            AtlasContext removed = entries.remove(key);
+            if (removed != null) {
+                release(removed);
+            }
+        }
+    }
+
+    private static void release(AtlasContext context) {
+        if (context instanceof DefaultAtlasContext) {
+            ((DefaultAtlasContext) context).unregisterFromJmx();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size of the mapping cache must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(String mapping) {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256").digest(mapping.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            return obj instanceof Key && Arrays.equals(digest, ((Key) obj).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -20,14 +20,21 @@ import static io.atlasmap.api.AtlasContextFactory.Format.JSON;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Message;
+import org.apache.camel.Producer;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.ResourceEndpoint;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
@@ -40,6 +47,11 @@ import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.DataSource;
 import io.atlasmap.v2.DataSourceType;
@@ -47,6 +59,7 @@ import io.atlasmap.v2.DataSourceType;
 /**
  * Transforms the message using an AtlasMap transformation.
  */
+@ManagedResource(description = "Managed AtlasEndpoint")
 @UriEndpoint(firstVersion = "2.19.0", scheme = "atlas", title = "AtlasMap", syntax = "atlas:resourceUri", producerOnly = true, label = "transformation")
 public class AtlasEndpoint extends ResourceEndpoint {
 
@@ -56,6 +69,7 @@ public class AtlasEndpoint extends ResourceEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasEndpoint.class);
     private AtlasContextFactory atlasContextFactory;
     private AtlasContext atlasContext;
+    private final AtlasContextCache mappingCache = new AtlasContextCache();
 
     @UriParam(defaultValue = "true")
     private boolean loaderCache = true;
@@ -67,11 +81,27 @@ public class AtlasEndpoint extends ResourceEndpoint {
     private String targetMapName;
     @UriParam(defaultValue = "MAP")
     private TargetMapMode targetMapMode = TargetMapMode.MAP;
+    @UriParam(defaultValue = "100")
+    private int mappingCacheSize = AtlasContextCache.DEFAULT_MAX_SIZE;
+    @UriParam(label = "advanced")
+    private ExecutorService executorService;
+    @UriParam(label = "advanced")
+    private int poolSize;
+    @UriParam(label = "advanced")
+    private boolean virtualThreads;
+    @UriParam(label = "advanced", defaultValue = "1000")
+    private int maxPendingExchanges = 1000;
+    @UriParam(label = "advanced", defaultValue = "CALLER_RUNS")
+    private RejectedPolicy rejectedPolicy = RejectedPolicy.CALLER_RUNS;
 
     public enum TargetMapMode {
         MAP, MESSAGE_HEADER, EXCHANGE_PROPERTY;
     }
 
+    public enum RejectedPolicy {
+        CALLER_RUNS, ABORT;
+    }
+
     public AtlasEndpoint(String uri, AtlasComponent component, String resourceUri) {
         super(uri, component, resourceUri);
     }
@@ -86,6 +116,11 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return ExchangePattern.InOut;
     }
 
+    @Override
+    public Producer createProducer() throws Exception {
+        return new AtlasProducer(this);
+    }
+
     @Override
     protected String createEndpointUri() {
         return "atlas:" + getResourceUri();
@@ -172,6 +207,126 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return this.targetMapMode;
     }
 
+    /**
+     * The maximum number of the AtlasContext created from the mapping passed in the
+     * {@link AtlasConstants#ATLAS_MAPPING} header to cache, keyed by the content of the mapping.
+     * 0 disables the cache.
+     * @param size maximum size of the mapping cache
+     */
+    public void setMappingCacheSize(int size) {
+        this.mappingCache.setMaxSize(size);
+        this.mappingCacheSize = size;
+    }
+
+    @ManagedAttribute(description = "Maximum number of the cached header mappings")
+    public int getMappingCacheSize() {
+        return this.mappingCacheSize;
+    }
+
+    @ManagedAttribute(description = "Current number of the cached header mappings")
+    public int getMappingCacheCurrentSize() {
+        return mappingCache.size();
+    }
+
+    @ManagedAttribute(description = "Number of the header mapping cache hits")
+    public long getMappingCacheHits() {
+        return mappingCache.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of the header mapping cache misses")
+    public long getMappingCacheMisses() {
+        return mappingCache.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of the header mappings evicted from the cache")
+    public long getMappingCacheEvictions() {
+        return mappingCache.getEvictionCount();
+    }
+
+    @ManagedOperation(description = "Clears the header mapping cache")
+    public void clearMappingCache() {
+        mappingCache.clear();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // the cached contexts are unregistered from JMX along with the endpoint
+        mappingCache.clear();
+        super.doStop();
+    }
+
+    /**
+     * The executor to process the mapping asynchronously, so that the caller thread is released
+     * while the mapping is processed. If neither of this, {@code virtualThreads} nor {@code poolSize}
+     * is specified, the mapping is processed synchronously on the caller thread.
+     * @param executorService executor
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * The number of the threads to process the mapping asynchronously, if it's positive and
+     * {@code executorService} is not specified.
+     * @param poolSize thread pool size
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Whether to process the mapping asynchronously on a new virtual thread per exchange, if
+     * {@code executorService} is not specified. It falls back to {@code poolSize} if the JVM doesn't
+     * support virtual threads.
+     * @param virtualThreads true to use virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * The maximum number of the exchanges being processed or waiting for the executor when the
+     * mapping is processed asynchronously. The {@code rejectedPolicy} is applied once it's reached.
+     * @param maxPendingExchanges maximum number of the pending exchanges
+     */
+    public void setMaxPendingExchanges(int maxPendingExchanges) {
+        if (maxPendingExchanges < 1) {
+            throw new IllegalArgumentException("maxPendingExchanges must be positive: " + maxPendingExchanges);
+        }
+        this.maxPendingExchanges = maxPendingExchanges;
+    }
+
+    @ManagedAttribute(description = "Maximum number of the pending exchanges")
+    public int getMaxPendingExchanges() {
+        return maxPendingExchanges;
+    }
+
+    /**
+     * {@link RejectedPolicy} enum value to specify what to do with an exchange when there are already
+     * {@code maxPendingExchanges} exchanges pending. CALLER_RUNS processes it on the caller thread,
+     * which slows down the caller, and ABORT fails it with RejectedExecutionException.
+     * @param rejectedPolicy {@link RejectedPolicy}
+     */
+    public void setRejectedPolicy(RejectedPolicy rejectedPolicy) {
+        this.rejectedPolicy = rejectedPolicy;
+    }
+
+    public RejectedPolicy getRejectedPolicy() {
+        return rejectedPolicy;
+    }
+
     public AtlasEndpoint findOrCreateEndpoint(String uri, String newResourceUri) {
         String newUri = uri.replace(getResourceUri(), newResourceUri);
         log.debug("Getting endpoint with URI: {}", newUri);
@@ -195,6 +350,8 @@ public class AtlasEndpoint extends ResourceEndpoint {
         AtlasSession atlasSession = getOrCreateAtlasContext(incomingMessage).createSession();
         populateSourceDocuments(exchange, atlasSession);
         atlasSession.getAtlasContext().process(atlasSession);
+        // the stream cached bodies could be passed as is and read by the modules
+        MessageHelper.resetStreamCache(incomingMessage);
 
         List<Audit> errors = new ArrayList<>();
         for (Audit audit : atlasSession.getAudits().getAudit()) {
@@ -229,14 +386,14 @@ public class AtlasEndpoint extends ResourceEndpoint {
         String content = incomingMessage.getHeader(AtlasConstants.ATLAS_MAPPING, String.class);
         if (content != null) {
             // use content from header
-            InputStream is = new ByteArrayInputStream(content.getBytes());
             if (log.isDebugEnabled()) {
                 log.debug("Atlas mapping content read from header {} for endpoint {}", AtlasConstants.ATLAS_MAPPING,
                         getEndpointUri());
             }
             // remove the header to avoid it being propagated in the routing
             incomingMessage.removeHeader(AtlasConstants.ATLAS_MAPPING);
-            return atlasContextFactory.createContext(JSON, is);
+            return mappingCache.get(content, m -> atlasContextFactory.createContext(JSON,
+                    new ByteArrayInputStream(m.getBytes(StandardCharsets.UTF_8))));
         } else if (getAtlasContext() != null) {
             // no mapping specified in header, and found an existing context
             return getAtlasContext();
@@ -252,8 +409,18 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return atlasContext;
     }
 
+    /**
+     * Reads the mapping definition without {@link AtlasSession#getMapping()}, which copies the whole
+     * mapping for the session and makes the context process that copy instead of the compiled one.
+     */
+    private AtlasMapping getMappingDefinition(AtlasSession session) {
+        return session instanceof AtlasInternalSession
+                ? ((AtlasInternalSession) session).getMappingDefinition() : session.getMapping();
+    }
+
     private void populateSourceDocuments(Exchange exchange, AtlasSession session) {
-        if (session.getMapping().getDataSource() == null) {
+        AtlasMapping mapping = getMappingDefinition(session);
+        if (mapping.getDataSource() == null) {
             return;
         }
 
@@ -264,7 +431,7 @@ public class AtlasEndpoint extends ResourceEndpoint {
         propertyStrategy.setExchange(exchange);
         session.setAtlasPropertyStrategy(propertyStrategy);
 
-        DataSource[] sourceDataSources = session.getMapping().getDataSource().stream()
+        DataSource[] sourceDataSources = mapping.getDataSource().stream()
                 .filter(ds -> ds.getDataSourceType() == DataSourceType.SOURCE)
                 .toArray(DataSource[]::new);
         if (sourceDataSources.length == 0) {
@@ -274,7 +441,7 @@ public class AtlasEndpoint extends ResourceEndpoint {
 
         if (sourceDataSources.length == 1) {
             String docId = sourceDataSources[0].getId();
-            Object payload = extractPayload(sourceDataSources[0], inMessage);
+            Object payload = extractPayload(session, sourceDataSources[0], inMessage);
             if (docId == null || docId.isEmpty()) {
                 session.setDefaultSourceDocument(payload);
             } else {
@@ -300,10 +467,10 @@ public class AtlasEndpoint extends ResourceEndpoint {
         for (DataSource ds : sourceDataSources) {
             String docId = ds.getId();
             if (docId == null || docId.isEmpty()) {
-                Object payload = extractPayload(ds, inMessage);
+                Object payload = extractPayload(session, ds, inMessage);
                 session.setDefaultSourceDocument(payload);
             } else if (sourceMessages != null) {
-                Object payload = extractPayload(ds, sourceMessages.get(docId));
+                Object payload = extractPayload(session, ds, sourceMessages.get(docId));
                 session.setSourceDocument(docId, payload);
                 propertyStrategy.setSourceMessage(docId, sourceMessages.get(docId));
             } else if (sourceDocuments != null) {
@@ -321,7 +488,7 @@ public class AtlasEndpoint extends ResourceEndpoint {
         }
     }
 
-    private Object extractPayload(final DataSource dataSource, Message message) {
+    private Object extractPayload(AtlasSession session, final DataSource dataSource, Message message) {
         if (dataSource == null || message == null) {
             return null;
         }
@@ -330,7 +497,13 @@ public class AtlasEndpoint extends ResourceEndpoint {
         if (dataSource != null && dataSource.getUri() != null
                 && !(dataSource.getUri().startsWith("atlas:core")
                         || dataSource.getUri().startsWith("atlas:java"))) {
-            body = message.getBody(String.class);
+            body = message.getBody();
+            AtlasModule module = getSourceModule(session, dataSource);
+            if (module == null || !AtlasUtil.isSupportedSourceType(module, body)
+                    || (isBinary(body) && !isDefaultCharset(message))) {
+                // the module doesn't read the body as is, convert it into a String
+                body = message.getBody(String.class);
+            }
         } else {
             body = message.getBody();
         }
@@ -342,15 +515,36 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return body;
     }
 
+    private AtlasModule getSourceModule(AtlasSession session, DataSource dataSource) {
+        if (!(session.getAtlasContext() instanceof DefaultAtlasContext)) {
+            return null;
+        }
+        String docId = dataSource.getId() == null || dataSource.getId().isEmpty()
+                ? io.atlasmap.api.AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID : dataSource.getId();
+        return ((DefaultAtlasContext) session.getAtlasContext()).getSourceModules().get(docId);
+    }
+
+    private boolean isBinary(Object body) {
+        return body instanceof byte[] || body instanceof ByteBuffer || body instanceof InputStream;
+    }
+
+    private boolean isDefaultCharset(Message message) {
+        // the binary body is passed as is only if it's not explicitly encoded with other than UTF-8
+        Exchange exchange = message.getExchange();
+        String charset = exchange != null ? exchange.getProperty(Exchange.CHARSET_NAME, String.class) : null;
+        return charset == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(charset);
+    }
+
     private void populateTargetDocuments(AtlasSession session, Exchange exchange) {
         Message outMessage = exchange.getOut();
         outMessage.setHeaders(exchange.getIn().getHeaders());
         outMessage.setAttachments(exchange.getIn().getAttachments());
 
-        if (session.getMapping().getDataSource() == null) {
+        AtlasMapping mapping = getMappingDefinition(session);
+        if (mapping.getDataSource() == null) {
             return;
         }
-        DataSource[] targetDataSources = session.getMapping().getDataSource().stream()
+        DataSource[] targetDataSources = mapping.getDataSource().stream()
                 .filter(ds -> ds.getDataSourceType() == DataSourceType.TARGET)
                 .toArray(DataSource[]::new);
         if (targetDataSources.length == 0) {
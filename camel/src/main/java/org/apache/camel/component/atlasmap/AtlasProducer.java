@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.atlasmap;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.atlasmap.AtlasEndpoint.RejectedPolicy;
+import org.apache.camel.impl.DefaultAsyncProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The AtlasMap producer. The mapping is processed on the caller thread by default, or on the executor
+ * when it's configured on the {@link AtlasEndpoint}, in which case the exchange is completed
+ * asynchronously through the {@link AsyncCallback} and the caller thread is released right away.
+ * <p>
+ * The number of the exchanges being processed or waiting for the executor is bounded by
+ * {@link AtlasEndpoint#getMaxPendingExchanges()}. Once it's reached, the exchange is either processed on
+ * the caller thread, which slows down the caller, or failed with {@link RejectedExecutionException},
+ * according to {@link AtlasEndpoint#getRejectedPolicy()}.
+ * </p>
+ */
+public class AtlasProducer extends DefaultAsyncProducer {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasProducer.class);
+
+    private final AtlasEndpoint endpoint;
+    private volatile Dispatcher dispatcher;
+
+    /**
+     * The executor and the permits for the pending exchanges, which are swapped as a whole so that
+     * {@link #process(Exchange, AsyncCallback)} never sees one without the other while it's stopping.
+     */
+    private static final class Dispatcher {
+        private final ExecutorService executor;
+        private final boolean shutdownExecutor;
+        private final Semaphore pending;
+
+        private Dispatcher(ExecutorService executor, boolean shutdownExecutor, int maxPendingExchanges) {
+            this.executor = executor;
+            this.shutdownExecutor = shutdownExecutor;
+            this.pending = new Semaphore(maxPendingExchanges);
+        }
+    }
+
+    public AtlasProducer(AtlasEndpoint endpoint) {
+        super(endpoint);
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public AtlasEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        ExecutorService executor = endpoint.getExecutorService();
+        boolean shutdownExecutor = false;
+        if (executor == null && endpoint.isVirtualThreads()) {
+            executor = createVirtualThreadExecutor();
+            shutdownExecutor = executor != null;
+        }
+        if (executor == null && endpoint.getPoolSize() > 0) {
+            executor = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newFixedThreadPool(this, "AtlasMap", endpoint.getPoolSize());
+            shutdownExecutor = true;
+        }
+        dispatcher = executor != null
+                ? new Dispatcher(executor, shutdownExecutor, endpoint.getMaxPendingExchanges()) : null;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        Dispatcher current = dispatcher;
+        dispatcher = null;
+        if (current != null && current.shutdownExecutor) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(current.executor);
+        }
+        super.doStop();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Dispatcher current = dispatcher;
+        if (current == null) {
+            processMapping(exchange);
+            callback.done(true);
+            return true;
+        }
+
+        Semaphore permits = current.pending;
+        if (!permits.tryAcquire()) {
+            if (endpoint.getRejectedPolicy() == RejectedPolicy.ABORT) {
+                exchange.setException(new RejectedExecutionException(String.format(
+                        "Too many pending exchanges for the endpoint %s: maxPendingExchanges=%s",
+                        endpoint.getEndpointUri(), endpoint.getMaxPendingExchanges())));
+            } else {
+                // CALLER_RUNS, process on the caller thread so that the caller slows down
+                processMapping(exchange);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        try {
+            current.executor.execute(() -> {
+                try {
+                    processMapping(exchange);
+                } finally {
+                    permits.release();
+                    callback.done(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    private void processMapping(Exchange exchange) {
+        try {
+            endpoint.onExchange(exchange);
+        } catch (Throwable t) {
+            exchange.setException(t);
+        }
+    }
+
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            // available since Java 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            LOG.warn("Virtual threads are not available on this JVM, falling back to {}: {}",
+                    endpoint.getPoolSize() > 0 ? "the thread pool" : "the caller thread", e.getMessage());
+            return null;
+        }
+    }
+
+}
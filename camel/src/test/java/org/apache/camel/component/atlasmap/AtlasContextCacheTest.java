@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.atlasmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasContext;
+
+public class AtlasContextCacheTest {
+
+    private AtomicInteger loaded = new AtomicInteger();
+
+    private AtlasContext load(String mapping) {
+        loaded.incrementAndGet();
+        return mock(AtlasContext.class);
+    }
+
+    @Test
+    public void testCacheByContent() throws Exception {
+        AtlasContextCache cache = new AtlasContextCache(2);
+        AtlasContext first = cache.get("{\"a\":1}", this::load);
+        assertSame(first, cache.get(new String("{\"a\":1}"), this::load));
+        assertNotSame(first, cache.get("{\"a\":2}", this::load));
+        assertEquals(2, loaded.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        AtlasContextCache cache = new AtlasContextCache(2);
+        AtlasContext first = cache.get("1", this::load);
+        cache.get("2", this::load);
+        cache.get("3", this::load);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotSame(first, cache.get("1", this::load));
+        assertEquals(4, loaded.get());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        AtlasContextCache cache = new AtlasContextCache(0);
+        assertNotSame(cache.get("1", this::load), cache.get("1", this::load));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+}
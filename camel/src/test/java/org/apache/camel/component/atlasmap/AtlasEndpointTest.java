@@ -16,18 +16,27 @@
 package org.apache.camel.component.atlasmap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
 import org.junit.ComparisonFailure;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -35,8 +44,14 @@ import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.json.module.JsonModule;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.DataSource;
@@ -119,6 +134,117 @@ public class AtlasEndpointTest {
         perform(dataSources, null, null, true);
     }
 
+    @Test
+    public void noConversionIfModuleReadsBodyAsIs() throws Exception {
+        final AtlasMapping mapping = new AtlasMapping();
+        final DataSource dataSource = new DataSource();
+        dataSource.setDataSourceType(DataSourceType.SOURCE);
+        dataSource.setId("my-source-doc");
+        dataSource.setUri("atlas:json:SomeType");
+        mapping.getDataSource().add(dataSource);
+        final DefaultAtlasContext context = mock(DefaultAtlasContext.class);
+        final AtlasSession session = spy(AtlasSession.class);
+        when(context.createSession()).thenReturn(session);
+        when(context.getSourceModules()).thenReturn(Collections.singletonMap("my-source-doc", new JsonModule()));
+        when(session.getAtlasContext()).thenReturn(context);
+        when(session.getMapping()).thenReturn(mapping);
+        when(session.getAudits()).thenReturn(new Audits());
+        final AtlasEndpoint endpoint = new AtlasEndpoint("atlas:test.json", new AtlasComponent(), "test.json");
+        endpoint.setAtlasContext(context);
+        final Exchange exchange = spy(Exchange.class);
+        final Message inMessage = spy(Message.class);
+        final InputStream body = new ByteArrayInputStream("{test}".getBytes());
+        when(inMessage.getBody()).thenReturn(body);
+        when(exchange.getIn()).thenReturn(inMessage);
+        final Message outMessage = spy(Message.class);
+        doNothing().when(outMessage).setHeaders(any());
+        doNothing().when(outMessage).setAttachments(any());
+        when(exchange.getOut()).thenReturn(outMessage);
+        endpoint.onExchange(exchange);
+        verify(session).setSourceDocument("my-source-doc", body);
+    }
+
+    @Test
+    public void testUnregisterDiscardedContexts() throws Exception {
+        final List<DefaultAtlasContext> contexts = new ArrayList<>();
+        final AtlasContextFactory factory = mock(AtlasContextFactory.class);
+        when(factory.createContext(any(AtlasContextFactory.Format.class), any(InputStream.class))).thenAnswer(i -> {
+            DefaultAtlasContext context = mock(DefaultAtlasContext.class);
+            AtlasSession session = spy(AtlasSession.class);
+            when(context.createSession()).thenReturn(session);
+            when(session.getAtlasContext()).thenReturn(context);
+            when(session.getMapping()).thenReturn(new AtlasMapping());
+            when(session.getAudits()).thenReturn(new Audits());
+            contexts.add(context);
+            return context;
+        });
+        final AtlasEndpoint endpoint = new AtlasEndpoint("atlas:test.json", new AtlasComponent(), "test.json");
+        endpoint.setAtlasContextFactory(factory);
+        endpoint.setMappingCacheSize(1);
+
+        endpoint.onExchange(headerMappingExchange("{\"first\":1}"));
+        endpoint.onExchange(headerMappingExchange("{\"second\":2}"));
+        assertEquals(2, contexts.size());
+        verify(contexts.get(0)).unregisterFromJmx();
+        verify(contexts.get(1), never()).unregisterFromJmx();
+
+        endpoint.clearMappingCache();
+        verify(contexts.get(1)).unregisterFromJmx();
+
+        endpoint.onExchange(headerMappingExchange("{\"third\":3}"));
+        verify(contexts.get(2), never()).unregisterFromJmx();
+        endpoint.stop();
+        verify(contexts.get(2)).unregisterFromJmx();
+        assertEquals(0, endpoint.getMappingCacheCurrentSize());
+    }
+
+    @Test
+    public void testNoMappingCopyPerExchange() throws Exception {
+        final DefaultAtlasContext context = spy(DefaultAtlasContextFactory.getInstance().createContext(
+                AtlasContextFactory.Format.JSON, getClass().getClassLoader().getResourceAsStream("atlasmapping.json")));
+        final List<AtlasSession> sessions = new ArrayList<>();
+        doAnswer(i -> {
+            AtlasSession session = spy((AtlasSession) i.callRealMethod());
+            sessions.add(session);
+            return session;
+        }).when(context).createSession();
+        final DefaultCamelContext camelContext = new DefaultCamelContext();
+        camelContext.start();
+        try {
+            final AtlasEndpoint endpoint = camelContext.getEndpoint("atlas:atlasmapping.json", AtlasEndpoint.class);
+            endpoint.setAtlasContext(context);
+            for (int i = 0; i < 2; i++) {
+                Exchange exchange = new DefaultExchange(camelContext);
+                exchange.getIn().setBody(Util.generateMockTwitterStatus());
+                endpoint.onExchange(exchange);
+                assertNull(exchange.getException());
+                assertEquals("Bob", new ObjectMapper().readTree(exchange.getOut().getBody(String.class))
+                        .get("FirstName").asText());
+            }
+        } finally {
+            camelContext.stop();
+        }
+        assertEquals(2, sessions.size());
+        for (AtlasSession session : sessions) {
+            // the session reads the mapping definition of the context and never copies it
+            verify(session, never()).getMapping();
+        }
+        // validated once per context, not per exchange
+        verify(context, times(1)).processValidation(any());
+    }
+
+    private Exchange headerMappingExchange(String mapping) {
+        final Exchange exchange = spy(Exchange.class);
+        final Message inMessage = spy(Message.class);
+        when(inMessage.getHeader(AtlasConstants.ATLAS_MAPPING, String.class)).thenReturn(mapping);
+        when(exchange.getIn()).thenReturn(inMessage);
+        final Message outMessage = spy(Message.class);
+        doNothing().when(outMessage).setHeaders(any());
+        doNothing().when(outMessage).setAttachments(any());
+        when(exchange.getOut()).thenReturn(outMessage);
+        return exchange;
+    }
+
     private void perform(List<DataSource> dataSources, String sourceDocId, String targetDocId, boolean fromStream) throws Exception {
         final AtlasMapping mapping = new AtlasMapping();
         mapping.getDataSource().addAll(dataSources);
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.atlasmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.SimpleRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class AtlasProducerTest {
+
+    private HoldingExecutor holdingExecutor = new HoldingExecutor();
+    private DefaultCamelContext camelContext;
+
+    @Before
+    public void before() throws Exception {
+        SimpleRegistry registry = new SimpleRegistry();
+        registry.put("holdingExecutor", holdingExecutor);
+        camelContext = new DefaultCamelContext(registry);
+        camelContext.start();
+    }
+
+    @After
+    public void after() throws Exception {
+        camelContext.stop();
+    }
+
+    @Test
+    public void testPoolSize() throws Exception {
+        AtlasProducer producer = createProducer("atlas:atlasmapping.json?poolSize=2");
+        List<Exchange> exchanges = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            Exchange exchange = createExchange();
+            exchanges.add(exchange);
+            producer.process(exchange, doneSync -> latch.countDown());
+        }
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        for (Exchange exchange : exchanges) {
+            assertMapped(exchange);
+        }
+        producer.stop();
+    }
+
+    @Test
+    public void testRejectedPolicy() throws Exception {
+        AtlasProducer producer = createProducer(
+                "atlas:atlasmapping.json?executorService=#holdingExecutor&maxPendingExchanges=1&rejectedPolicy=ABORT");
+        Exchange first = createExchange();
+        assertFalse(producer.process(first, doneSync -> { }));
+        Exchange second = createExchange();
+        assertTrue(producer.process(second, doneSync -> { }));
+        assertTrue(second.getException() instanceof RejectedExecutionException);
+
+        holdingExecutor.tasks.remove(0).run();
+        assertMapped(first);
+
+        producer = createProducer(
+                "atlas:atlasmapping.json?executorService=#holdingExecutor&maxPendingExchanges=1&rejectedPolicy=CALLER_RUNS");
+        assertFalse(producer.process(createExchange(), doneSync -> { }));
+        Exchange callerRuns = createExchange();
+        assertTrue(producer.process(callerRuns, doneSync -> { }));
+        assertMapped(callerRuns);
+        producer.stop();
+    }
+
+    @Test
+    public void testProcessWhileStopping() throws Exception {
+        AtlasProducer producer = createProducer(
+                "atlas:atlasmapping.json?executorService=#holdingExecutor&maxPendingExchanges=1");
+        Exchange held = createExchange();
+        assertFalse(producer.process(held, doneSync -> { }));
+        producer.stop();
+
+        // processed on the caller thread once the executor is gone
+        Exchange afterStop = createExchange();
+        assertTrue(producer.process(afterStop, doneSync -> { }));
+        assertMapped(afterStop);
+        assertEquals(1, holdingExecutor.tasks.size());
+        holdingExecutor.tasks.remove(0).run();
+        assertMapped(held);
+    }
+
+    private AtlasProducer createProducer(String uri) throws Exception {
+        AtlasProducer producer = (AtlasProducer) camelContext.getEndpoint(uri).createProducer();
+        producer.start();
+        return producer;
+    }
+
+    private Exchange createExchange() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(Util.generateMockTwitterStatus());
+        return exchange;
+    }
+
+    private void assertMapped(Exchange exchange) throws Exception {
+        assertNull(exchange.getException());
+        JsonNode outJson = new ObjectMapper().readTree(exchange.getOut().getBody(String.class));
+        assertEquals("Bob", outJson.get("FirstName").asText());
+    }
+
+    private static class HoldingExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+}
@@ -16,18 +16,33 @@
 package io.atlasmap.kafka.smt;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.header.Headers;
 import org.apache.kafka.connect.transforms.Transformation;
 import org.apache.kafka.connect.transforms.util.SimpleConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.core.DefaultAtlasContext;
 import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.json.module.JsonModule;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
 
 public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R> {
 
@@ -39,23 +54,79 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
         String DOCID_SOURCE_VALUE = "docid.source.value";
         String DOCID_TARGET_KEY = "docid.target.key";
         String DOCID_TARGET_VALUE = "docid.target.value";
+        String ERROR_POLICY = "error.policy";
+        String DEAD_LETTER_TOPIC = "error.deadletter.topic";
+    }
+
+    /**
+     * What to do with a record which failed to process.
+     */
+    public enum ErrorPolicy {
+        /** Logs the error and passes the original record through. */
+        IGNORE("ignore"),
+        /**
+         * Throws a {@link DataException}, which is handled by the Kafka Connect error handling,
+         * i.e. {@code errors.tolerance} and {@code errors.deadletterqueue.topic.name} for the sink connectors.
+         */
+        FAIL("fail"),
+        /** Drops the record. */
+        SKIP("skip"),
+        /**
+         * Routes the original record to the {@code error.deadletter.topic} with the error headers.
+         * This is meant for the source connectors, where the record is written into the dead letter topic as is.
+         */
+        DEAD_LETTER("dead-letter");
+
+        private final String value;
+
+        ErrorPolicy(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static ErrorPolicy fromValue(String value) {
+            for (ErrorPolicy policy : values()) {
+                if (policy.value.equals(value)) {
+                    return policy;
+                }
+            }
+            throw new ConfigException(ConfigName.ERROR_POLICY, value, "Must be one of ignore, fail, skip or dead-letter");
+        }
     }
 
+    public static final String HEADER_ERROR_MESSAGE = "atlasmap.error.message";
+    public static final String HEADER_ERROR_CLASS = "atlasmap.error.class";
+
     public static final ConfigDef CONFIG_DEF = new ConfigDef()
         .define(ConfigName.ADM_PATH, ConfigDef.Type.STRING, "", ConfigDef.Importance.HIGH, "Path for the ADM file")
         .define(ConfigName.DOCID_SOURCE_KEY, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, "Document ID for the source key")
         .define(ConfigName.DOCID_SOURCE_VALUE, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, "Document ID for the source value")
         .define(ConfigName.DOCID_TARGET_KEY, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, "Document ID for the target key")
-        .define(ConfigName.DOCID_TARGET_VALUE, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, "Document ID for the target value");
+        .define(ConfigName.DOCID_TARGET_VALUE, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, "Document ID for the target value")
+        .define(ConfigName.ERROR_POLICY, ConfigDef.Type.STRING, ErrorPolicy.IGNORE.value(),
+            ConfigDef.ValidString.in("ignore", "fail", "skip", "dead-letter"), ConfigDef.Importance.MEDIUM,
+            "What to do with a record which failed to process, one of ignore, fail, skip or dead-letter")
+        .define(ConfigName.DEAD_LETTER_TOPIC, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW,
+            "Topic to route the failed records to when the error policy is dead-letter");
 
     private static final Logger LOG = LoggerFactory.getLogger(AtlasMapSMT.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
 
     private String admPath;
     private String docIdSourceKey;
     private String docIdSourceValue;
     private String docIdTargetKey;
     private String docIdTargetValue;
+    private ErrorPolicy errorPolicy;
+    private String deadLetterTopic;
+    private boolean jsonSourceKey;
+    private boolean jsonSourceValue;
+    private volatile boolean sourceModulesResolved;
     private DefaultAtlasContext atlasContext;
+    private AtlasMapSMTMetrics metrics;
 
     @Override
     public void configure(Map<String, ?> props) {
@@ -65,9 +136,25 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
         docIdSourceValue = config.getString(ConfigName.DOCID_SOURCE_VALUE);
         docIdTargetKey = config.getString(ConfigName.DOCID_TARGET_KEY);
         docIdTargetValue = config.getString(ConfigName.DOCID_TARGET_VALUE);
+        errorPolicy = ErrorPolicy.fromValue(config.getString(ConfigName.ERROR_POLICY));
+        deadLetterTopic = config.getString(ConfigName.DEAD_LETTER_TOPIC);
+        if (errorPolicy == ErrorPolicy.DEAD_LETTER && (deadLetterTopic == null || deadLetterTopic.isEmpty())) {
+            throw new ConfigException(ConfigName.DEAD_LETTER_TOPIC, deadLetterTopic,
+                "Must be specified when the error policy is dead-letter");
+        }
+        String admName = new File(admPath).getName();
+        // the metrics are registered once, unless it's reconfigured with another ADM file
+        if (metrics == null || !admName.equals(metrics.getAdmName())) {
+            if (metrics != null) {
+                metrics.close();
+            }
+            metrics = new AtlasMapSMTMetrics(admName);
+        }
 
         try {
+            // the context is created once and shared among all the records, it's initialized by the first session
             atlasContext = DefaultAtlasContextFactory.getInstance().createContext(new File(admPath));
+            sourceModulesResolved = false;
         } catch (Exception e) {
             LOG.error("Could not load ADM archive file: {}", e.getMessage());
             if (LOG.isDebugEnabled()) {
@@ -78,17 +165,25 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
 
     @Override
     public R apply(R record) {
+        long start = System.nanoTime();
         try {
             AtlasSession session = atlasContext.createSession();
+            if (!sourceModulesResolved) {
+                resolveSourceModules();
+            }
             if (docIdSourceKey != null && !docIdSourceKey.isEmpty()) {
-                session.setSourceDocument(docIdSourceKey, record.key());
+                session.setSourceDocument(docIdSourceKey, toSourceDocument(record.key(), jsonSourceKey));
             }
+            Object sourceValue = toSourceDocument(record.value(), jsonSourceValue);
             if (docIdSourceValue != null && !docIdSourceValue.isEmpty()) {
-                session.setSourceDocument(docIdSourceValue, record.value());
+                session.setSourceDocument(docIdSourceValue, sourceValue);
             } else {
-                session.setDefaultSourceDocument(record.value());
+                session.setDefaultSourceDocument(sourceValue);
             }
             atlasContext.process(session);
+            if (errorPolicy != ErrorPolicy.IGNORE && session.hasErrors()) {
+                throw new DataException("AtlasMap mapping failed: " + firstError(session));
+            }
             Object outKey = null, outValue = null;
             if (docIdTargetKey != null && !docIdTargetKey.isEmpty()) {
                 outKey = session.getTargetDocument(docIdTargetKey);
@@ -98,9 +193,93 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
             } else {
                 outValue = session.getDefaultTargetDocument();
             }
-            return record.newRecord(record.topic(), record.kafkaPartition(),
+            R answer = record.newRecord(record.topic(), record.kafkaPartition(),
                 null, outKey, null, outValue, record.timestamp());
+            metrics.recordProcessed(start);
+            return answer;
         } catch (Exception e) {
+            return handleError(record, e);
+        }
+    }
+
+    private void resolveSourceModules() {
+        jsonSourceKey = docIdSourceKey != null && !docIdSourceKey.isEmpty()
+            && atlasContext.getSourceModules().get(docIdSourceKey) instanceof JsonModule;
+        jsonSourceValue = atlasContext.getSourceModules().get(docIdSourceValue != null && !docIdSourceValue.isEmpty()
+            ? docIdSourceValue : AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID) instanceof JsonModule;
+        sourceModulesResolved = true;
+    }
+
+    /**
+     * Converts the {@link Struct} and the {@link Map} into a {@link JsonNode} for the JSON module, which
+     * reads the tree as is. The other values including {@code byte[]} are passed through to the module
+     * without converting into a String.
+     */
+    private Object toSourceDocument(Object value, boolean json) {
+        if (json && (value instanceof Struct || value instanceof Map)) {
+            return toJsonNode(value);
+        }
+        return value;
+    }
+
+    private static JsonNode toJsonNode(Object value) {
+        if (value == null) {
+            return NullNode.getInstance();
+        }
+        if (value instanceof Struct) {
+            Struct struct = (Struct) value;
+            ObjectNode node = JSON.createObjectNode();
+            for (org.apache.kafka.connect.data.Field field : struct.schema().fields()) {
+                node.set(field.name(), toJsonNode(struct.get(field)));
+            }
+            return node;
+        }
+        if (value instanceof Map) {
+            ObjectNode node = JSON.createObjectNode();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                node.set(String.valueOf(entry.getKey()), toJsonNode(entry.getValue()));
+            }
+            return node;
+        }
+        if (value instanceof List) {
+            ArrayNode node = JSON.createArrayNode();
+            for (Object item : (List<?>) value) {
+                node.add(toJsonNode(item));
+            }
+            return node;
+        }
+        return JSON.valueToTree(value);
+    }
+
+    private static String firstError(AtlasSession session) {
+        for (Audit audit : session.getAudits().getAudit()) {
+            if (audit.getStatus() == AuditStatus.ERROR) {
+                return audit.getMessage();
+            }
+        }
+        return "";
+    }
+
+    private R handleError(R record, Exception e) {
+        metrics.recordError();
+        switch (errorPolicy) {
+        case FAIL:
+            throw e instanceof DataException ? (DataException) e
+                : new DataException("Could not process AtlasMap mapping: " + e.getMessage(), e);
+        case SKIP:
+            LOG.warn("Skipping the record which failed to process AtlasMap mapping: {}", e.getMessage());
+            metrics.recordSkipped();
+            return null;
+        case DEAD_LETTER:
+            LOG.warn("Routing the record which failed to process AtlasMap mapping to '{}': {}",
+                deadLetterTopic, e.getMessage());
+            Headers headers = record.headers().duplicate();
+            headers.addString(HEADER_ERROR_MESSAGE, e.getMessage());
+            headers.addString(HEADER_ERROR_CLASS, e.getClass().getName());
+            metrics.recordDeadLettered();
+            return record.newRecord(deadLetterTopic, null, record.keySchema(), record.key(),
+                record.valueSchema(), record.value(), record.timestamp(), headers);
+        default:
             LOG.error("Could not process AtlasMap mapping: {}", e.getMessage());
             if (LOG.isDebugEnabled()) {
                 LOG.error("", e);
@@ -116,6 +295,14 @@ public class AtlasMapSMT<R extends ConnectRecord<R>> implements Transformation<R
 
     @Override
     public void close() {
+        if (metrics != null) {
+            metrics.close();
+            metrics = null;
+        }
+    }
+
+    public AtlasMapSMTMetrics getMetrics() {
+        return metrics;
     }
 
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.kafka.smt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.CumulativeSum;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import org.apache.kafka.common.metrics.stats.Rate;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * The metrics of the {@link AtlasMapSMT}, registered with the Kafka metrics library and exposed through
+ * JMX under the {@value #JMX_PREFIX} domain, in the same way as the Kafka Connect worker metrics.
+ * The sensors are thread safe, they're recorded from the task thread without any additional locking.
+ */
+public class AtlasMapSMTMetrics implements AutoCloseable {
+
+    public static final String JMX_PREFIX = "atlasmap.kafka.smt";
+    public static final String GROUP = "atlasmap-smt-metrics";
+
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    // the latency is recorded in milliseconds, anything slower falls into the last bucket
+    private static final int PERCENTILES_SIZE_IN_BYTES = 4000;
+    private static final double PERCENTILES_MAX_LATENCY_MS = 1000.0;
+
+    private final String admName;
+    private final Metrics metrics;
+    private final Sensor records;
+    private final Sensor latency;
+    private final Sensor errors;
+    private final Sensor skipped;
+    private final Sensor deadLettered;
+
+    public AtlasMapSMTMetrics(String admName) {
+        this.admName = admName;
+        this.metrics = new Metrics(new MetricConfig(), Collections.singletonList(new JmxReporter()),
+            Time.SYSTEM, new KafkaMetricsContext(JMX_PREFIX));
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("adm", admName);
+        // distinguishes the transformations of the tasks using the same ADM file
+        tags.put("instance", Integer.toString(INSTANCE_COUNTER.incrementAndGet()));
+
+        records = metrics.sensor("records");
+        records.add(metrics.metricName("record-rate", GROUP,
+            "The average number of records processed per second", tags), new Rate());
+        records.add(metrics.metricName("record-total", GROUP,
+            "The total number of records processed", tags), new CumulativeSum());
+
+        latency = metrics.sensor("process-latency");
+        latency.add(metrics.metricName("process-latency-avg", GROUP,
+            "The average time in milliseconds taken to process a record", tags), new Avg());
+        latency.add(metrics.metricName("process-latency-max", GROUP,
+            "The maximum time in milliseconds taken to process a record", tags), new Max());
+        latency.add(new Percentiles(PERCENTILES_SIZE_IN_BYTES, PERCENTILES_MAX_LATENCY_MS, BucketSizing.LINEAR,
+            new Percentile(metrics.metricName("process-latency-p99", GROUP,
+                "The 99th percentile of the time in milliseconds taken to process a record", tags), 99)));
+
+        errors = metrics.sensor("errors");
+        errors.add(metrics.metricName("error-rate", GROUP,
+            "The average number of records failed to process per second", tags), new Rate());
+        errors.add(metrics.metricName("error-total", GROUP,
+            "The total number of records failed to process", tags), new CumulativeSum());
+
+        skipped = metrics.sensor("skipped");
+        skipped.add(metrics.metricName("skipped-total", GROUP,
+            "The total number of failed records dropped by the error policy", tags), new CumulativeSum());
+
+        deadLettered = metrics.sensor("dead-lettered");
+        deadLettered.add(metrics.metricName("deadletter-total", GROUP,
+            "The total number of failed records routed to the dead letter topic", tags), new CumulativeSum());
+    }
+
+    /**
+     * Records a processed record.
+     *
+     * @param startNanos the {@link System#nanoTime()} when it started processing the record
+     */
+    public void recordProcessed(long startNanos) {
+        long now = System.nanoTime();
+        records.record();
+        latency.record((double) (now - startNanos) / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public void recordError() {
+        errors.record();
+    }
+
+    public void recordSkipped() {
+        skipped.record();
+    }
+
+    public void recordDeadLettered() {
+        deadLettered.record();
+    }
+
+    public String getAdmName() {
+        return admName;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        metrics.close();
+    }
+
+}
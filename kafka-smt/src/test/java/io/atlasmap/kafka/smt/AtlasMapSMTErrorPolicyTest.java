@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.kafka.smt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.ObjectName;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class AtlasMapSMTErrorPolicyTest {
+
+    private AtlasMapSMT<SourceRecord> smt = new AtlasMapSMT<>();
+
+    @AfterEach
+    void after() {
+        smt.close();
+    }
+
+    private void configure(String policy) {
+        Map<String, String> props = new HashMap<>();
+        props.put("adm.path", "src/test/resources/atlasmap-mapping.adm");
+        props.put("docid.source.value", "source-c7ee0c6f-d615-4d53-9563-d91750745cf9");
+        props.put("docid.target.value", "target-4e4d7eb5-8dff-4de8-9780-0707a07a9bad");
+        props.put("error.policy", policy);
+        props.put("error.deadletter.topic", "dlq");
+        smt.configure(props);
+    }
+
+    private SourceRecord record(Object value) {
+        return new SourceRecord(Collections.emptyMap(), Collections.emptyMap(), "topic", 0, null, null, null, value);
+    }
+
+    @Test
+    public void testMapValue() {
+        configure("fail");
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("first", "one");
+        value.put("second", "two");
+        value.put("third", "three");
+        SourceRecord answer = smt.apply(record(value));
+        assertTrue(answer.value().toString().contains("one"), answer.value().toString());
+        assertEquals(1.0, metric("record-total"));
+    }
+
+    @Test
+    public void testFail() {
+        configure("fail");
+        assertThrows(DataException.class, () -> smt.apply(record("{ \"first\": ")));
+        assertEquals(1.0, metric("error-total"));
+    }
+
+    @Test
+    public void testSkip() {
+        configure("skip");
+        assertNull(smt.apply(record("{ \"first\": ")));
+        assertEquals(1.0, metric("skipped-total"));
+    }
+
+    @Test
+    public void testDeadLetter() {
+        configure("dead-letter");
+        SourceRecord original = record("{ \"first\": ");
+        SourceRecord answer = smt.apply(original);
+        assertEquals("dlq", answer.topic());
+        assertSame(original.value(), answer.value());
+        assertNotNull(answer.headers().lastWithName(AtlasMapSMT.HEADER_ERROR_MESSAGE));
+        assertEquals(1.0, metric("deadletter-total"));
+    }
+
+    @Test
+    public void testMetricsRegisteredOnce() throws Exception {
+        int before = registeredMetrics();
+        configure("fail");
+        AtlasMapSMTMetrics metrics = smt.getMetrics();
+        int registered = registeredMetrics();
+        assertTrue(registered > before);
+        configure("skip");
+        assertSame(metrics, smt.getMetrics());
+        assertEquals(registered, registeredMetrics());
+        smt.close();
+        assertEquals(before, registeredMetrics());
+    }
+
+    @Test
+    public void testInvalidPolicy() {
+        assertThrows(ConfigException.class, () -> configure("retry"));
+    }
+
+    private int registeredMetrics() throws Exception {
+        return ManagementFactory.getPlatformMBeanServer()
+            .queryNames(new ObjectName(AtlasMapSMTMetrics.JMX_PREFIX + ":*"), null).size();
+    }
+
+    private Object metric(String name) {
+        return smt.getMetrics().getMetrics().metrics().entrySet().stream()
+            .filter(e -> e.getKey().name().equals(name))
+            .findFirst().get().getValue().metricValue();
+    }
+
+}
@@ -15,6 +15,13 @@
  */
 package io.atlasmap.mxbean;
 
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+
+/**
+ * The management interface of an {@link io.atlasmap.api.AtlasContext}. The statistics are available
+ * while {@link #isStatisticsEnabled()} is {@code true}, and all the times are in nanoseconds.
+ */
 public interface AtlasContextMXBean {
 
     String getUuid();
@@ -29,4 +36,54 @@ public interface AtlasContextMXBean {
 
     String getVersion();
 
+    boolean isStatisticsEnabled();
+
+    void setStatisticsEnabled(boolean enabled);
+
+    /**
+     * Gets the number of the sessions processed.
+     * @return the number of the sessions
+     */
+    long getProcessCount();
+
+    /**
+     * Gets the number of the sessions which ended up with an error audit.
+     * @return the number of the sessions
+     */
+    long getProcessErrorCount();
+
+    long getErrorAuditCount();
+
+    long getWarnAuditCount();
+
+    long getProcessP50ExecutionTime();
+
+    long getProcessP99ExecutionTime();
+
+    long getProcessMaxExecutionTime();
+
+    long getProcessTotalExecutionTime();
+
+    long getValidationTotalTime();
+
+    long getSourceReadTotalTime();
+
+    long getFieldActionTotalTime();
+
+    long getTargetWriteTotalTime();
+
+    int getSlowestMappingsLimit();
+
+    void setSlowestMappingsLimit(int limit);
+
+    /**
+     * Gets the slowest mapping entries ordered by the 99th percentile of the execution time,
+     * up to {@link #getSlowestMappingsLimit()}.
+     * @return the table indexed by the mapping alias
+     * @throws OpenDataException unexpected error on creating the table
+     */
+    TabularData getSlowestMappings() throws OpenDataException;
+
+    void resetStatistics();
+
 }
@@ -18,6 +18,7 @@ package io.atlasmap.spi;
 import java.util.List;
 
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Field;
@@ -44,6 +45,16 @@ public interface AtlasInternalSession extends AtlasSession {
 
     AtlasModule resolveModule(String docId);
 
+    /**
+     * Gets the mapping definition to read. Unlike {@link #getMapping()}, the returned
+     * definition could be shared with the other sessions, and thus must not be modified.
+     *
+     * @return mapping definition
+     */
+    default AtlasMapping getMappingDefinition() {
+        return getMapping();
+    }
+
     Head head();
 
     public interface Head {
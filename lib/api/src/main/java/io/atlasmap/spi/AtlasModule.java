@@ -15,6 +15,7 @@
  */
 package io.atlasmap.spi;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -119,4 +120,15 @@ public interface AtlasModule {
 
     Field createField();
 
+    /**
+     * Gets the source document types this module reads as is, ordered from the cheapest one to hand off.
+     * The caller which has the source document in some other form, e.g. a stream or a byte array in a
+     * message body, could pass it to the module without converting into a String if its type is listed.
+     *
+     * @return supported source document types
+     */
+    default List<Class<?>> getSupportedSourceTypes() {
+        return Collections.singletonList(String.class);
+    }
+
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+/**
+ * The {@link AtlasModule} operations measured by the execution statistics.
+ */
+public enum AtlasModuleOperation {
+    /** {@link AtlasModule#processPreSourceExecution(AtlasInternalSession)} or
+     * {@link AtlasModule#processPreTargetExecution(AtlasInternalSession)}. */
+    PRE_EXECUTION,
+    /** {@link AtlasModule#readSourceValue(AtlasInternalSession)}. */
+    READ_SOURCE_VALUE,
+    /** {@link AtlasModule#populateTargetField(AtlasInternalSession)}. */
+    POPULATE_TARGET_FIELD,
+    /** {@link AtlasModule#writeTargetValue(AtlasInternalSession)}. */
+    WRITE_TARGET_VALUE,
+    /** {@link AtlasModule#processPostSourceExecution(AtlasInternalSession)} or
+     * {@link AtlasModule#processPostTargetExecution(AtlasInternalSession)}. */
+    POST_EXECUTION;
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasContext;
+
+/**
+ * A plug-in interface to receive the execution statistics while the mapping is processed, which is
+ * an extension point to export them into a metrics library. The listener is invoked only for the
+ * modules and the contexts which have statistics enabled, on the thread which processes the mapping,
+ * so that the implementation must be thread safe and return quickly.
+ * <p>
+ * The listeners are discovered through {@link java.util.ServiceLoader} when the context factory is
+ * initialized, or could be added programmatically.
+ * </p>
+ */
+public interface AtlasStatisticsListener {
+
+    /**
+     * Invoked when a module operation is completed.
+     * @param module the module
+     * @param operation the operation
+     * @param durationNanos elapsed time in nanoseconds
+     * @param success {@code false} if the operation threw an exception or added an error audit
+     */
+    default void onModuleOperation(AtlasModule module, AtlasModuleOperation operation, long durationNanos,
+            boolean success) {
+    }
+
+    /**
+     * Invoked when a mapping entry is processed.
+     * @param context the context
+     * @param mappingName the alias of the mapping, or the ID if the alias is not set
+     * @param durationNanos elapsed time in nanoseconds
+     * @param success {@code false} if the mapping added an error audit
+     */
+    default void onMappingProcessed(AtlasContext context, String mappingName, long durationNanos, boolean success) {
+    }
+
+    /**
+     * Invoked when a session is processed by {@link AtlasContext#process(io.atlasmap.api.AtlasSession)}.
+     * @param context the context
+     * @param durationNanos elapsed time in nanoseconds
+     * @param errorAuditCount the number of the error audits in the session
+     * @param warnAuditCount the number of the warning audits in the session
+     */
+    default void onSessionProcessed(AtlasContext context, long durationNanos, int errorAuditCount,
+            int warnAuditCount) {
+    }
+
+}
@@ -70,7 +70,7 @@ public class AtlasField {
 
     public AtlasField readConstant(String name) throws AtlasException {
         ConstantModule module = session.getConstantModule();
-        List<Constant> constants = session.getMapping().getConstants().getConstant();
+        List<Constant> constants = session.getMappingDefinition().getConstants().getConstant();
         for (Constant constant : constants) {
             if (constant.getName() != null && constant.getName().equals(name)) {
                 Field sourceField = module.createField();
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+/**
+ * The execution statistics of a {@link DefaultAtlasContext}: the {@link DefaultAtlasContext#process(io.atlasmap.api.AtlasSession)}
+ * latency, the audits it produced and the time spent on each {@link Phase}. All the counters are
+ * {@link LongAdder}s so that recording doesn't lock, and the times are in nanoseconds.
+ */
+public class AtlasContextStatistics {
+    private static final String[] MAPPING_ITEM_NAMES = new String[] {
+        "mapping", "count", "errorCount", "meanExecutionTime", "p50ExecutionTime", "p99ExecutionTime",
+        "maxExecutionTime", "totalExecutionTime"};
+
+    /**
+     * The phases of the processing which the {@code process()} time is split into.
+     */
+    public enum Phase {
+        /** Validating the mapping definition, or replaying the cached validation result. */
+        VALIDATION,
+        /** Reading the source field values. */
+        SOURCE_READ,
+        /** Applying the field actions to the source and target fields. */
+        FIELD_ACTIONS,
+        /** Populating the target fields and writing them into the target documents. */
+        TARGET_WRITE;
+    }
+
+    private final ExecutionStatistics process = new ExecutionStatistics();
+    private final LongAdder errorAuditCount = new LongAdder();
+    private final LongAdder warnAuditCount = new LongAdder();
+    private final Map<Phase, LongAdder> phaseTimes = new EnumMap<>(Phase.class);
+
+    public AtlasContextStatistics() {
+        for (Phase phase : Phase.values()) {
+            phaseTimes.put(phase, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a {@code process()} call.
+     * @param nanos elapsed time in nanoseconds
+     * @param success {@code false} if it threw an exception or the session has an error audit
+     * @param errors the number of error audits in the session
+     * @param warns the number of warning audits in the session
+     */
+    public void recordProcess(long nanos, boolean success, int errors, int warns) {
+        process.record(nanos, success);
+        errorAuditCount.add(errors);
+        warnAuditCount.add(warns);
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phaseTimes.get(phase).add(nanos);
+    }
+
+    /**
+     * Gets the statistics of the {@code process()} calls. The count is the number of the sessions processed
+     * and the error count is the number of the sessions which ended up with an error audit.
+     * @return the process statistics
+     */
+    public ExecutionStatistics getProcess() {
+        return process;
+    }
+
+    public long getErrorAuditCount() {
+        return errorAuditCount.sum();
+    }
+
+    public long getWarnAuditCount() {
+        return warnAuditCount.sum();
+    }
+
+    public long getPhaseTime(Phase phase) {
+        return phaseTimes.get(phase).sum();
+    }
+
+    public void reset() {
+        process.reset();
+        errorAuditCount.reset();
+        warnAuditCount.reset();
+        for (LongAdder time : phaseTimes.values()) {
+            time.reset();
+        }
+    }
+
+    /**
+     * Creates a table of the slowest mappings ordered by the 99th percentile of the execution time.
+     * @param mappings the mapping statistics keyed by the mapping alias
+     * @param limit the maximum number of the mappings in the table
+     * @return the table indexed by the mapping alias
+     * @throws OpenDataException unexpected error on creating the table
+     */
+    public static TabularData toSlowestMappings(Map<String, ExecutionStatistics> mappings, int limit)
+            throws OpenDataException {
+        OpenType<?>[] itemTypes = new OpenType<?>[] {
+            SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("AtlasMappingStatistics",
+                "Execution statistics of a mapping entry in nanoseconds", MAPPING_ITEM_NAMES, MAPPING_ITEM_NAMES, itemTypes);
+        TabularType tableType = new TabularType("AtlasSlowestMappings",
+                "The slowest mapping entries ordered by p99ExecutionTime", rowType, new String[] {"mapping"});
+        TabularDataSupport answer = new TabularDataSupport(tableType);
+
+        List<Object[]> rows = new ArrayList<>(mappings.size());
+        for (Map.Entry<String, ExecutionStatistics> entry : mappings.entrySet()) {
+            ExecutionStatistics stats = entry.getValue();
+            rows.add(new Object[] {
+                entry.getKey(), stats.getCount(), stats.getErrorCount(), stats.getMeanTime(), stats.getPercentile(50),
+                stats.getPercentile(99), stats.getMaxTime(), stats.getTotalTime()});
+        }
+        rows.sort((a, b) -> Long.compare((Long) b[5], (Long) a[5]));
+        for (Object[] row : rows.subList(0, Math.min(Math.max(limit, 0), rows.size()))) {
+            answer.put(new CompositeDataSupport(rowType, MAPPING_ITEM_NAMES, row));
+        }
+        return answer;
+    }
+
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.expression.Expression;
+import io.atlasmap.expression.ExpressionException;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.FieldDirection;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Json;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Validation;
+
+/**
+ * An execution plan compiled from the mapping definition of a {@link DefaultAtlasContext}.
+ * Each {@link Mapping} entry is compiled once into a template which holds the resolved
+ * module and an action-less prototype for every field, as well as the resolved
+ * {@link LookupTable}, and the mapping expression is parsed in advance. The plan is shared
+ * among all the sessions of the context.
+ * <p>
+ * Since field readers and writers store the values into the field objects, the execution
+ * works on a per-execution instance of each {@link Mapping} created by
+ * {@link #newMappingInstance(Mapping)}, so that the mapping definition is neither modified
+ * nor cloned as a whole for each session. The field actions are not modified during
+ * the execution, so the instance shares the {@code Action} objects with the definition.
+ * A template is compiled again if its {@link Mapping} entry has been modified in place
+ * since it was compiled.
+ * </p>
+ */
+public class AtlasMappingPlan {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingPlan.class);
+
+    private final DefaultAtlasContext context;
+    private final ObjectWriter fieldWriter;
+    private final ObjectReader fieldReader;
+    // Mapping doesn't override equals()/hashCode(), which makes this an identity map
+    private final Map<Mapping, MappingTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    // alias document IDs of constant and property fields, which are not registered as a module
+    private final Map<String, AtlasModule> aliasModules = new ConcurrentHashMap<>();
+    private volatile ValidationResult validationResult;
+
+    AtlasMappingPlan(DefaultAtlasContext context) {
+        this.context = context;
+        ObjectMapper jsonMapper = Json.withClassLoader(context.getContextFactory().getClassLoader());
+        this.fieldWriter = jsonMapper.writer().without(SerializationFeature.WRAP_ROOT_VALUE);
+        this.fieldReader = jsonMapper.readerFor(Field.class).without(DeserializationFeature.UNWRAP_ROOT_VALUE);
+    }
+
+    /**
+     * Compiles all the {@link Mapping} entries in the mapping definition in advance.
+     *
+     * @param atlasMapping mapping definition
+     * @throws AtlasException failed to compile
+     */
+    void compile(AtlasMapping atlasMapping) throws AtlasException {
+        this.validationResult = null;
+        if (atlasMapping == null || atlasMapping.getMappings() == null) {
+            return;
+        }
+        for (BaseMapping baseMapping : atlasMapping.getMappings().getMapping()) {
+            if (baseMapping instanceof Mapping) {
+                getTemplate((Mapping) baseMapping);
+            } else if (baseMapping instanceof Collection && ((Collection) baseMapping).getMappings() != null) {
+                for (BaseMapping inner : ((Collection) baseMapping).getMappings().getMapping()) {
+                    if (inner instanceof Mapping) {
+                        getTemplate((Mapping) inner);
+                    }
+                }
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Compiled {} mapping entries for AtlasContext {}", templates.size(), context.getUuid());
+        }
+    }
+
+    /**
+     * Creates a new instance of the {@link Mapping} entry to be processed. The returned
+     * instance and its fields could be modified during the execution without affecting
+     * the mapping definition.
+     *
+     * @param definition mapping definition entry
+     * @return a per-execution instance
+     * @throws AtlasException failed to compile or instantiate
+     */
+    public Mapping newMappingInstance(Mapping definition) throws AtlasException {
+        return getTemplate(definition).newInstance();
+    }
+
+    /**
+     * Gets the {@link LookupTable} resolved for the {@link Mapping} entry.
+     *
+     * @param definition mapping definition entry
+     * @return lookup table, or {@code null} if the mapping doesn't refer any
+     * @throws AtlasException failed to compile
+     */
+    public LookupTable getLookupTable(Mapping definition) throws AtlasException {
+        return getTemplate(definition).lookupTable;
+    }
+
+    /**
+     * Gets the module which serves the alias document ID of constant and property fields
+     * in the mapping definition, i.e. the document ID which is not the one of the module.
+     *
+     * @param docId document ID
+     * @return module, or {@code null} if it's not an alias document ID in the plan
+     */
+    public AtlasModule getAliasModule(String docId) {
+        return docId != null ? aliasModules.get(docId) : null;
+    }
+
+    /**
+     * Gets the {@link Expression} parsed in advance for the mapping expression.
+     *
+     * @param expression mapping expression
+     * @return parsed expression, or {@code null} if it's not a mapping expression in the plan
+     * or it failed to parse
+     */
+    public Expression getExpression(String expression) {
+        return expression != null ? expressions.get(expression) : null;
+    }
+
+    /**
+     * Gets the validation result cached for the mapping definition. The cached result is
+     * discarded if the mapping definition has been modified since it was validated.
+     *
+     * @param atlasMapping mapping definition
+     * @return validation result, or {@code null} if the mapping definition is not yet validated
+     */
+    ValidationResult getValidationResult(AtlasMapping atlasMapping) {
+        ValidationResult result = this.validationResult;
+        if (result != null && !(result.isValidated(atlasMapping) && isCompiledFrom(atlasMapping))) {
+            this.validationResult = null;
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Caches the validation result of the mapping definition.
+     *
+     * @param atlasMapping mapping definition validated
+     * @param validations validations detected
+     * @param audits audits added while validating
+     */
+    void setValidationResult(AtlasMapping atlasMapping, List<Validation> validations, List<Audit> audits) {
+        this.validationResult = new ValidationResult(atlasMapping, validations, audits);
+    }
+
+    private boolean isCompiledFrom(AtlasMapping atlasMapping) {
+        if (atlasMapping.getMappings() == null) {
+            return true;
+        }
+        for (BaseMapping baseMapping : atlasMapping.getMappings().getMapping()) {
+            if (baseMapping instanceof Mapping && !isCompiledFrom((Mapping) baseMapping)) {
+                return false;
+            } else if (baseMapping instanceof Collection && ((Collection) baseMapping).getMappings() != null) {
+                for (BaseMapping inner : ((Collection) baseMapping).getMappings().getMapping()) {
+                    if (inner instanceof Mapping && !isCompiledFrom((Mapping) inner)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isCompiledFrom(Mapping definition) {
+        MappingTemplate template = templates.get(definition);
+        return template != null && template.isCompiledFrom(definition);
+    }
+
+    MappingTemplate getTemplate(Mapping definition) throws AtlasException {
+        MappingTemplate template = templates.get(definition);
+        if (template != null && template.isCompiledFrom(definition)) {
+            return template;
+        }
+        MappingTemplate compiled = new MappingTemplate(definition);
+        if (template == null) {
+            template = templates.putIfAbsent(definition, compiled);
+            return template != null ? template : compiled;
+        }
+        // the mapping entry has been modified in place
+        templates.replace(definition, template, compiled);
+        return compiled;
+    }
+
+    /**
+     * Clears the index of the target field if it's the only target field in the mapping.
+     *
+     * @param mapping per-execution mapping instance
+     */
+    static void clearSingleTargetIndex(Mapping mapping) {
+        if (mapping.getOutputField().size() == 1
+                && Integer.valueOf(0).equals(mapping.getOutputField().get(0).getIndex())) {
+            // The index should not have been set as there's only one item
+            mapping.getOutputField().get(0).setIndex(null);
+        }
+    }
+
+    private static boolean areCompiledFrom(List<FieldTemplate> templates, List<Field> fields) {
+        int size = fields != null ? fields.size() : 0;
+        if (templates.size() != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!templates.get(i).isCompiledFrom(fields.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static final class ValidationResult {
+        private final String version;
+        private final List<BaseMapping> mappings;
+        private final List<DataSource> dataSources;
+        private final List<Validation> validations;
+        private final List<Audit> audits;
+
+        private ValidationResult(AtlasMapping atlasMapping, List<Validation> validations, List<Audit> audits) {
+            this.version = atlasMapping.getVersion();
+            this.mappings = atlasMapping.getMappings() != null
+                    ? new ArrayList<>(atlasMapping.getMappings().getMapping()) : null;
+            this.dataSources = new ArrayList<>(atlasMapping.getDataSource());
+            this.validations = Collections.unmodifiableList(new ArrayList<>(validations));
+            this.audits = Collections.unmodifiableList(new ArrayList<>(audits));
+        }
+
+        private boolean isValidated(AtlasMapping atlasMapping) {
+            return Objects.equals(version, atlasMapping.getVersion())
+                    && isSame(mappings, atlasMapping.getMappings() != null ? atlasMapping.getMappings().getMapping() : null)
+                    && isSame(dataSources, atlasMapping.getDataSource());
+        }
+
+        private static boolean isSame(List<?> snapshot, List<?> current) {
+            if (snapshot == null || current == null) {
+                return snapshot == current;
+            }
+            if (snapshot.size() != current.size()) {
+                return false;
+            }
+            for (int i = 0; i < snapshot.size(); i++) {
+                if (snapshot.get(i) != current.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<Validation> getValidations() {
+            return validations;
+        }
+
+        List<Audit> getAudits() {
+            return audits;
+        }
+    }
+
+    final class MappingTemplate {
+        private final Mapping definition;
+        private final String lookupTableName;
+        private final String expression;
+        private final LookupTable lookupTable;
+        private final FieldTemplate inputFieldGroup;
+        private final List<FieldTemplate> inputFields;
+        private final List<FieldTemplate> outputFields;
+        private final DefaultAtlasExpressionProcessor.VariableSlots variableSlots =
+                new DefaultAtlasExpressionProcessor.VariableSlots();
+
+        private MappingTemplate(Mapping definition) throws AtlasException {
+            this.definition = definition;
+            this.lookupTableName = definition.getLookupTableName();
+            this.expression = definition.getExpression();
+            this.lookupTable = lookupTableName != null ? context.getLookupTables().get(lookupTableName) : null;
+            this.inputFieldGroup = definition.getInputFieldGroup() != null
+                    ? new FieldTemplate(FieldDirection.SOURCE, definition.getInputFieldGroup()) : null;
+            this.inputFields = compileFields(FieldDirection.SOURCE, definition.getInputField());
+            this.outputFields = compileFields(FieldDirection.TARGET, definition.getOutputField());
+            compileExpression(definition.getExpression());
+        }
+
+        /**
+         * Gets the template of the source field group.
+         *
+         * @return source field group template, or {@code null} if the mapping doesn't have any
+         */
+        FieldTemplate getInputFieldGroup() {
+            return inputFieldGroup;
+        }
+
+        /**
+         * Gets the templates of the source fields, in the same order as the instance fields.
+         *
+         * @return source field templates
+         */
+        List<FieldTemplate> getInputFields() {
+            return inputFields;
+        }
+
+        /**
+         * Gets the source field positions remembered for the variables of the mapping expression.
+         *
+         * @return variable slots
+         */
+        DefaultAtlasExpressionProcessor.VariableSlots getVariableSlots() {
+            return variableSlots;
+        }
+
+        private boolean isCompiledFrom(Mapping mapping) {
+            return Objects.equals(lookupTableName, mapping.getLookupTableName())
+                    && Objects.equals(expression, mapping.getExpression())
+                    && (inputFieldGroup == null ? mapping.getInputFieldGroup() == null
+                            : inputFieldGroup.isCompiledFrom(mapping.getInputFieldGroup()))
+                    && areCompiledFrom(inputFields, mapping.getInputField())
+                    && areCompiledFrom(outputFields, mapping.getOutputField());
+        }
+
+        private void compileExpression(String expression) {
+            if (expression == null || expression.trim().isEmpty() || expressions.containsKey(expression)) {
+                return;
+            }
+            try {
+                expressions.put(expression, Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance()));
+            } catch (ExpressionException e) {
+                // it's reported as an audit when the mapping is processed
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Failed to parse the mapping expression [{}]: {}", expression, e.getMessage());
+                }
+            }
+        }
+
+        private List<FieldTemplate> compileFields(FieldDirection direction, List<Field> fields) throws AtlasException {
+            if (fields == null || fields.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<FieldTemplate> answer = new ArrayList<>(fields.size());
+            for (Field f : fields) {
+                answer.add(new FieldTemplate(direction, f));
+            }
+            return answer;
+        }
+
+        /**
+         * Gets the {@link LookupTable} resolved for the mapping.
+         *
+         * @return lookup table, or {@code null} if the mapping doesn't refer any
+         */
+        LookupTable getLookupTable() {
+            return lookupTable;
+        }
+
+        /**
+         * Creates a new per-execution instance of the mapping.
+         *
+         * @return mapping instance
+         * @throws AtlasException failed to instantiate
+         */
+        Mapping newInstance() throws AtlasException {
+            Mapping answer = new Mapping();
+            answer.setAlias(definition.getAlias());
+            answer.setDescription(definition.getDescription());
+            MappingType mappingType = definition.getMappingType();
+            answer.setMappingType(mappingType);
+            answer.setId(definition.getId());
+            answer.setExpression(definition.getExpression());
+            answer.setDelimiter(definition.getDelimiter());
+            answer.setDelimiterString(definition.getDelimiterString());
+            answer.setLookupTableName(definition.getLookupTableName());
+            answer.setStrategy(definition.getStrategy());
+            answer.setStrategyClassName(definition.getStrategyClassName());
+            if (inputFieldGroup != null) {
+                answer.setInputFieldGroup((FieldGroup) inputFieldGroup.newInstance());
+            }
+            for (FieldTemplate f : inputFields) {
+                answer.getInputField().add(f.newInstance());
+            }
+            for (FieldTemplate f : outputFields) {
+                answer.getOutputField().add(f.newInstance());
+            }
+            clearSingleTargetIndex(answer);
+            return answer;
+        }
+    }
+
+    final class FieldTemplate {
+        private final Field definition;
+        private final String docId;
+        private final String path;
+        private final FieldType fieldType;
+        private final Integer index;
+        private final AtlasModule module;
+        private final Field prototype;
+        private final byte[] serialized;
+        private final List<FieldTemplate> children;
+
+        private FieldTemplate(FieldDirection direction, Field definition) throws AtlasException {
+            this.definition = definition;
+            this.docId = definition.getDocId();
+            this.path = definition.getPath();
+            this.fieldType = definition.getFieldType();
+            this.index = definition.getIndex();
+            if (definition instanceof FieldGroup) {
+                this.module = null;
+                this.prototype = null;
+                this.serialized = null;
+                this.children = new ArrayList<>();
+                for (Field child : ((FieldGroup) definition).getField()) {
+                    this.children.add(new FieldTemplate(direction, child));
+                }
+                return;
+            }
+            this.children = null;
+            this.module = context.resolveModule(direction, definition);
+            if (this.module != null && docId != null && !docId.isEmpty()
+                    && (definition instanceof ConstantField || definition instanceof PropertyField)) {
+                aliasModules.putIfAbsent(docId, this.module);
+            }
+            Field proto = null;
+            if (this.module != null) {
+                try {
+                    proto = this.module.cloneField(definition);
+                } catch (RuntimeException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Module {} couldn't clone the field '{}:{}', falling back to generic copy: {}",
+                                this.module.getUri(), definition.getDocId(), definition.getPath(), e.getMessage());
+                    }
+                }
+            }
+            if (proto != null) {
+                // actions are copied per instance from the definition
+                proto.setActions(null);
+            }
+            this.prototype = proto;
+            this.serialized = proto == null && !isCoreField(definition) ? serialize(definition) : null;
+        }
+
+        /**
+         * Gets the module resolved for the field.
+         *
+         * @return module, or {@code null} if it's a field group or no module serves the field
+         */
+        AtlasModule getModule() {
+            return module;
+        }
+
+        /**
+         * Gets the templates of the child fields if it's a field group.
+         *
+         * @return child field templates, or {@code null} if it's not a field group
+         */
+        List<FieldTemplate> getChildren() {
+            return children;
+        }
+
+        private boolean isCompiledFrom(Field field) {
+            if (field != definition || !Objects.equals(docId, field.getDocId())
+                    || !Objects.equals(path, field.getPath()) || fieldType != field.getFieldType()
+                    || !Objects.equals(index, field.getIndex())) {
+                return false;
+            }
+            return children == null || areCompiledFrom(children, ((FieldGroup) field).getField());
+        }
+
+        private byte[] serialize(Field field) throws AtlasException {
+            try {
+                return fieldWriter.writeValueAsBytes(field);
+            } catch (Exception e) {
+                throw new AtlasException(String.format("Failed to compile the field '%s:%s'",
+                        field.getDocId(), field.getPath()), e);
+            }
+        }
+
+        private Field newInstance() throws AtlasException {
+            Field answer;
+            if (children != null) {
+                FieldGroup group = new FieldGroup();
+                AtlasModelFactory.copyField(definition, group, false);
+                for (FieldTemplate child : children) {
+                    group.getField().add(child.newInstance());
+                }
+                answer = group;
+            } else if (prototype != null) {
+                answer = module.cloneField(prototype);
+                if (answer == null) {
+                    answer = copyCoreField(definition);
+                }
+            } else if (serialized != null) {
+                // the module doesn't know how to clone this field, i.e. enum fields
+                try {
+                    answer = fieldReader.readValue(serialized);
+                } catch (Exception e) {
+                    throw new AtlasException(e);
+                }
+            } else {
+                answer = copyCoreField(definition);
+            }
+            if (definition.getActions() != null) {
+                answer.setActions(new ArrayList<>(definition.getActions()));
+            }
+            answer.setFormat(definition.getFormat());
+            answer.setValue(definition.getValue());
+            return answer;
+        }
+
+        private boolean isCoreField(Field field) {
+            return field instanceof ConstantField || field instanceof PropertyField || field instanceof SimpleField;
+        }
+
+        private Field copyCoreField(Field from) {
+            Field answer;
+            if (from instanceof ConstantField) {
+                answer = new ConstantField();
+            } else if (from instanceof PropertyField) {
+                PropertyField property = new PropertyField();
+                property.setScope(((PropertyField) from).getScope());
+                answer = property;
+            } else {
+                answer = new SimpleField();
+            }
+            AtlasModelFactory.copyField(from, answer, false);
+            return answer;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import io.atlasmap.spi.AtlasModuleOperation;
+
+/**
+ * The execution statistics of an {@link io.atlasmap.spi.AtlasModule}, one {@link ExecutionStatistics}
+ * for each {@link AtlasModuleOperation}. The source statistics of the
+ * {@link io.atlasmap.mxbean.AtlasModuleMXBean} are the ones of {@link AtlasModuleOperation#READ_SOURCE_VALUE},
+ * and the target statistics are the ones of {@link AtlasModuleOperation#POPULATE_TARGET_FIELD} and
+ * {@link AtlasModuleOperation#WRITE_TARGET_VALUE} added together.
+ */
+public class AtlasModuleStatistics {
+    private static final String[] ITEM_NAMES = new String[] {
+        "operation", "count", "successCount", "errorCount", "minExecutionTime", "maxExecutionTime",
+        "totalExecutionTime", "meanExecutionTime", "p50ExecutionTime", "p99ExecutionTime"};
+    private static final AtlasModuleOperation[] TARGET_OPERATIONS = new AtlasModuleOperation[] {
+        AtlasModuleOperation.POPULATE_TARGET_FIELD, AtlasModuleOperation.WRITE_TARGET_VALUE};
+
+    private final Map<AtlasModuleOperation, ExecutionStatistics> operations = new EnumMap<>(AtlasModuleOperation.class);
+
+    public AtlasModuleStatistics() {
+        for (AtlasModuleOperation operation : AtlasModuleOperation.values()) {
+            operations.put(operation, new ExecutionStatistics());
+        }
+    }
+
+    public ExecutionStatistics get(AtlasModuleOperation operation) {
+        return operations.get(operation);
+    }
+
+    public long getTargetCount() {
+        long answer = 0;
+        for (AtlasModuleOperation operation : TARGET_OPERATIONS) {
+            answer += get(operation).getCount();
+        }
+        return answer;
+    }
+
+    public long getTargetErrorCount() {
+        long answer = 0;
+        for (AtlasModuleOperation operation : TARGET_OPERATIONS) {
+            answer += get(operation).getErrorCount();
+        }
+        return answer;
+    }
+
+    public long getTargetSuccessCount() {
+        return Math.max(getTargetCount() - getTargetErrorCount(), 0L);
+    }
+
+    public long getTargetMinExecutionTime() {
+        long answer = Long.MAX_VALUE;
+        for (AtlasModuleOperation operation : TARGET_OPERATIONS) {
+            ExecutionStatistics stats = get(operation);
+            if (stats.getCount() > 0) {
+                answer = Math.min(answer, stats.getMinTime());
+            }
+        }
+        return answer == Long.MAX_VALUE ? 0L : answer;
+    }
+
+    public long getTargetMaxExecutionTime() {
+        long answer = 0;
+        for (AtlasModuleOperation operation : TARGET_OPERATIONS) {
+            answer = Math.max(answer, get(operation).getMaxTime());
+        }
+        return answer;
+    }
+
+    public long getTargetTotalExecutionTime() {
+        long answer = 0;
+        for (AtlasModuleOperation operation : TARGET_OPERATIONS) {
+            answer += get(operation).getTotalTime();
+        }
+        return answer;
+    }
+
+    /**
+     * Reads the statistics of all operations into a table indexed by the operation name, and resets them.
+     * @return the statistics before reset
+     * @throws OpenDataException unexpected error on creating the table
+     */
+    public TabularData readAndReset() throws OpenDataException {
+        OpenType<?>[] itemTypes = new OpenType<?>[] {
+            SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("AtlasModuleOperationStatistics",
+                "Execution statistics of an AtlasModule operation in nanoseconds", ITEM_NAMES, ITEM_NAMES, itemTypes);
+        TabularType tableType = new TabularType("AtlasModuleStatistics",
+                "Execution statistics of an AtlasModule in nanoseconds", rowType, new String[] {"operation"});
+        TabularDataSupport answer = new TabularDataSupport(tableType);
+        for (Map.Entry<AtlasModuleOperation, ExecutionStatistics> entry : operations.entrySet()) {
+            ExecutionStatistics stats = entry.getValue();
+            answer.put(new CompositeDataSupport(rowType, ITEM_NAMES, new Object[] {
+                entry.getKey().name(), stats.getCount(), stats.getSuccessCount(), stats.getErrorCount(),
+                stats.getMinTime(), stats.getMaxTime(), stats.getTotalTime(), stats.getMeanTime(),
+                stats.getPercentile(50), stats.getPercentile(99)}));
+            stats.reset();
+        }
+        return answer;
+    }
+
+}
@@ -18,6 +18,10 @@ package io.atlasmap.core;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +31,17 @@ import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 
+/**
+ * The path of a field in a document. The parsed segments are immutable and the ones parsed from a same
+ * path string are shared through a bounded cache, so that constructing an {@code AtlasPath} from a path
+ * which has been seen before doesn't parse it again. The segment list is copied only when this path is
+ * modified, for example by {@link #setCollectionIndex(int, Integer)}.
+ * <p>
+ * The cache holds up to {@value #DEFAULT_PARSE_CACHE_SIZE} paths for each {@code AtlasPath} class by
+ * default, which could be changed by the system property {@value #PARSE_CACHE_SIZE_PROPERTY}. Once it's
+ * exceeded, the oldest entries are evicted in the order they were added.
+ * </p>
+ */
 public class AtlasPath implements Cloneable {
 
     public static final String PATH_SEPARATOR = "/";
@@ -43,16 +58,27 @@ public class AtlasPath implements Cloneable {
     public static final String PATH_MAP_SUFFIX = PATH_MAP_START + PATH_MAP_END;
     public static final String PATH_ATTRIBUTE_PREFIX = "@";
     public static final String PATH_NAMESPACE_SEPARATOR = ":";
+    public static final String PARSE_CACHE_SIZE_PROPERTY = "atlasmap.path.cache.size";
+    public static final int DEFAULT_PARSE_CACHE_SIZE = 4096;
 
     private static final Logger LOG = LoggerFactory.getLogger(AtlasPath.class);
+    private static final int PARSE_CACHE_SIZE = Integer.getInteger(PARSE_CACHE_SIZE_PROPERTY, DEFAULT_PARSE_CACHE_SIZE);
+    private static final ClassValue<ParseCache> PARSE_CACHES = new ClassValue<ParseCache>() {
+        @Override
+        protected ParseCache computeValue(Class<?> type) {
+            return new ParseCache();
+        }
+    };
 
-    protected List<SegmentContext> segmentContexts;
+    private List<SegmentContext> segmentContexts;
     private String originalPath = null;
+    private boolean shared;
+    private String pathString;
 
     public AtlasPath(String p) {
         String path = p;
         this.originalPath = path;
-        this.segmentContexts = parse(path);
+        this.segmentContexts = parseCached(path);
     }
 
     protected AtlasPath(List<SegmentContext> segments) {
@@ -60,10 +86,6 @@ public class AtlasPath implements Cloneable {
         this.originalPath = getSegmentPath(segments.get(segments.size() - 1));
     }
 
-    private AtlasPath() {
-        this.segmentContexts = new ArrayList<>();
-    }
-
     /**
      * Extract child fields by feeding relative path.
      *
@@ -108,8 +130,8 @@ public class AtlasPath implements Cloneable {
                 }
             } else {
                 selected.add(entryField.getField().get(relativeRootSegment.getCollectionIndex()));
-                entrySegment.collectionIndex = relativeRootSegment.getCollectionIndex();
-                extractedSegments.set(entrySegments.size() - 1, entrySegment.rebuild());
+                extractedSegments.set(entrySegments.size() - 1,
+                        entrySegment.withCollectionIndex(relativeRootSegment.getCollectionIndex()));
             }
         } else {
             selected.addAll(entryField.getField());
@@ -169,13 +191,13 @@ public class AtlasPath implements Cloneable {
     }
 
     public AtlasPath appendField(String fieldExpression) {
-        this.segmentContexts.add(createSegmentContext(fieldExpression));
+        mutableSegments().add(createSegmentContext(fieldExpression));
         return this;
     }
 
     @Override
     public AtlasPath clone() {
-        return new AtlasPath(this.toString());
+        return new AtlasPath(copySegments(0, this.segmentContexts.size()));
     }
     
     public List<SegmentContext> getSegments(boolean includeRoot) {
@@ -226,11 +248,7 @@ public class AtlasPath implements Cloneable {
             return null;
         }
 
-        AtlasPath parentPath = new AtlasPath();
-        for (int i = 0; i < this.segmentContexts.size() - 1; i++) {
-            parentPath.appendField(this.segmentContexts.get(i).getExpression());
-        }
-        return parentPath;
+        return new AtlasPath(copySegments(0, this.segmentContexts.size() - 1));
     }
 
     public SegmentContext getParentSegmentOf(SegmentContext sc) {
@@ -274,8 +292,7 @@ public class AtlasPath implements Cloneable {
                     collectionIndex, this.toString()));
         }
         SegmentContext sc = this.segmentContexts.get(segmentIndex);
-        sc.collectionIndex = collectionIndex;
-        return this.segmentContexts.set(segmentIndex, sc.rebuild());
+        return mutableSegments().set(segmentIndex, sc.withCollectionIndex(collectionIndex));
     }
 
     public List<SegmentContext> getCollectionSegments(boolean includeRoot) {
@@ -319,7 +336,12 @@ public class AtlasPath implements Cloneable {
 
     @Override
     public String toString() {
-        return getSegmentPath(getLastSegment());
+        String answer = this.pathString;
+        if (answer == null) {
+            answer = getSegmentPath(getLastSegment());
+            this.pathString = answer;
+        }
+        return answer;
     }
 
     public String getOriginalPath() {
@@ -336,12 +358,50 @@ public class AtlasPath implements Cloneable {
         return answer;
     }
 
+    /**
+     * Copies a range of the segments, so that a subclass could create a new path out of it
+     * without touching the segment list which might be shared with the other paths.
+     * @param fromIndex the first segment index, inclusive
+     * @param toIndex the last segment index, exclusive
+     * @return the mutable copy of the segments
+     */
+    protected List<SegmentContext> copySegments(int fromIndex, int toIndex) {
+        return new ArrayList<>(this.segmentContexts.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Gets the segment list which could be modified, copying the shared one if needed.
+     * @return the segment list owned by this path
+     */
+    private List<SegmentContext> mutableSegments() {
+        if (this.shared) {
+            this.segmentContexts = new ArrayList<>(this.segmentContexts);
+            this.shared = false;
+        }
+        this.pathString = null;
+        return this.segmentContexts;
+    }
+
+    private List<SegmentContext> parseCached(String path) {
+        if (path == null || path.isEmpty() || PARSE_CACHE_SIZE <= 0) {
+            return parse(path);
+        }
+        ParseCache cache = PARSE_CACHES.get(getClass());
+        List<SegmentContext> answer = cache.get(path);
+        if (answer == null) {
+            answer = Collections.unmodifiableList(parse(path));
+            cache.put(path, answer);
+        }
+        this.shared = true;
+        return answer;
+    }
+
     protected List<SegmentContext> parse(String path) {
         path = sanitize(path);
         List<SegmentContext> segmentContexts = new ArrayList<>();
         if (path != null && !"".equals(path)) {
             if (path.startsWith(PATH_SEPARATOR)) {
-                path = path.replaceFirst(PATH_SEPARATOR, "");
+                path = path.substring(PATH_SEPARATOR.length());
             }
             if (path.contains(PATH_SEPARATOR)) {
                 String[] parts = path.split(PATH_SEPARATOR_ESCAPED, 512);
@@ -366,7 +426,7 @@ public class AtlasPath implements Cloneable {
         }
         if (answer.indexOf("//") != -1) {
             LOG.warn("Sanitizing double slash (//) in the path '{}'", answer);
-            answer = answer.replaceAll("//", "/");
+            answer = answer.replace("//", "/");
         }
         if (answer.endsWith("/")) {
             LOG.warn("Sanitizing trailing slash (/) in the path '{}'", answer);
@@ -380,21 +440,22 @@ public class AtlasPath implements Cloneable {
         return new SegmentContext(expression);
     }
 
+    /**
+     * A segment of the path. It's immutable so that it could be shared among the paths.
+     */
     public static class SegmentContext {
 
-        private String name;
-        private String expression;
-        private CollectionType collectionType;
-        private Integer collectionIndex;
-        private String mapKey;
-        private boolean isAttribute;
-        private boolean isRoot;
+        private final String name;
+        private final String expression;
+        private final CollectionType collectionType;
+        private final Integer collectionIndex;
+        private final String mapKey;
+        private final boolean isAttribute;
+        private final boolean isRoot;
 
         public SegmentContext(String expression) {
-            this.expression = expression;
-            if (this.expression.startsWith(PATH_SEPARATOR)) {
-                this.expression = this.expression.replaceFirst(PATH_SEPARATOR, "");
-            }
+            this.expression = expression.startsWith(PATH_SEPARATOR)
+                    ? expression.substring(PATH_SEPARATOR.length()) : expression;
             this.name = cleanPathSegment(expression);
             if (expression.contains(PATH_MAP_START)) {
                 this.collectionType = CollectionType.MAP;
@@ -407,13 +468,31 @@ public class AtlasPath implements Cloneable {
             }
             if (this.collectionType == CollectionType.MAP) {
                 this.mapKey = getMapKey(expression);
+                this.collectionIndex = null;
             } else {
+                this.mapKey = null;
                 this.collectionIndex = getCollectionIndex(expression);
             }
             this.isAttribute = expression.startsWith(PATH_ATTRIBUTE_PREFIX);
             this.isRoot = this.name.isEmpty();
         }
 
+        /**
+         * Creates a copy of the segment with the different collection index, without parsing the expression.
+         * @param base the segment to copy
+         * @param expression the expression with the new collection index
+         * @param collectionIndex the new collection index
+         */
+        protected SegmentContext(SegmentContext base, String expression, Integer collectionIndex) {
+            this.name = base.name;
+            this.expression = expression;
+            this.collectionType = base.collectionType;
+            this.collectionIndex = collectionIndex;
+            this.mapKey = base.mapKey;
+            this.isAttribute = base.isAttribute;
+            this.isRoot = base.isRoot;
+        }
+
         public String getName() {
             return name;
         }
@@ -442,21 +521,43 @@ public class AtlasPath implements Cloneable {
             return isRoot;
         }
 
-        protected SegmentContext rebuild() {
-            StringBuilder buf = new StringBuilder();
-            if (this.isAttribute) {
-                buf.append(PATH_ATTRIBUTE_PREFIX);
-            }
-            buf.append(name);
-            String index = collectionIndex != null ? collectionIndex.toString() : "";
+        /**
+         * Gets the segment with the collection index. The segment is returned as is if it's not an array
+         * or a list, or if it already has the index.
+         * @param index collection index, or {@code null} to remove the index
+         * @return the segment with the collection index
+         */
+        public SegmentContext withCollectionIndex(Integer index) {
+            String start;
+            String end;
             if (this.collectionType == CollectionType.ARRAY) {
-                buf.append(PATH_ARRAY_START).append(index).append(PATH_ARRAY_END);
+                start = PATH_ARRAY_START;
+                end = PATH_ARRAY_END;
             } else if (this.collectionType == CollectionType.LIST) {
-                buf.append(PATH_LIST_START).append(index).append(PATH_LIST_END);
-            } else if (this.collectionType == CollectionType.MAP) {
-                buf.append(PATH_LIST_START).append(mapKey).append(PATH_LIST_END);
+                start = PATH_LIST_START;
+                end = PATH_LIST_END;
+            } else {
+                return this;
+            }
+            if (Objects.equals(this.collectionIndex, index)) {
+                return this;
             }
-            return new SegmentContext(buf.toString());
+            StringBuilder buf = new StringBuilder(this.expression.length() + 4)
+                    .append(this.expression, 0, this.expression.indexOf(start)).append(start);
+            if (index != null) {
+                buf.append(index.intValue());
+            }
+            return copy(buf.append(end).toString(), index);
+        }
+
+        /**
+         * Creates a copy of this segment with the different collection index.
+         * @param newExpression the expression with the new collection index
+         * @param newIndex the new collection index
+         * @return the copy
+         */
+        protected SegmentContext copy(String newExpression, Integer newIndex) {
+            return new SegmentContext(this, newExpression, newIndex);
         }
 
         @Override
@@ -531,4 +632,27 @@ public class AtlasPath implements Cloneable {
         }
     }
 
+    private static final class ParseCache {
+        private final ConcurrentHashMap<String, List<SegmentContext>> entries = new ConcurrentHashMap<>();
+        private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+        private List<SegmentContext> get(String path) {
+            return entries.get(path);
+        }
+
+        private void put(String path, List<SegmentContext> segments) {
+            if (entries.putIfAbsent(path, segments) != null) {
+                return;
+            }
+            insertionOrder.add(path);
+            while (entries.size() > PARSE_CACHE_SIZE) {
+                String eldest = insertionOrder.poll();
+                if (eldest == null) {
+                    break;
+                }
+                entries.remove(eldest);
+            }
+        }
+    }
+
 }
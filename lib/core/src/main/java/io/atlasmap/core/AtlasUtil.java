@@ -15,6 +15,7 @@
  */
 package io.atlasmap.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -26,6 +27,7 @@ import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -416,6 +418,41 @@ public class AtlasUtil {
         return classNames;
     }
 
+    /**
+     * Checks if the module reads the source document as is.
+     *
+     * @param module module
+     * @param sourceDocument source document
+     * @return true if the source document is an instance of the {@link AtlasModule#getSupportedSourceTypes()}
+     */
+    public static boolean isSupportedSourceType(AtlasModule module, Object sourceDocument) {
+        if (sourceDocument == null) {
+            return false;
+        }
+        for (Class<?> type : module.getSupportedSourceTypes()) {
+            if (type.isInstance(sourceDocument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates an {@link InputStream} to read the remaining bytes of the buffer without changing its position.
+     * The backing array is read in place if there is.
+     *
+     * @param buffer buffer
+     * @return input stream
+     */
+    public static InputStream toInputStream(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
     public static String getChainedMessage(Throwable t) {
         StringBuilder buf = new StringBuilder();
         buf.append(t.getMessage());
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.management.openmbean.OpenDataException;
 import javax.management.openmbean.TabularData;
 
 import org.slf4j.Logger;
@@ -36,12 +37,12 @@ import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleDetail;
 import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.spi.AtlasModuleOperation;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.DataSourceMetadata;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.FieldType;
-import io.atlasmap.v2.LookupEntry;
 import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.SimpleField;
 
@@ -60,6 +61,7 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     private Map<String,String> uriParameters = new HashMap<>();
     private ClassLoader classLoader;
     private DataSourceMetadata dataSourceMetadata;
+    private volatile AtlasModuleStatistics statistics;
 
     @Override
     public void init() throws AtlasException {
@@ -119,21 +121,12 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     protected void processLookupField(AtlasInternalSession session, LookupTable lookupTable, Object sourceValue,
             Field targetField) throws AtlasException {
-        String lookupValue = null;
         FieldType lookupType = null;
-        for (LookupEntry lkp : lookupTable.getLookupEntry()) {
-            if (lkp.getSourceValue().equals(sourceValue)) {
-                lookupValue = lkp.getTargetValue();
-                lookupType = lkp.getTargetType();
-                break;
-            }
-        }
-
         Object targetValue = null;
-        if (lookupType == null || FieldType.STRING.equals(lookupType)) {
-            targetValue = lookupValue;
-        } else {
-            targetValue = atlasConversionService.convertType(lookupValue, FieldType.STRING, lookupType);
+        IndexedLookupTable.IndexedEntry entry = IndexedLookupTable.lookup(lookupTable, sourceValue, atlasConversionService);
+        if (entry != null) {
+            lookupType = entry.getTargetType();
+            targetValue = entry.getTypedValue();
         }
 
         FieldType targetFieldType = targetField.getFieldType();
@@ -177,12 +170,20 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public Boolean isStatisticsSupported() {
-        return false;
+        return true;
     }
 
     @Override
     public Boolean isStatisticsEnabled() {
-        return false;
+        return this.statistics != null;
+    }
+
+    /**
+     * Gets the execution statistics recorded by the {@link DefaultAtlasContext}.
+     * @return the statistics, or {@code null} if the statistics is disabled
+     */
+    public AtlasModuleStatistics getStatistics() {
+        return this.statistics;
     }
 
     @Override
@@ -326,62 +327,74 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public long getSourceErrorCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getErrorCount() : 0L;
     }
 
     @Override
     public long getSourceCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getCount() : 0L;
     }
 
     @Override
     public long getSourceMaxExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getMaxTime() : 0L;
     }
 
     @Override
     public long getSourceMinExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getMinTime() : 0L;
     }
 
     @Override
     public long getSourceSuccessCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getSuccessCount() : 0L;
     }
 
     @Override
     public long getSourceTotalExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.get(AtlasModuleOperation.READ_SOURCE_VALUE).getTotalTime() : 0L;
     }
 
     @Override
     public long getTargetCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetCount() : 0L;
     }
 
     @Override
     public long getTargetErrorCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetErrorCount() : 0L;
     }
 
     @Override
     public long getTargetMaxExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetMaxExecutionTime() : 0L;
     }
 
     @Override
     public long getTargetMinExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetMinExecutionTime() : 0L;
     }
 
     @Override
     public long getTargetSuccessCount() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetSuccessCount() : 0L;
     }
 
     @Override
     public long getTargetTotalExecutionTime() {
-        return 0L;
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.getTargetTotalExecutionTime() : 0L;
     }
 
     @Override
@@ -395,13 +408,23 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     }
 
     @Override
-    public TabularData readAndResetStatistics() {
-        return null;
+    public TabularData readAndResetStatistics() throws OpenDataException {
+        AtlasModuleStatistics stats = this.statistics;
+        return stats != null ? stats.readAndReset() : null;
     }
 
+    /**
+     * Enables or disables the execution statistics. The statistics recorded so far are discarded
+     * when it's disabled.
+     * @param enabled true to enable
+     */
     @Override
     public void setStatisticsEnabled(boolean enabled) {
-        LOG.warn("Statistics is not yet implemented");
+        if (!enabled) {
+            this.statistics = null;
+        } else if (this.statistics == null) {
+            this.statistics = new AtlasModuleStatistics();
+        }
     }
 
 }
@@ -19,20 +19,24 @@ import java.io.InputStream;
 import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.nio.file.Paths;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,10 +53,13 @@ import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleInfoRegistry;
 import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.spi.AtlasModuleOperation;
+import io.atlasmap.spi.AtlasStatisticsListener;
 import io.atlasmap.spi.FieldDirection;
 import io.atlasmap.spi.StringDelimiter;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.BaseMapping;
@@ -79,6 +86,8 @@ import io.atlasmap.v2.Validations;
 public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasContext.class);
+    // thread safe, shared by all the sessions
+    private static final DateTimeFormatter CREATED_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
     private ObjectName jmxObjectName;
     private final UUID uuid;
     private DefaultAtlasContextFactory factory;
@@ -88,7 +97,30 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     private Map<String, AtlasModule> targetModules = new HashMap<>();
     private Map<String, LookupTable> lookupTables = new HashMap<>();
     private Map<DataSourceKey, DataSourceMetadata> dataSourceMetadataMap;
-    private boolean initialized;
+    private volatile AtlasMappingPlan mappingPlan;
+    private volatile boolean initialized;
+    private volatile boolean statisticsEnabled;
+    // keyed by the position of the mapping entry, the Mapping itself could be a per-session copy
+    private final Map<Integer, MappingStatistics> mappingStatistics = new ConcurrentSkipListMap<>();
+    private final AtlasContextStatistics statistics = new AtlasContextStatistics();
+    private volatile int slowestMappingsLimit = 10;
+
+    private static final class MappingStatistics {
+        private final Mapping definition;
+        private final String name;
+        private final ExecutionStatistics statistics;
+
+        private MappingStatistics(Mapping definition, String name, ExecutionStatistics statistics) {
+            this.definition = definition;
+            this.name = name;
+            this.statistics = statistics;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ModuleCall {
+        void invoke(AtlasModule module, AtlasInternalSession session) throws AtlasException;
+    }
 
     public DefaultAtlasContext(URI atlasMappingUri) {
         this(DefaultAtlasContextFactory.getInstance(), atlasMappingUri);
@@ -145,6 +177,16 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return true;
     }
 
+    /**
+     * Initializes the context without creating a session, i.e. loads the mapping definition, resolves
+     * the modules and compiles the mapping plan. {@link #createSession()} does it as well if needed.
+     *
+     * @throws AtlasException failed to initialize
+     */
+    public void initialize() throws AtlasException {
+        init();
+    }
+
     /**
      * TODO: For dynamic re-load. This needs lock()
      *
@@ -156,8 +198,6 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        registerJmx(this);
-
         if (this.atlasMappingUri != null) {
             this.admHandler = new ADMArchiveHandler(factory.getClassLoader());
             this.admHandler.setIgnoreLibrary(true);
@@ -199,7 +239,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         if (admHandler.getMappingDefinition().getLookupTables() != null
                 && admHandler.getMappingDefinition().getLookupTables().getLookupTable() != null) {
             for (LookupTable table : admHandler.getMappingDefinition().getLookupTables().getLookupTable()) {
-                lookupTables.put(table.getName(), table);
+                lookupTables.put(table.getName(), IndexedLookupTable.index(table, factory.getConversionService()));
             }
         }
 
@@ -260,6 +300,12 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                         moduleInfo.toString()), t);
             }
         }
+        AtlasMappingPlan plan = new AtlasMappingPlan(this);
+        plan.compile(atlasMapping);
+        this.mappingPlan = plan;
+        Map<String, String> properties = factory.getProperties();
+        setStatisticsEnabled(this.statisticsEnabled || (properties != null
+                && Boolean.parseBoolean(properties.get(DefaultAtlasContextFactory.PROPERTY_ATLASMAP_STATISTICS_ENABLED))));
         initialized = true;
     }
 
@@ -267,7 +313,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         try {
             setJmxObjectName(new ObjectName(
                     getContextFactory().getJmxObjectName() + ",context=Contexts,uuid=" + uuid.toString()));
-            if (ManagementFactory.getPlatformMBeanServer().isRegistered(getJmxObjectName())) {
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(getJmxObjectName())) {
                 ManagementFactory.getPlatformMBeanServer().registerMBean(this, getJmxObjectName());
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Registered AtlasContext {} with JMX", context.getUuid());
@@ -279,6 +325,32 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
+    protected void unregisterJmx() {
+        try {
+            ObjectName on = getJmxObjectName();
+            if (on != null && ManagementFactory.getPlatformMBeanServer().isRegistered(on)) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+            }
+        } catch (Exception t) {
+            LOG.warn("Failed to unregister AtlasContext {} from JMX: {}", getUuid(), t.getMessage());
+        }
+    }
+
+    /**
+     * Unregisters this context and its modules from JMX, which is meant to be called when the context
+     * is discarded. The context could still process the sessions in flight.
+     */
+    public void unregisterFromJmx() {
+        for (Map<String, AtlasModule> modules : Arrays.asList(getSourceModules(), getTargetModules())) {
+            for (AtlasModule module : modules.values()) {
+                if (module instanceof BaseAtlasModule) {
+                    unregisterModuleJmx(module);
+                }
+            }
+        }
+        unregisterJmx();
+    }
+
     /**
      * Process single mapping entry in preview mode. Since modules don't participate
      * in preview mode, any document format specific function won't be applied.
@@ -296,6 +368,18 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         if (field.getActions() == null) {
             return field;
         }
+        if (!this.statisticsEnabled) {
+            return doApplyFieldActions(session, field);
+        }
+        long start = System.nanoTime();
+        try {
+            return doApplyFieldActions(session, field);
+        } finally {
+            statistics.recordPhase(AtlasContextStatistics.Phase.FIELD_ACTIONS, System.nanoTime() - start);
+        }
+    }
+
+    private Field doApplyFieldActions(DefaultAtlasSession session, Field field) {
         try {
             return factory.getFieldActionService().processActions(session, field);
         } catch (AtlasException e) {
@@ -323,6 +407,21 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
 
         DefaultAtlasSession session = (DefaultAtlasSession) userSession;
+        if (!this.statisticsEnabled) {
+            doProcess(session);
+            return;
+        }
+        boolean success = false;
+        long start = System.nanoTime();
+        try {
+            doProcess(session);
+            success = true;
+        } finally {
+            recordProcess(session, System.nanoTime() - start, success);
+        }
+    }
+
+    private void doProcess(DefaultAtlasSession session) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Begin process {}", (session == null ? null : session.toString()));
         }
@@ -331,14 +430,22 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         session.getAudits().getAudit().clear();
         session.getValidations().getValidation().clear();
 
-        // TODO https://github.com/atlasmap/atlasmap/issues/863 - Add an option to enable/disable runtime validation
-        processValidation(session);
+        boolean measure = this.statisticsEnabled;
+        long validationStart = measure ? System.nanoTime() : 0L;
+        if (isValidateEveryProcess()) {
+            processValidation(session);
+        } else {
+            processCachedValidation(session);
+        }
+        if (measure) {
+            statistics.recordPhase(AtlasContextStatistics.Phase.VALIDATION, System.nanoTime() - validationStart);
+        }
         for (Validation v : session.getValidations().getValidation()) {
             AtlasUtil.addAudit(session, v);
         }
 
         // Additional runtime only audit
-        Mappings mappings = session.getMapping().getMappings();
+        Mappings mappings = session.getMappingDefinition().getMappings();
         if (mappings != null && mappings.getMapping().isEmpty()) {
             AtlasUtil.addAudit(session, (String)null,
                 String.format("Field mappings should not be empty"),
@@ -354,10 +461,10 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
 
         for (AtlasModule module : getSourceModules().values()) {
-            module.processPreSourceExecution(session);
+            invokeModule(module, AtlasModuleOperation.PRE_EXECUTION, AtlasModule::processPreSourceExecution, session);
         }
         for (AtlasModule module : getTargetModules().values()) {
-            module.processPreTargetExecution(session);
+            invokeModule(module, AtlasModuleOperation.PRE_EXECUTION, AtlasModule::processPreTargetExecution, session);
         }
 
         if (session.hasErrors()) {
@@ -367,16 +474,31 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
+        boolean mappingCopy = session.hasMappingCopy();
+        int mappingIndex = -1;
+        for (BaseMapping baseMapping : session.getMappingDefinition().getMappings().getMapping()) {
             for (BaseMapping innerMapping : unwrapCollectionMappings(session, baseMapping)) {
+                mappingIndex++;
                 if (innerMapping instanceof CustomMapping) {
                     DefaultAtlasCustomMappingProcessor.getInstance().process(
                             session, (CustomMapping)innerMapping);
                     continue;
                 }
 
-                Mapping mapping = (Mapping) innerMapping;
-                session.head().setMapping(mapping).setLookupTable(lookupTables.get(mapping.getLookupTableName()));
+                Mapping definition = (Mapping) innerMapping;
+                Mapping mapping;
+                AtlasMappingPlan.MappingTemplate template;
+                if (mappingCopy) {
+                    // the session's own copy could be modified, process it as it is
+                    mapping = definition;
+                    template = null;
+                    AtlasMappingPlan.clearSingleTargetIndex(mapping);
+                    session.head().setMapping(mapping).setLookupTable(lookupTables.get(mapping.getLookupTableName()));
+                } else {
+                    template = getMappingPlan().getTemplate(definition);
+                    mapping = template.newInstance();
+                    session.head().setMapping(mapping).setLookupTable(template.getLookupTable());
+                }
 
                 if (mapping.getOutputField() == null || mapping.getOutputField().isEmpty()) {
                     AtlasUtil.addAudit(session, (String)null,
@@ -386,10 +508,16 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     continue;
                 }
 
-                processSourceFieldMapping(session);
+                int auditCount = measure ? session.getAudits().getAudit().size() : 0;
+                long start = measure ? System.nanoTime() : 0L;
+                processSourceFieldMapping(session, template);
                 if (!session.head().hasError()) {
                     processTargetFieldMapping(session, mapping);
                 }
+                if (measure) {
+                    recordMapping(mappingIndex, definition, System.nanoTime() - start, !session.head().hasError()
+                            && !hasError(session.getAudits().getAudit(), auditCount));
+                }
                 session.getAudits().getAudit().addAll(session.head().getAudits());
                 session.head().unset();
             }
@@ -403,10 +531,10 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
 
         for (AtlasModule module : getSourceModules().values()) {
-            module.processPostSourceExecution(session);
+            invokeModule(module, AtlasModuleOperation.POST_EXECUTION, AtlasModule::processPostSourceExecution, session);
         }
         for (AtlasModule module : getTargetModules().values()) {
-            module.processPostTargetExecution(session);
+            invokeModule(module, AtlasModuleOperation.POST_EXECUTION, AtlasModule::processPostTargetExecution, session);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -431,25 +559,34 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     protected void processSourceFieldMapping(DefaultAtlasSession session) {
+        processSourceFieldMapping(session, null);
+    }
+
+    private void processSourceFieldMapping(DefaultAtlasSession session, AtlasMappingPlan.MappingTemplate template) {
         try {
             Mapping mapping = session.head().getMapping();
             if (mapping.getInputFieldGroup() != null) {
                 if (mapping.getExpression() != null) {
                     session.head().setSourceField(mapping.getInputFieldGroup());
-                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression());
+                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression(),
+                            getMappingPlan().getExpression(mapping.getExpression()),
+                            template != null ? template.getVariableSlots() : null);
                 } else {
-                    processSourceFieldGroup(session, mapping.getInputFieldGroup());
+                    processSourceFieldGroup(session, mapping.getInputFieldGroup(),
+                            template != null ? template.getInputFieldGroup().getChildren() : null);
                 }
             } else if (mapping.getInputField() != null && !mapping.getInputField().isEmpty()) {
                 if (mapping.getExpression() != null) {
                     FieldGroup sourceFieldGroup = new FieldGroup();
                     sourceFieldGroup.getField().addAll(mapping.getInputField());
                     session.head().setSourceField(sourceFieldGroup);
-                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression());
+                    DefaultAtlasExpressionProcessor.processExpression(session, mapping.getExpression(),
+                            getMappingPlan().getExpression(mapping.getExpression()),
+                            template != null ? template.getVariableSlots() : null);
                 } else {
                     List<Field> sourceFields = mapping.getInputField();
                     applyCopyToActions(sourceFields, mapping);
-                    processSourceFields(session, sourceFields);
+                    processSourceFields(session, sourceFields, template != null ? template.getInputFields() : null);
                 }
             } else {
                 session.head().addAudit(AuditStatus.WARN, null, String.format(
@@ -468,26 +605,33 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
-    private void processSourceFieldGroup(DefaultAtlasSession session, FieldGroup sourceFieldGroup) throws AtlasException {
-        processSourceFields(session, sourceFieldGroup.getField());
+    private void processSourceFieldGroup(DefaultAtlasSession session, FieldGroup sourceFieldGroup,
+            List<AtlasMappingPlan.FieldTemplate> templates) throws AtlasException {
+        processSourceFields(session, sourceFieldGroup.getField(), templates);
         session.head().setSourceField(sourceFieldGroup);
         Field processed = applyFieldActions(session, session.head().getSourceField());
         session.head().setSourceField(processed);
     }
 
-    private void processSourceFields(DefaultAtlasSession session, List<Field> sourceFields)
-            throws AtlasException {
+    /**
+     * Reads the source fields. The modules are taken from the field templates compiled
+     * in the mapping plan if available, otherwise resolved for each field.
+     */
+    private void processSourceFields(DefaultAtlasSession session, List<Field> sourceFields,
+            List<AtlasMappingPlan.FieldTemplate> templates) throws AtlasException {
         for (int i = 0; i < sourceFields.size(); i++) {
             Field sourceField = sourceFields.get(i);
+            AtlasMappingPlan.FieldTemplate template = templates != null ? templates.get(i) : null;
             session.head().setSourceField(sourceField);
             if (sourceField instanceof FieldGroup) {
-                processSourceFields(session, ((FieldGroup)sourceField).getField());
+                processSourceFields(session, ((FieldGroup)sourceField).getField(),
+                        template != null ? template.getChildren() : null);
                 Field processed = applyFieldActions(session, sourceField);
                 session.head().setSourceField(processed);
                 continue;
             }
 
-            AtlasModule module = resolveModule(FieldDirection.SOURCE, sourceField);
+            AtlasModule module = template != null ? template.getModule() : resolveModule(FieldDirection.SOURCE, sourceField);
             if (module == null) {
                 AtlasUtil.addAudit(session, sourceField,
                         String.format("Module not found for docId '%s'", sourceField.getDocId()),
@@ -502,7 +646,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 return;
             }
 
-            module.readSourceValue(session);
+            invokeModule(module, AtlasModuleOperation.READ_SOURCE_VALUE, AtlasModule::readSourceValue, session);
             Field processed = applyFieldActions(session, session.head().getSourceField());
             session.head().setSourceField(processed);
             sourceFields.set(i, processed);
@@ -518,19 +662,11 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         Map<String, AtlasModule> modules =
                 direction == FieldDirection.SOURCE ? sourceModules : targetModules;
         if (direction == FieldDirection.SOURCE && field instanceof ConstantField) {
-            AtlasModule answer = sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
-            if (!modules.containsKey(docId)) {
-                modules.put(docId, answer);
-            }
-            return answer;
+            return sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
         }
         if (field instanceof PropertyField) {
-            AtlasModule answer = modules.get(
+            return modules.get(
                     direction == FieldDirection.SOURCE ? AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID : AtlasConstants.PROPERTIES_TARGET_DOCUMENT_ID);
-            if (!modules.containsKey(docId)) {
-                modules.put(docId, answer);
-            }
-            return answer;
         }
         return modules.get(docId);
     }
@@ -628,7 +764,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     }
                 }
                 try {
-                    module.populateTargetField(session);
+                    invokeModule(module, AtlasModuleOperation.POPULATE_TARGET_FIELD, AtlasModule::populateTargetField, session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to populate target field: " + e.getMessage(),
@@ -642,7 +778,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 Field processed = applyFieldActions(session, session.head().getTargetField());
                 session.head().setTargetField(processed);
                 try {
-                    module.writeTargetValue(session);
+                    invokeModule(module, AtlasModuleOperation.WRITE_TARGET_VALUE, AtlasModule::writeTargetValue, session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to write field value into target document: " + e.getMessage(),
@@ -665,7 +801,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             Field sourceField = processCombineField(session, mapping, sourceFields, targetField);
             session.head().setSourceField(sourceField).setTargetField(targetField);
             try {
-                module.populateTargetField(session);
+                invokeModule(module, AtlasModuleOperation.POPULATE_TARGET_FIELD, AtlasModule::populateTargetField, session);
             } catch (Exception e) {
                 AtlasUtil.addAudit(session, targetField,
                         "Failed to populate target field: " + e.getMessage(),
@@ -674,7 +810,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             }
             applyFieldActions(session, session.head().getTargetField());
             try {
-                module.writeTargetValue(session);
+                invokeModule(module, AtlasModuleOperation.WRITE_TARGET_VALUE, AtlasModule::writeTargetValue, session);
             } catch (Exception e) {
                 AtlasUtil.addAudit(session, targetField,
                         "Failed to write field value into target document: " + e.getMessage(),
@@ -718,7 +854,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 }
                 session.head().setSourceField(separatedFields.get(targetField.getIndex())).setTargetField(targetField);
                 try {
-                    module.populateTargetField(session);
+                    invokeModule(module, AtlasModuleOperation.POPULATE_TARGET_FIELD, AtlasModule::populateTargetField, session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to populate target field: " + e.getMessage(),
@@ -728,7 +864,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 Field processed = applyFieldActions(session, session.head().getTargetField());
                 session.head().setTargetField(processed);
                 try {
-                    module.writeTargetValue(session);
+                    invokeModule(module, AtlasModuleOperation.WRITE_TARGET_VALUE, AtlasModule::writeTargetValue, session);
                 } catch (Exception e) {
                     AtlasUtil.addAudit(session, targetField,
                             "Failed to write field value into target document: " + e.getMessage(),
@@ -744,6 +880,124 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 AuditStatus.ERROR, null);
     }
 
+    private void invokeModule(AtlasModule module, AtlasModuleOperation operation, ModuleCall call,
+            DefaultAtlasSession session) throws AtlasException {
+        AtlasModuleStatistics stats = module instanceof BaseAtlasModule ? ((BaseAtlasModule) module).getStatistics() : null;
+        AtlasContextStatistics.Phase phase = this.statisticsEnabled ? toPhase(operation) : null;
+        if (stats == null && phase == null) {
+            call.invoke(module, session);
+            return;
+        }
+        List<Audit> audits = session.getAudits().getAudit();
+        List<Audit> headAudits = session.head().getAudits();
+        int auditCount = audits.size();
+        int headAuditCount = headAudits.size();
+        boolean success = false;
+        long start = System.nanoTime();
+        try {
+            call.invoke(module, session);
+            success = !hasError(audits, auditCount) && !hasError(headAudits, headAuditCount);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (phase != null) {
+                statistics.recordPhase(phase, elapsed);
+            }
+            if (stats != null) {
+                stats.get(operation).record(elapsed, success);
+                for (AtlasStatisticsListener listener : factory.getStatisticsListeners()) {
+                    try {
+                        listener.onModuleOperation(module, operation, elapsed, success);
+                    } catch (RuntimeException e) {
+                        LOG.warn("AtlasStatisticsListener {} failed: {}", listener, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private static AtlasContextStatistics.Phase toPhase(AtlasModuleOperation operation) {
+        switch (operation) {
+        case READ_SOURCE_VALUE:
+            return AtlasContextStatistics.Phase.SOURCE_READ;
+        case POPULATE_TARGET_FIELD:
+        case WRITE_TARGET_VALUE:
+            return AtlasContextStatistics.Phase.TARGET_WRITE;
+        default:
+            return null;
+        }
+    }
+
+    private void recordProcess(DefaultAtlasSession session, long elapsed, boolean completed) {
+        int errors = 0;
+        int warns = 0;
+        for (Audit audit : session.getAudits().getAudit()) {
+            if (audit.getStatus() == AuditStatus.ERROR) {
+                errors++;
+            } else if (audit.getStatus() == AuditStatus.WARN) {
+                warns++;
+            }
+        }
+        statistics.recordProcess(elapsed, completed && errors == 0, errors, warns);
+        for (AtlasStatisticsListener listener : factory.getStatisticsListeners()) {
+            try {
+                listener.onSessionProcessed(this, elapsed, errors, warns);
+            } catch (RuntimeException e) {
+                LOG.warn("AtlasStatisticsListener {} failed: {}", listener, e.getMessage());
+            }
+        }
+    }
+
+    private void recordMapping(int index, Mapping definition, long elapsed, boolean success) {
+        MappingStatistics stats = mappingStatistics.get(index);
+        if (stats == null || stats.definition != definition) {
+            stats = mappingStatistics.compute(index, (i, existing) -> {
+                String name = getMappingName(definition);
+                if (existing != null && existing.name.equals(name)) {
+                    // the same mapping entry, e.g. a per-session copy
+                    return existing.definition == definition ? existing
+                            : new MappingStatistics(definition, name, existing.statistics);
+                }
+                return new MappingStatistics(definition, name, new ExecutionStatistics());
+            });
+        }
+        stats.statistics.record(elapsed, success);
+        List<AtlasStatisticsListener> listeners = factory.getStatisticsListeners();
+        if (listeners.isEmpty()) {
+            return;
+        }
+        String name = stats.name;
+        for (AtlasStatisticsListener listener : listeners) {
+            try {
+                listener.onMappingProcessed(this, name, elapsed, success);
+            } catch (RuntimeException e) {
+                LOG.warn("AtlasStatisticsListener {} failed: {}", listener, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean hasError(List<Audit> audits, int from) {
+        for (int i = from; i < audits.size(); i++) {
+            if (audits.get(i).getStatus() == AuditStatus.ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getMappingName(Mapping mapping) {
+        if (mapping.getAlias() != null && !mapping.getAlias().isEmpty()) {
+            return mapping.getAlias();
+        }
+        if (mapping.getId() != null && !mapping.getId().isEmpty()) {
+            return mapping.getId();
+        }
+        if (mapping.getOutputField() != null && !mapping.getOutputField().isEmpty()) {
+            Field target = mapping.getOutputField().get(0);
+            return target.getDocId() + ":" + target.getPath();
+        }
+        return String.valueOf(mapping.getDescription());
+    }
+
     private FieldGroup unwrapNestedGroup(FieldGroup parent) {
         if (parent.getPath() == null && parent.getField().size() == 1
                 && parent.getField().get(0) instanceof FieldGroup) {
@@ -871,6 +1125,35 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return answer;
     }
 
+    /**
+     * Validates the mapping definition only once and then replays the validation result
+     * into the subsequent sessions until the mapping definition is modified.
+     * @see DefaultAtlasContextFactory#PROPERTY_ATLASMAP_VALIDATE_EVERY_PROCESS
+     */
+    private void processCachedValidation(DefaultAtlasSession session) throws AtlasException {
+        if (session.hasMappingCopy()) {
+            processValidation(session);
+            return;
+        }
+        AtlasMappingPlan plan = getMappingPlan();
+        AtlasMapping definition = session.getMappingDefinition();
+        AtlasMappingPlan.ValidationResult result = plan.getValidationResult(definition);
+        if (result == null) {
+            processValidation(session);
+            plan.setValidationResult(definition, session.getValidations().getValidation(),
+                    session.getAudits().getAudit());
+            return;
+        }
+        session.getValidations().getValidation().addAll(result.getValidations());
+        session.getAudits().getAudit().addAll(result.getAudits());
+    }
+
+    private boolean isValidateEveryProcess() {
+        Map<String, String> properties = factory.getProperties();
+        return properties != null
+                && Boolean.parseBoolean(properties.get(DefaultAtlasContextFactory.PROPERTY_ATLASMAP_VALIDATE_EVERY_PROCESS));
+    }
+
     @Override
     public void processValidation(AtlasSession userSession) throws AtlasException {
         if (!(userSession instanceof DefaultAtlasSession)) {
@@ -896,7 +1179,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 AuditStatus.WARN, null);
         }
 
-        List<Validation> validations = getContextFactory().getValidationService().validateMapping(session.getMapping());
+        List<Validation> validations = getContextFactory().getValidationService().validateMapping(session.getMappingDefinition());
         if (validations != null && !validations.isEmpty()) {
             session.getValidations().getValidation().addAll(validations);
         }
@@ -926,6 +1209,18 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return admHandler != null ? admHandler.getMappingDefinition() : null;
     }
 
+    /**
+     * Gets the execution plan compiled from the mapping definition.
+     *
+     * @return compiled mapping plan
+     */
+    public AtlasMappingPlan getMappingPlan() {
+        if (this.mappingPlan == null) {
+            this.mappingPlan = new AtlasMappingPlan(this);
+        }
+        return this.mappingPlan;
+    }
+
     @Override
     public AtlasSession createSession() throws AtlasException {
         init();
@@ -937,6 +1232,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         this.admHandler = new ADMArchiveHandler(this.factory.getClassLoader());
         this.admHandler.setIgnoreLibrary(true);
         this.admHandler.setMappingDefinition(mappingDefinition);
+        this.mappingPlan = null;
+        this.mappingStatistics.clear();
         this.initialized = false;
         init();
         return doCreateSession();
@@ -952,10 +1249,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     protected void setDefaultSessionProperties(AtlasSession session) {
-        Date date = new Date();
-        DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-        df.setTimeZone(TimeZone.getDefault());
-        session.getProperties().put("Atlas.CreatedDateTimeTZ", df.format(date));
+        session.getProperties().put("Atlas.CreatedDateTimeTZ", CREATED_DATE_TIME_FORMAT.format(ZonedDateTime.now()));
     }
 
     public Map<String, AtlasModule> getSourceModules() {
@@ -982,6 +1276,197 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         this.lookupTables = lookupTables;
     }
 
+    @Override
+    public boolean isStatisticsEnabled() {
+        return this.statisticsEnabled;
+    }
+
+    /**
+     * Enables or disables the execution statistics of this context and all of its modules. While it's
+     * enabled, the modules which support statistics are registered with JMX, and the statistics are
+     * passed to the {@link AtlasStatisticsListener}s of the context factory. Disabling it discards the
+     * recorded statistics and unregisters the modules from JMX. This context is registered with JMX when
+     * the statistics are enabled for the first time and stays registered, so that they could be enabled
+     * again through its MXBean, until {@link #unregisterFromJmx()} is called.
+     *
+     * @param enabled true to enable
+     */
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        boolean wasEnabled = this.statisticsEnabled;
+        this.statisticsEnabled = enabled;
+        if (enabled) {
+            registerJmx(this);
+        } else {
+            this.mappingStatistics.clear();
+            this.statistics.reset();
+        }
+        for (Map<String, AtlasModule> modules : Arrays.asList(getSourceModules(), getTargetModules())) {
+            for (AtlasModule module : modules.values()) {
+                if (!(module instanceof BaseAtlasModule)) {
+                    continue;
+                }
+                ((BaseAtlasModule) module).setStatisticsEnabled(enabled);
+                if (enabled) {
+                    registerModuleJmx((BaseAtlasModule) module);
+                } else if (wasEnabled) {
+                    unregisterModuleJmx(module);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the execution statistics of this context, which could be polled to export them into a metrics library.
+     *
+     * @return the statistics
+     */
+    public AtlasContextStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public long getProcessCount() {
+        return this.statistics.getProcess().getCount();
+    }
+
+    @Override
+    public long getProcessErrorCount() {
+        return this.statistics.getProcess().getErrorCount();
+    }
+
+    @Override
+    public long getErrorAuditCount() {
+        return this.statistics.getErrorAuditCount();
+    }
+
+    @Override
+    public long getWarnAuditCount() {
+        return this.statistics.getWarnAuditCount();
+    }
+
+    @Override
+    public long getProcessP50ExecutionTime() {
+        return this.statistics.getProcess().getPercentile(50);
+    }
+
+    @Override
+    public long getProcessP99ExecutionTime() {
+        return this.statistics.getProcess().getPercentile(99);
+    }
+
+    @Override
+    public long getProcessMaxExecutionTime() {
+        return this.statistics.getProcess().getMaxTime();
+    }
+
+    @Override
+    public long getProcessTotalExecutionTime() {
+        return this.statistics.getProcess().getTotalTime();
+    }
+
+    @Override
+    public long getValidationTotalTime() {
+        return this.statistics.getPhaseTime(AtlasContextStatistics.Phase.VALIDATION);
+    }
+
+    @Override
+    public long getSourceReadTotalTime() {
+        return this.statistics.getPhaseTime(AtlasContextStatistics.Phase.SOURCE_READ);
+    }
+
+    @Override
+    public long getFieldActionTotalTime() {
+        return this.statistics.getPhaseTime(AtlasContextStatistics.Phase.FIELD_ACTIONS);
+    }
+
+    @Override
+    public long getTargetWriteTotalTime() {
+        return this.statistics.getPhaseTime(AtlasContextStatistics.Phase.TARGET_WRITE);
+    }
+
+    @Override
+    public int getSlowestMappingsLimit() {
+        return this.slowestMappingsLimit;
+    }
+
+    @Override
+    public void setSlowestMappingsLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit of the slowest mappings must not be negative: " + limit);
+        }
+        this.slowestMappingsLimit = limit;
+    }
+
+    @Override
+    public TabularData getSlowestMappings() throws OpenDataException {
+        return AtlasContextStatistics.toSlowestMappings(getMappingStatistics(), this.slowestMappingsLimit);
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.statistics.reset();
+        for (MappingStatistics stats : this.mappingStatistics.values()) {
+            stats.statistics.reset();
+        }
+    }
+
+    /**
+     * Gets the execution statistics of each mapping entry keyed by the alias, or the ID if the alias is not set.
+     * If more than one mapping entry has the same name, the position of the mapping entry is appended to
+     * the name, e.g. {@code alias#3}, so that each mapping entry has its own key.
+     *
+     * @return the mapping statistics in the order of the mapping entries, empty if the statistics is disabled
+     */
+    public Map<String, ExecutionStatistics> getMappingStatistics() {
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (MappingStatistics stats : this.mappingStatistics.values()) {
+            nameCounts.merge(stats.name, 1, Integer::sum);
+        }
+        Map<String, ExecutionStatistics> answer = new LinkedHashMap<>();
+        for (Map.Entry<Integer, MappingStatistics> entry : this.mappingStatistics.entrySet()) {
+            MappingStatistics stats = entry.getValue();
+            String key = nameCounts.get(stats.name) > 1 ? stats.name + "#" + entry.getKey() : stats.name;
+            answer.put(key, stats.statistics);
+        }
+        return answer;
+    }
+
+    private ObjectName getModuleJmxObjectName(AtlasModule module) throws MalformedObjectNameException {
+        return new ObjectName(getContextFactory().getJmxObjectName() + ",context=Contexts,uuid=" + uuid.toString()
+                + ",modules=" + module.getMode().name() + ",docId=" + ObjectName.quote(module.getDocId()));
+    }
+
+    private void registerModuleJmx(BaseAtlasModule module) {
+        if (getContextFactory().getJmxObjectName() == null || module.getDocId() == null) {
+            return;
+        }
+        try {
+            ObjectName on = getModuleJmxObjectName(module);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(on)) {
+                server.unregisterMBean(on);
+            }
+            server.registerMBean(module, on);
+        } catch (Exception e) {
+            LOG.warn("Failed to register AtlasModule {} with JMX: {}", module.getDocId(), e.getMessage());
+        }
+    }
+
+    private void unregisterModuleJmx(AtlasModule module) {
+        if (getContextFactory().getJmxObjectName() == null || module.getDocId() == null) {
+            return;
+        }
+        try {
+            ObjectName on = getModuleJmxObjectName(module);
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(on)) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to unregister AtlasModule {} from JMX: {}", module.getDocId(), e.getMessage());
+        }
+    }
+
     protected void setJmxObjectName(ObjectName jmxObjectName) {
         this.jmxObjectName = jmxObjectName;
     }
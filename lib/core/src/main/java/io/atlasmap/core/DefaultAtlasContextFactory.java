@@ -29,8 +29,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -49,10 +51,24 @@ import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleInfoRegistry;
 import io.atlasmap.spi.AtlasPropertyStrategy;
 import io.atlasmap.spi.AtlasSeparateStrategy;
+import io.atlasmap.spi.AtlasStatisticsListener;
 import io.atlasmap.v2.AtlasMapping;
 
 public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasContextFactoryMXBean {
 
+    /**
+     * If {@code true}, the mapping definition is validated on every {@link DefaultAtlasContext#process(io.atlasmap.api.AtlasSession)}
+     * call. By default it's validated only once and the result is replayed into each session.
+     */
+    public static final String PROPERTY_ATLASMAP_VALIDATE_EVERY_PROCESS = "atlasmap.validate.every.process";
+
+    /**
+     * If {@code true}, the execution statistics is enabled on the contexts created by this factory
+     * when they're initialized. It could be also enabled at runtime through
+     * {@link DefaultAtlasContext#setStatisticsEnabled(boolean)} or the module MXBeans.
+     */
+    public static final String PROPERTY_ATLASMAP_STATISTICS_ENABLED = "atlasmap.statistics.enabled";
+
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasContextFactory.class);
 
     private static DefaultAtlasContextFactory factory = null;
@@ -69,6 +85,7 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
     private AtlasModuleInfoRegistry moduleInfoRegistry;
     private Map<String, String> properties = null;
     private CompoundClassLoader classLoader = null;
+    private final List<AtlasStatisticsListener> statisticsListeners = new CopyOnWriteArrayList<>();
 
     private DefaultAtlasContextFactory() {
     }
@@ -130,6 +147,7 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         registerFactoryJmx(this);
         this.moduleInfoRegistry = new DefaultAtlasModuleInfoRegistry(this);
         loadModules("moduleClass", AtlasModule.class);
+        ServiceLoader.load(AtlasStatisticsListener.class, this.classLoader).forEach(this.statisticsListeners::add);
         this.initialized = true;
 
     }
@@ -179,6 +197,7 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         this.atlasSeparateStrategy = null;
         this.atlasValidationService = null;
         this.moduleInfoRegistry = null;
+        this.statisticsListeners.clear();
         this.classLoader = null;
         this.threadName = null;
         this.initialized = false;
@@ -247,6 +266,22 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         return this.objectName;
     }
 
+    /**
+     * Adds a listener which receives the execution statistics of the contexts created by this factory.
+     * @param listener listener
+     */
+    public void addStatisticsListener(AtlasStatisticsListener listener) {
+        this.statisticsListeners.add(listener);
+    }
+
+    public void removeStatisticsListener(AtlasStatisticsListener listener) {
+        this.statisticsListeners.remove(listener);
+    }
+
+    public List<AtlasStatisticsListener> getStatisticsListeners() {
+        return this.statisticsListeners;
+    }
+
     public AtlasModuleInfoRegistry getModuleInfoRegistry() {
         return this.moduleInfoRegistry;
     }
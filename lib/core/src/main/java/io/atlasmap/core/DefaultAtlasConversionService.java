@@ -17,6 +17,9 @@ package io.atlasmap.core;
 
 import static java.util.Objects.hash;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -32,6 +35,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +63,17 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
 
     private Map<ConverterKey, ConverterMethodHolder> converterMethods = null;
     private Map<ConverterKey, ConverterMethodHolder> customConverterMethods = null;
+    // (source class, target class) -> resolved converter, keyed by the Class objects rather than
+    // the canonical names so that the lookup doesn't allocate. Negative results are cached as well.
+    // Only the target classes visible from the service's class loader are cached, so that the
+    // service singleton doesn't keep the classes of the other class loaders from being unloaded.
+    private final ClassValue<Map<Class<?>, Optional<ConverterMethodHolder>>> converterCache =
+            new ClassValue<Map<Class<?>, Optional<ConverterMethodHolder>>>() {
+                @Override
+                protected Map<Class<?>, Optional<ConverterMethodHolder>> computeValue(Class<?> sourceClass) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     // Used as the lookup key in the converter methods map
     private class ConverterKey {
@@ -85,12 +100,15 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
     }
 
-    // used to hold converter and method for future reflection use
+    // used to hold converter and method for future invocation
     private class ConverterMethodHolder {
         private AtlasConverter<?> converter;
         private Method method;
         private boolean staticMethod;
         private boolean containsFormat;
+        // bound to the converter instance and adapted to (Object[, String, String])Object,
+        // null if the method is not accessible through a MethodHandle, i.e. non-public class
+        private MethodHandle handle;
 
         public ConverterMethodHolder(AtlasConverter<?> converter, Method method, boolean staticMethod,
                 boolean containsFormat) {
@@ -98,6 +116,27 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             this.method = method;
             this.staticMethod = staticMethod;
             this.containsFormat = containsFormat;
+            try {
+                MethodHandle mh = MethodHandles.publicLookup().unreflect(method);
+                if (!staticMethod) {
+                    mh = mh.bindTo(converter);
+                }
+                this.handle = mh.asType(MethodType.genericMethodType(mh.type().parameterCount()));
+            } catch (IllegalAccessException | RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Falling back to reflection for the converter method {}: {}", method, e.getMessage());
+                }
+            }
+        }
+
+        private Object invoke(Object sourceValue, String sourceFormat, String targetFormat) throws Throwable {
+            if (handle == null) {
+                Object target = staticMethod ? null : converter;
+                return containsFormat ? method.invoke(target, sourceValue, sourceFormat, targetFormat)
+                        : method.invoke(target, sourceValue);
+            }
+            return containsFormat ? (Object) handle.invokeExact(sourceValue, (Object) sourceFormat, (Object) targetFormat)
+                    : (Object) handle.invokeExact(sourceValue);
         }
 
         public AtlasConverter<?> getConverter() {
@@ -314,13 +353,12 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         ConverterMethodHolder methodHolder = getConverter(sourceValue, targetType);
         if (methodHolder != null) {
             try {
-                Object target = methodHolder.staticMethod ? null : methodHolder.converter;
-                if (methodHolder.containsFormat) {
-                    return methodHolder.method.invoke(target, sourceValue, sourceFormat, targetFormat);
-                }
-                return methodHolder.method.invoke(target, sourceValue);
+                return methodHolder.invoke(sourceValue, sourceFormat, targetFormat);
             } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                 throw new AtlasConversionException("Invoking type convertor failed", e);
+            } catch (Throwable e) {
+                // thrown by the converter method invoked through the MethodHandle
+                throw new AtlasConversionException("Invoking type convertor failed", new InvocationTargetException(e));
             }
         }
         throw new AtlasConversionException("Type Conversion is not supported for sT="
@@ -333,6 +371,32 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
     }
 
     private ConverterMethodHolder getConverter(Object sourceValue, Class<?> targetType) {
+        if (!isVisible(targetType)) {
+            return resolveConverter(sourceValue, targetType);
+        }
+        Map<Class<?>, Optional<ConverterMethodHolder>> targets = converterCache.get(sourceValue.getClass());
+        Optional<ConverterMethodHolder> methodHolder = targets.get(targetType);
+        if (methodHolder == null) {
+            methodHolder = Optional.ofNullable(resolveConverter(sourceValue, targetType));
+            targets.putIfAbsent(targetType, methodHolder);
+        }
+        return methodHolder.orElse(null);
+    }
+
+    private boolean isVisible(Class<?> clazz) {
+        ClassLoader target = clazz.getClassLoader();
+        if (target == null) {
+            return true;
+        }
+        for (ClassLoader cl = getClass().getClassLoader(); cl != null; cl = cl.getParent()) {
+            if (cl == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ConverterMethodHolder resolveConverter(Object sourceValue, Class<?> targetType) {
         Class<?> boxedSourceClass = sourceValue.getClass();
         if (sourceValue.getClass().isPrimitive()) {
             boxedSourceClass = boxOrUnboxPrimitive(boxedSourceClass);
@@ -15,7 +15,8 @@
  */
 package io.atlasmap.core;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -23,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.expression.Expression;
+import io.atlasmap.expression.ExpressionContext;
 import io.atlasmap.expression.ExpressionException;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.v2.AtlasModelFactory;
@@ -37,54 +39,50 @@ public class DefaultAtlasExpressionProcessor {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasExpressionProcessor.class);
 
     public static void processExpression(DefaultAtlasSession session, String expression) {
+        processExpression(session, expression, null);
+    }
+
+    /**
+     * Processes the expression.
+     *
+     * @param session session
+     * @param expression expression text
+     * @param parsedExpression the expression parsed in advance, or {@code null} to parse the expression text
+     */
+    public static void processExpression(DefaultAtlasSession session, String expression, Expression parsedExpression) {
+        processExpression(session, expression, parsedExpression, null);
+    }
+
+    /**
+     * Processes the expression.
+     *
+     * @param session session
+     * @param expression expression text
+     * @param parsedExpression the expression parsed in advance, or {@code null} to parse the expression text
+     * @param slots the source field positions remembered for the mapping, or {@code null} to look up
+     * the source fields by name
+     */
+    static void processExpression(DefaultAtlasSession session, String expression, Expression parsedExpression,
+            VariableSlots slots) {
         if (expression == null || expression.trim().isEmpty()) {
             return;
         }
 
         try {
-            Map<String, Field> sourceFieldMap = new HashMap<>();
             Field parent = session.head().getSourceField();
-            if (parent != null && !AtlasUtil.isEmpty(parent.getDocId()) && !AtlasUtil.isEmpty(parent.getPath())) {
-                 sourceFieldMap.put(parent.getDocId() + ":" + parent.getPath(), parent);
+            if (parsedExpression == null) {
+                parsedExpression = Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
             }
-            // Anonymous FieldGroup is just a wrapping, peel it off
-            if (parent instanceof FieldGroup && AtlasUtil.isEmpty(parent.getPath())) {
-                FieldGroup parentGroup = FieldGroup.class.cast(parent);
-                for (Field child : parentGroup.getField()) {
-                    if (!(AtlasUtil.isEmpty(child.getDocId()) && AtlasUtil.isEmpty(child.getPath()))) {
-                         sourceFieldMap.put(child.getDocId() + ":" + child.getPath(), child);
-                    }
+            Object answer = parsedExpression.evaluate(new ExpressionContext() {
+                @Override
+                public Field getVariable(String name) throws ExpressionException {
+                    return getVariable(-1, name);
                 }
-            }
 
-            Expression parsedExpression = Expression.parse(expression, DefaultAtlasFunctionResolver.getInstance());
-            Object answer = parsedExpression.evaluate((path) -> {
-                if (path == null || path.isEmpty()) {
-                    return null;
-                }
-                try {
-                    Field f = sourceFieldMap.get(path);
-                    if (f == null) {
-                        return null;
-                    }
-                    AtlasModule sourceModule;
-                    Map<String, AtlasModule> sourceModules = session.getAtlasContext().getSourceModules();
-                    if (f instanceof ConstantField) {
-                        sourceModule = sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
-                    } else if (f instanceof PropertyField) {
-                        sourceModule = sourceModules.get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
-                    } else {
-                        String[] splitted = path.split(":", 2);
-                        sourceModule = sourceModules.get(splitted[0]);
-                    }
-                    if (sourceModule == null) {
-                        throw new ExpressionException(String.format("Module for the path '%s' is not found", path));
-                    }
-                    session.head().setSourceField(f);
-                    sourceModule.readSourceValue(session);
-                    return session.head().getSourceField();
-                } catch (Exception e) {
-                    throw new ExpressionException(e);
+                @Override
+                public Field getVariable(int slot, String name) throws ExpressionException {
+                    return readVariable(session, slots != null ? slots.find(parent, slot, name)
+                            : findSourceField(parent, name), name);
                 }
             });
             if (answer instanceof Field) {
@@ -107,4 +105,126 @@ public class DefaultAtlasExpressionProcessor {
         }
     }
 
+    private static Field readVariable(DefaultAtlasSession session, Field f, String path) throws ExpressionException {
+        if (f == null) {
+            return null;
+        }
+        try {
+            AtlasModule sourceModule;
+            Map<String, AtlasModule> sourceModules = session.getAtlasContext().getSourceModules();
+            if (f instanceof ConstantField) {
+                sourceModule = sourceModules.get(AtlasConstants.CONSTANTS_DOCUMENT_ID);
+            } else if (f instanceof PropertyField) {
+                sourceModule = sourceModules.get(AtlasConstants.PROPERTIES_SOURCE_DOCUMENT_ID);
+            } else {
+                sourceModule = sourceModules.get(path.substring(0, path.indexOf(':')));
+            }
+            if (sourceModule == null) {
+                throw new ExpressionException(String.format("Module for the path '%s' is not found", path));
+            }
+            session.head().setSourceField(f);
+            sourceModule.readSourceValue(session);
+            return session.head().getSourceField();
+        } catch (Exception e) {
+            throw new ExpressionException(e);
+        }
+    }
+
+    private static Field findSourceField(Field parent, String name) {
+        return sourceFieldAt(parent, findPosition(parent, name));
+    }
+
+    /**
+     * Finds the position of the source field referred as "docId:path" from an expression. The position
+     * is {@code -1} for the parent field itself, or the index of the child of an anonymous
+     * {@link FieldGroup}, which is just a wrapping of the source fields.
+     */
+    private static int findPosition(Field parent, String name) {
+        if (parent == null || name == null || name.isEmpty()) {
+            return VariableSlots.UNRESOLVED;
+        }
+        // the last one wins when there're duplicates, same as the map keyed by "docId:path"
+        if (parent instanceof FieldGroup && AtlasUtil.isEmpty(parent.getPath())) {
+            List<Field> children = ((FieldGroup) parent).getField();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                Field child = children.get(i);
+                if (!(AtlasUtil.isEmpty(child.getDocId()) && AtlasUtil.isEmpty(child.getPath()))
+                        && isReferredAs(child, name)) {
+                    return i;
+                }
+            }
+        }
+        if (!AtlasUtil.isEmpty(parent.getDocId()) && !AtlasUtil.isEmpty(parent.getPath())
+                && isReferredAs(parent, name)) {
+            return -1;
+        }
+        return VariableSlots.UNRESOLVED;
+    }
+
+    private static Field sourceFieldAt(Field parent, int position) {
+        if (position == -1) {
+            return parent;
+        }
+        if (position >= 0 && parent instanceof FieldGroup) {
+            List<Field> children = ((FieldGroup) parent).getField();
+            return position < children.size() ? children.get(position) : null;
+        }
+        return null;
+    }
+
+    private static boolean isReferredAs(Field f, String name) {
+        String docId = String.valueOf(f.getDocId());
+        String path = String.valueOf(f.getPath());
+        return name.length() == docId.length() + 1 + path.length() && name.startsWith(docId)
+                && name.charAt(docId.length()) == ':' && name.endsWith(path);
+    }
+
+    /**
+     * Remembers the position of the source field for each variable slot of a mapping expression, so
+     * that the next evaluation picks up the source field by the slot rather than matching the variable
+     * name against all the source fields. A remembered position is only a hint, it's verified against
+     * the variable name and looked up again if the source fields have changed.
+     */
+    static final class VariableSlots {
+        static final int UNRESOLVED = Integer.MIN_VALUE;
+
+        private volatile int[] positions = new int[0];
+
+        Field find(Field parent, int slot, String name) {
+            if (slot < 0) {
+                return findSourceField(parent, name);
+            }
+            int[] current = positions;
+            if (slot < current.length && current[slot] != UNRESOLVED) {
+                Field f = sourceFieldAt(parent, current[slot]);
+                if (f != null && isReferredAs(f, name)) {
+                    return f;
+                }
+            }
+            int position = findPosition(parent, name);
+            if (position != UNRESOLVED) {
+                remember(slot, position);
+            }
+            return sourceFieldAt(parent, position);
+        }
+
+        int getPosition(int slot) {
+            int[] current = positions;
+            return slot >= 0 && slot < current.length ? current[slot] : UNRESOLVED;
+        }
+
+        private synchronized void remember(int slot, int position) {
+            int[] updated = positions;
+            if (slot >= updated.length) {
+                int length = updated.length;
+                updated = Arrays.copyOf(updated, slot + 1);
+                Arrays.fill(updated, length, updated.length, UNRESOLVED);
+            } else {
+                updated = updated.clone();
+            }
+            updated[slot] = position;
+            positions = updated;
+        }
+    }
+
 }
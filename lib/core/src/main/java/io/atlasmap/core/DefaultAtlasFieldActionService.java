@@ -15,6 +15,9 @@
  */
 package io.atlasmap.core;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
@@ -23,16 +26,16 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -77,8 +80,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         "java.util.LinkedHashMap", "java.util.SortedMap", "java.util.WeakHashMap", "java.util.Properties",
         "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.ConcurrentMap"));
 
-    private List<ActionProcessor> actionProcessors = new ArrayList<>();
-    private ReadWriteLock actionProcessorsLock = new ReentrantReadWriteLock();
+    private volatile ActionProcessorIndex actionProcessors = new ActionProcessorIndex(Collections.emptyList());
     private AtlasConversionService conversionService = null;
     private ActionResolver actionResolver = null;
 
@@ -108,16 +110,10 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         return TypeFactory.defaultInstance().constructType(type);
     }
 
-    public void init(ClassLoader classLoader) {
-        Lock writeLock = actionProcessorsLock.writeLock();
-        try {
-            writeLock.lock();
-            actionProcessors.clear();
-            this.actionResolver = ActionResolver.getInstance().init(classLoader);
-            actionProcessors.addAll(loadFieldActions(classLoader));
-        } finally {
-            writeLock.unlock();
-        }
+    public synchronized void init(ClassLoader classLoader) {
+        this.actionResolver = ActionResolver.getInstance().init(classLoader);
+        // Replace the whole index at once so that the lookups don't need a lock
+        this.actionProcessors = new ActionProcessorIndex(loadFieldActions(classLoader));
     }
 
     public List<ActionProcessor> loadFieldActions() {
@@ -212,6 +208,15 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         }
 
         Class<? extends Action> finalActionClazz = actionClazz;
+        Object o = null;
+        try {
+            o = Modifier.isStatic(method.getModifiers()) ? null : clazz.getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            LOG.error(String.format("Error creating object instance for action=%s msg=%s", det.getName(), e.getMessage()), e);
+        }
+        final Object object = o;
+        // (Object[, Object])Object, bound to the action object if it's an instance method
+        final MethodHandle handle = toGenericMethodHandle(method, object);
         return new ActionProcessor() {
 
             @Override
@@ -230,26 +235,16 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
                 try {
                     Object convertedSourceObject = convertSourceObject(sourceObject);
 
-                    if (Modifier.isStatic(method.getModifiers())) {
-                        // TODO eliminate Action parameter even for OOTB
-                        // we can use annotation also for the parameters instead
-                        // cf. https://github.com/atlasmap/atlasmap/issues/536
-                        if (det.isCustom() != null && det.isCustom()) {
-                            targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(null) : method.invoke(null, convertedSourceObject);
-                        } else {
-                            targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(null, action) : method.invoke(null, action, convertedSourceObject);
-                        }
+                    // TODO eliminate Action parameter even for OOTB
+                    // we can use annotation also for the parameters instead
+                    // cf. https://github.com/atlasmap/atlasmap/issues/536
+                    if (det.isCustom() != null && det.isCustom()) {
+                        targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
+                            ? invoke(handle, method, object) : invoke(handle, method, object, convertedSourceObject);
                     } else {
-                        Object object = clazz.getDeclaredConstructor().newInstance();
-                        if (det.isCustom() != null && det.isCustom()) {
-                            targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(object) : method.invoke(object, convertedSourceObject);
-                        } else {
-                            targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
-                                ? method.invoke(object, action) : method.invoke(object, action, convertedSourceObject);
-                        }
+                        targetObject = det.getMultiplicity() == Multiplicity.ZERO_TO_ONE
+                            ? invoke(handle, method, object, action)
+                            : invoke(handle, method, object, action, convertedSourceObject);
                     }
                 } catch (Throwable e) {
                     throw new AtlasException(String.format("Error processing action %s", det.getName()), e);
@@ -341,11 +336,13 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
         Object o = null;
         try {
-            o = Modifier.isStatic(method.getModifiers()) ? clazz.getDeclaredConstructor().newInstance() : null;
+            o = Modifier.isStatic(method.getModifiers()) ? null : clazz.getDeclaredConstructor().newInstance();
         } catch (Throwable e) {
             LOG.error(String.format("Error creating object instance for action=%s msg=%s", det.getName(), e.getMessage()), e);
         }
         final Object object = o;
+        // (Object[, Object])Object, bound to the action object if it's an instance method
+        final MethodHandle handle = toGenericMethodHandle(method, object);
 
         Class<? extends Action> finalActionClazz = actionClazz;
 
@@ -363,12 +360,16 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
             @Override
             public Object process(Action action, Object sourceObject) throws AtlasException {
                 try {
-                    if( det.getMultiplicity() == Multiplicity.ZERO_TO_ONE ) {
-                        return method.invoke(object, action);
-                    } else {
-                        sourceObject = convertSourceObject(sourceObject);
-                        return method.invoke(object, action, sourceObject);
+                    if (handle == null) {
+                        if (det.getMultiplicity() == Multiplicity.ZERO_TO_ONE) {
+                            return method.invoke(object, action);
+                        }
+                        return method.invoke(object, action, convertSourceObject(sourceObject));
+                    }
+                    if (det.getMultiplicity() == Multiplicity.ZERO_TO_ONE) {
+                        return (Object) handle.invokeExact((Object) action);
                     }
+                    return (Object) handle.invokeExact((Object) action, convertSourceObject(sourceObject));
                 } catch (Throwable e) {
                     throw new AtlasException(String.format("Error processing action %s", det.getName()), e);
                 }
@@ -428,6 +429,42 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         }
     }
 
+    /**
+     * Creates a {@link MethodHandle} for the action method adapted to the generic
+     * {@code (Object...)Object} type so that it could be invoked with {@code invokeExact()}.
+     * @param method action method
+     * @param receiver the object to bind for the instance method, or {@code null} to leave
+     * the receiver as the first parameter
+     * @return method handle, or {@code null} if the method is not accessible through a method handle
+     */
+    private static MethodHandle toGenericMethodHandle(Method method, Object receiver) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            if (receiver != null) {
+                handle = handle.bindTo(receiver);
+            }
+            return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+        } catch (IllegalAccessException | RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Falling back to reflection for the action method {}: {}", method, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Method method, Object object) throws Throwable {
+        return handle != null ? (Object) handle.invokeExact() : method.invoke(object);
+    }
+
+    private static Object invoke(MethodHandle handle, Method method, Object object, Object arg) throws Throwable {
+        return handle != null ? (Object) handle.invokeExact(arg) : method.invoke(object, arg);
+    }
+
+    private static Object invoke(MethodHandle handle, Method method, Object object, Object arg0, Object arg1)
+            throws Throwable {
+        return handle != null ? (Object) handle.invokeExact(arg0, arg1) : method.invoke(object, arg0, arg1);
+    }
+
     private CollectionType toFieldCollectionType(Class<?> clazz) {
         if (clazz.isArray()) {
             return CollectionType.ARRAY;
@@ -517,13 +554,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     @Override
     public List<ActionDetail> listActionDetails() {
-        Lock readLock = this.actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            return actionProcessors.stream().map(x->x.getActionDetail()).collect(Collectors.toList());
-        } finally {
-            readLock.unlock();
-        }
+        return actionProcessors.processors.stream().map(x->x.getActionDetail()).collect(Collectors.toList());
     }
 
     /*
@@ -566,69 +597,87 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     @Override
     public ActionProcessor findActionProcessor(Action action, FieldType sourceType) throws AtlasException {
-        CustomAction customAction = null;
+        ActionProcessorIndex index = actionProcessors;
         if (action instanceof CustomAction) {
-            customAction = (CustomAction) action;
+            CustomAction customAction = (CustomAction) action;
             if (customAction.getClassName() == null || customAction.getMethodName() == null) {
                 throw new AtlasException("The class name and method name must be specified for custom FieldAction: " + customAction.getName());
             }
+            return index.byCustomMethod.get(customMethodKey(customAction.getClassName(), customAction.getMethodName()));
         }
-        List<ActionProcessor> matches = new ArrayList<>();
-        Lock readLock = actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            for (ActionProcessor processor : actionProcessors) {
-                if (customAction != null) {
-                    ActionDetail detail = processor.getActionDetail();
-                    if (customAction.getClassName().equals(detail.getClassName())
-                        && customAction.getMethodName().equals(detail.getMethod())) {
-                        matches.add(processor);
-                        break;
-                    }
-                } else if (processor.getActionClass() == action.getClass()) {
-                    matches.add(processor);
-                }
-            }
-        } finally {
-            readLock.unlock();
-        }
-
-        return findBestActionProcessor(matches, sourceType);
+        ActionProcessorCandidates candidates = index.byActionClass.get(action.getClass());
+        return candidates != null ? candidates.findBest(sourceType) : null;
     }
 
     public ActionProcessor findActionProcessor(String name, Object value) {
+        ActionProcessorCandidates candidates = actionProcessors.byName.get(name.toUpperCase());
+        if (candidates == null) {
+            return null;
+        }
         FieldType valueType = (value != null ? getConversionService().fieldTypeFromClass(value.getClass()) : FieldType.NONE);
-        String uppercaseName = name.toUpperCase();
+        return candidates.findBest(valueType);
+    }
 
-        List<ActionProcessor> processors = new ArrayList<>();
-        Lock readLock = actionProcessorsLock.readLock();
-        try {
-            readLock.lock();
-            for (ActionProcessor processor : actionProcessors) {
-                if (processor.getActionDetail().getName().toUpperCase().equals(uppercaseName)) {
-                    processors.add(processor);
+    private static String customMethodKey(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    /**
+     * An immutable index of the loaded {@link ActionProcessor}s. It's built once on {@link #init(ClassLoader)}
+     * and replaced as a whole, so that the lookups on the hot path are just a hash probe without a lock.
+     */
+    private static final class ActionProcessorIndex {
+        private final List<ActionProcessor> processors;
+        private final Map<Class<? extends Action>, ActionProcessorCandidates> byActionClass = new HashMap<>();
+        private final Map<String, ActionProcessor> byCustomMethod = new HashMap<>();
+        private final Map<String, ActionProcessorCandidates> byName = new HashMap<>();
+
+        private ActionProcessorIndex(List<ActionProcessor> processors) {
+            this.processors = Collections.unmodifiableList(new ArrayList<>(processors));
+            for (ActionProcessor processor : this.processors) {
+                if (processor.getActionClass() != null) {
+                    byActionClass.computeIfAbsent(processor.getActionClass(), k -> new ActionProcessorCandidates())
+                        .add(processor);
+                }
+                ActionDetail detail = processor.getActionDetail();
+                if (detail.getClassName() != null && detail.getMethod() != null) {
+                    byCustomMethod.putIfAbsent(customMethodKey(detail.getClassName(), detail.getMethod()), processor);
+                }
+                if (detail.getName() != null) {
+                    byName.computeIfAbsent(detail.getName().toUpperCase(), k -> new ActionProcessorCandidates())
+                        .add(processor);
                 }
             }
-        } finally {
-            readLock.unlock();
         }
-
-        return findBestActionProcessor(processors, valueType);
     }
 
-    private ActionProcessor findBestActionProcessor(List<ActionProcessor> processors, FieldType valueType) {
-        if (processors.isEmpty()) {
-            return null;
-        } else if (processors.size() == 1) {
-            return processors.get(0);
-        } else if (valueType != null && !Arrays.asList(FieldType.ANY, FieldType.NONE).contains(valueType)) {
-            for (ActionProcessor processor: processors) {
-                if (valueType.equals(processor.getActionDetail().getSourceType())) {
+    /**
+     * The {@link ActionProcessor}s which share the same key, pre-ranked by the source {@link FieldType}.
+     * If there is not an exact match to the source type, the first one is chosen.
+     */
+    private static final class ActionProcessorCandidates {
+        private ActionProcessor first;
+        private final Map<FieldType, ActionProcessor> bySourceType = new EnumMap<>(FieldType.class);
+
+        private void add(ActionProcessor processor) {
+            if (first == null) {
+                first = processor;
+            }
+            FieldType sourceType = processor.getActionDetail().getSourceType();
+            if (sourceType != null) {
+                bySourceType.putIfAbsent(sourceType, processor);
+            }
+        }
+
+        private ActionProcessor findBest(FieldType valueType) {
+            if (valueType != null && valueType != FieldType.ANY && valueType != FieldType.NONE) {
+                ActionProcessor processor = bySourceType.get(valueType);
+                if (processor != null) {
                     return processor;
                 }
             }
+            return first;
         }
-        return processors.get(0);
     }
 
     public Field buildAndProcessAction(ActionProcessor actionProcessor, Map<String, Object> actionParameters, Field field) {
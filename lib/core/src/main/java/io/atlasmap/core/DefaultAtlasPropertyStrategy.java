@@ -27,6 +27,7 @@ import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasPropertyStrategy;
 import io.atlasmap.spi.AtlasPropertyType;
 import io.atlasmap.v2.AtlasMapping;
@@ -80,7 +81,9 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
                 }
                 break;
             case MAPPING_DEFINED_PROPERTIES:
-                if (session != null && processMappingDefinedProperties(propertyField, session.getMapping())) {
+                if (session != null && processMappingDefinedProperties(propertyField,
+                        session instanceof AtlasInternalSession
+                                ? ((AtlasInternalSession) session).getMappingDefinition() : session.getMapping())) {
                     return;
                 }
                 break;
@@ -43,7 +43,7 @@ import io.atlasmap.v2.Validations;
 public class DefaultAtlasSession implements AtlasInternalSession {
 
     private DefaultAtlasContext atlasContext;
-    private final AtlasMapping mapping;
+    private AtlasMapping mapping;
     private Audits audits;
     private Validations validations;
     private Map<String, Object> sourceProperties;
@@ -60,11 +60,6 @@ public class DefaultAtlasSession implements AtlasInternalSession {
     public DefaultAtlasSession(DefaultAtlasContext context) throws AtlasException {
         this.atlasContext = context;
         initialize();
-        if (context.getMapping() == null) {
-            this.mapping = null;
-            return;
-        }
-        this.mapping = context.getADMArchiveHandler().cloneMappingDefinition();
     }
 
     protected void initialize() {
@@ -90,9 +85,44 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         head.unset();
     }
 
+    /**
+     * Gets the copy of the mapping definition for this session. The copy is created on
+     * the first call, and then the session processes the copy instead of the mapping plan
+     * compiled in the {@link DefaultAtlasContext}, so that the modification only affects
+     * this session.
+     *
+     * @return a copy of the mapping definition
+     */
     @Override
     public AtlasMapping getMapping() {
-        return mapping;
+        if (this.mapping == null && atlasContext.getMapping() != null) {
+            try {
+                this.mapping = atlasContext.getADMArchiveHandler().cloneMappingDefinition();
+            } catch (AtlasException e) {
+                throw new IllegalStateException("Failed to copy the mapping definition", e);
+            }
+        }
+        return this.mapping;
+    }
+
+    /**
+     * Gets the mapping definition to process, which is shared with the context
+     * unless {@link #getMapping()} has created a copy for this session.
+     *
+     * @return mapping definition
+     */
+    @Override
+    public AtlasMapping getMappingDefinition() {
+        return this.mapping != null ? this.mapping : atlasContext.getMapping();
+    }
+
+    /**
+     * Gets if the session processes its own copy of the mapping definition.
+     *
+     * @return true if {@link #getMapping()} has created a copy
+     */
+    boolean hasMappingCopy() {
+        return this.mapping != null;
     }
 
     @Override
@@ -382,6 +412,9 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         if (answer == null) {
             answer = this.getAtlasContext().getTargetModules().get(docId);
         }
+        if (answer == null) {
+            answer = this.getAtlasContext().getMappingPlan().getAliasModule(docId);
+        }
         return answer;
     }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free execution count and latency statistics. The counters are striped {@link LongAdder}s and the
+ * latencies are recorded into a log-linear histogram in the manner of HdrHistogram, which has 8 linear
+ * sub-buckets for each power of 2, so that the percentiles are reported within 12.5% of the recorded
+ * value while the histogram occupies a fixed amount of memory regardless of the number of records.
+ * <p>
+ * All the values are in nanoseconds. {@link #reset()} is not atomic against the concurrent
+ * {@link #record(long, boolean)}, the records made in the meantime might be partially cleared.
+ * </p>
+ */
+public class ExecutionStatistics {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator minTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records an execution.
+     * @param nanos elapsed time in nanoseconds
+     * @param success {@code false} if the execution failed
+     */
+    public void record(long nanos, boolean success) {
+        long value = Math.max(nanos, 0L);
+        count.increment();
+        if (!success) {
+            errorCount.increment();
+        }
+        totalTime.add(value);
+        minTime.accumulate(value);
+        maxTime.accumulate(value);
+        buckets.incrementAndGet(bucketIndex(value));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getSuccessCount() {
+        return Math.max(getCount() - getErrorCount(), 0L);
+    }
+
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    public long getMinTime() {
+        long min = minTime.get();
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    public long getMeanTime() {
+        long c = getCount();
+        return c == 0 ? 0L : getTotalTime() / c;
+    }
+
+    /**
+     * Gets the approximate percentile of the recorded latencies.
+     * @param percentile percentile between 0 and 100
+     * @return the highest value equivalent to the bucket which contains the percentile,
+     * or {@code 0} if nothing is recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return 0L;
+        }
+        double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        long rank = Math.max((long) Math.ceil(p / 100.0 * recorded), 1L);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), getMaxTime());
+            }
+        }
+        return getMaxTime();
+    }
+
+    public void reset() {
+        count.reset();
+        errorCount.reset();
+        totalTime.reset();
+        minTime.reset();
+        maxTime.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+}
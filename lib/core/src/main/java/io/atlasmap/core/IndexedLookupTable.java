@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+
+/**
+ * A {@link LookupTable} indexed by the source value, which is created by {@link DefaultAtlasContext}
+ * when it's initialized. Looking up a value is a hash lookup rather than a scan over the lookup entries,
+ * and the target value is converted into its target type in advance when the converted value is
+ * immutable and could be shared among the sessions.
+ * <p>
+ * The index is a snapshot of the lookup entries at the time it's created. A copy of the lookup entries is
+ * still exposed through {@link #getLookupEntry()} for the modules which don't look for the index, so that
+ * the index doesn't go out of sync when the lookup table in the mapping definition is modified.
+ * </p>
+ */
+public class IndexedLookupTable extends LookupTable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedLookupTable.class);
+
+    private final transient AtlasConversionService conversionService;
+    private final transient Map<String, IndexedEntry> index;
+
+    private IndexedLookupTable(LookupTable table, AtlasConversionService conversionService) {
+        this.name = table.getName();
+        this.description = table.getDescription();
+        this.lookupEntry = new ArrayList<>(table.getLookupEntry());
+        this.conversionService = conversionService;
+        // sized up front so that a large table is not rehashed while it's indexed
+        this.index = new HashMap<>(Math.max(16, (int) (this.lookupEntry.size() / 0.75f) + 1));
+        for (LookupEntry entry : this.lookupEntry) {
+            if (entry.getSourceValue() != null) {
+                // the first entry wins, same as the scan over the lookup entries
+                index.putIfAbsent(entry.getSourceValue(), new IndexedEntry(entry, conversionService, true));
+            }
+        }
+    }
+
+    /**
+     * Creates an index of the {@link LookupTable}.
+     *
+     * @param table lookup table
+     * @param conversionService conversion service to convert the target values
+     * @return indexed lookup table
+     */
+    public static IndexedLookupTable index(LookupTable table, AtlasConversionService conversionService) {
+        if (table instanceof IndexedLookupTable) {
+            return (IndexedLookupTable) table;
+        }
+        return new IndexedLookupTable(table, conversionService);
+    }
+
+    /**
+     * Looks up the entry for the source value in any {@link LookupTable}. It's a hash lookup if the table
+     * is indexed, or a scan over the lookup entries otherwise.
+     *
+     * @param table lookup table
+     * @param sourceValue source value
+     * @param conversionService conversion service to convert the target value
+     * @return the entry, or {@code null} if the source value is not a {@link String} or there is no entry for it
+     */
+    public static IndexedEntry lookup(LookupTable table, Object sourceValue, AtlasConversionService conversionService) {
+        if (table instanceof IndexedLookupTable) {
+            return ((IndexedLookupTable) table).lookup(sourceValue);
+        }
+        if (!(sourceValue instanceof String)) {
+            return null;
+        }
+        for (LookupEntry entry : table.getLookupEntry()) {
+            if (sourceValue.equals(entry.getSourceValue())) {
+                return new IndexedEntry(entry, conversionService, false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the entry for the source value.
+     *
+     * @param sourceValue source value
+     * @return the entry, or {@code null} if the source value is not a {@link String} or there is no entry for it
+     */
+    public IndexedEntry lookup(Object sourceValue) {
+        return sourceValue instanceof String ? index.get(sourceValue) : null;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private Object writeReplace() {
+        // serialized as a plain lookup table, the index is not serializable
+        LookupTable answer = new LookupTable();
+        answer.setName(name);
+        answer.setDescription(description);
+        answer.getLookupEntry().addAll(getLookupEntry());
+        return answer;
+    }
+
+    /**
+     * An entry of the {@link IndexedLookupTable}.
+     */
+    public static final class IndexedEntry {
+        private final AtlasConversionService conversionService;
+        private final String targetValue;
+        private final FieldType targetType;
+        private final boolean converted;
+        private final Object typedValue;
+
+        private IndexedEntry(LookupEntry entry, AtlasConversionService conversionService, boolean convertInAdvance) {
+            this.conversionService = conversionService;
+            this.targetValue = entry.getTargetValue();
+            this.targetType = entry.getTargetType();
+            boolean done = false;
+            Object value = null;
+            if (targetType == null || targetType == FieldType.STRING) {
+                value = targetValue;
+                done = true;
+            } else if (convertInAdvance) {
+                try {
+                    value = conversionService.convertType(targetValue, FieldType.STRING, targetType);
+                    // a mutable value like java.util.Date is converted for each lookup, it's not shared
+                    done = value == null || conversionService.isBoxedPrimitive(value.getClass())
+                        || value instanceof BigDecimal || value instanceof BigInteger;
+                } catch (Exception e) {
+                    // the error is reported when it's looked up
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Couldn't convert the lookup value '{}' into {} in advance: {}",
+                            targetValue, targetType, e.getMessage());
+                    }
+                }
+            }
+            this.converted = done;
+            this.typedValue = done ? value : null;
+        }
+
+        public String getTargetValue() {
+            return targetValue;
+        }
+
+        public FieldType getTargetType() {
+            return targetType;
+        }
+
+        /**
+         * Gets the target value converted into the {@link #getTargetType()}.
+         *
+         * @return typed target value
+         * @throws AtlasException if it fails to convert
+         */
+        public Object getTypedValue() throws AtlasException {
+            if (converted) {
+                return typedValue;
+            }
+            return conversionService.convertType(targetValue, FieldType.STRING, targetType);
+        }
+    }
+
+}
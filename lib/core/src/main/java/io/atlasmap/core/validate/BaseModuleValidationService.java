@@ -159,18 +159,19 @@ public abstract class BaseModuleValidationService<T extends Field> implements At
         } else if (getMode() == AtlasModuleMode.TARGET) {
             List<Field> targetFields = mapping.getOutputField();
 
-            if (targetFields.size() == 1 && Integer.valueOf(0).equals(targetFields.get(0).getIndex())) {
-                //The index should not have been set as there's only one item
-                targetFields.get(0).setIndex(null);
-            }
+            //The index should not have been set as there's only one item. The mapping definition
+            //could be shared among concurrent executions, so just ignore it instead of removing.
+            boolean ignoreTargetIndex = targetFields.size() == 1
+                    && Integer.valueOf(0).equals(targetFields.get(0).getIndex());
 
             int i  = 0;
             List<Field> sourceFields = mapping.getInputField();
             for (Field targetField: targetFields) {
                 if (sourceFields.size() > i) {
-                    validateField(mappingId, sourceFields.get(i), targetField, FieldDirection.TARGET, validations);
+                    validateField(mappingId, sourceFields.get(i), targetField, FieldDirection.TARGET,
+                            ignoreTargetIndex, validations);
                 } else {
-                    validateField(mappingId, null, targetField, FieldDirection.TARGET, validations);
+                    validateField(mappingId, null, targetField, FieldDirection.TARGET, ignoreTargetIndex, validations);
                 }
                 i++;
             }
@@ -221,8 +222,13 @@ public abstract class BaseModuleValidationService<T extends Field> implements At
         }
     }
 
-    @SuppressWarnings("unchecked")
     protected void validateField(String mappingId, Field sourceField, Field targetField, FieldDirection direction, List<Validation> validations) {
+        validateField(mappingId, sourceField, targetField, direction, false, validations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateField(String mappingId, Field sourceField, Field targetField, FieldDirection direction,
+            boolean ignoreTargetIndex, List<Validation> validations) {
         if (targetField == null) {
             return;
         }
@@ -233,6 +239,9 @@ public abstract class BaseModuleValidationService<T extends Field> implements At
             }
 
             Integer targetCollectionCount = collectionHelper.determineTargetCollectionCount(targetField);
+            if (ignoreTargetIndex && targetField.getIndex() != null) {
+                targetCollectionCount--;
+            }
 
             if (sourceCollectionCount != null) {
                 if (sourceCollectionCount > targetCollectionCount) {
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -46,6 +47,34 @@ public class AtlasPathTest {
         assertEquals("/user/name/bar", foo.toString());
     }
 
+    @Test
+    public void testSharedSegments() {
+        AtlasPath first = new AtlasPath("/orders<>/items[]/name");
+        AtlasPath second = new AtlasPath("/orders<>/items[]/name");
+        assertSame(first.getLastSegment(), second.getLastSegment());
+
+        SegmentContext items = second.getSegments(true).get(2);
+        assertSame(items, second.setCollectionIndex(2, 3));
+        second.setCollectionIndex(1, 0);
+        assertEquals("/orders<0>/items[3]/name", second.toString());
+        assertEquals("/orders<>/items[]/name", first.toString());
+        assertEquals("/orders<>/items[]/name", new AtlasPath("/orders<>/items[]/name").toString());
+        assertSame(first.getLastSegment(), second.getLastSegment());
+        assertEquals(Integer.valueOf(3), second.getSegments(true).get(2).getCollectionIndex());
+        assertNull(items.getCollectionIndex());
+
+        AtlasPath parent = second.getLastSegmentParentPath();
+        assertEquals("/orders<0>/items[3]", parent.toString());
+        parent.setCollectionIndex(2, null);
+        assertEquals("/orders<0>/items[]", parent.toString());
+        assertEquals("/orders<0>/items[3]/name", second.toString());
+
+        AtlasPath cloned = second.clone();
+        cloned.appendField("first");
+        assertEquals("/orders<0>/items[3]/name/first", cloned.toString());
+        assertEquals("/orders<0>/items[3]/name", second.toString());
+    }
+
     @Test
     public void testCleanPathSegment() {
         assertEquals("", new SegmentContext("").getName());
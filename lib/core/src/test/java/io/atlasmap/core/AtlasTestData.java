@@ -130,6 +130,10 @@ public class AtlasTestData {
             public AtlasMapping getMapping() {
                 return mappings;
             }
+            @Override
+            public AtlasMapping getMappingDefinition() {
+                return mappings;
+            }
         };
     }
 }
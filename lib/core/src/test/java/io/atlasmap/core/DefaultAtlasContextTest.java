@@ -24,22 +24,31 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import javax.management.openmbean.TabularData;
+
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.api.AtlasConstants;
+import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.spi.AtlasInternalSession.Head;
 import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasModuleOperation;
+import io.atlasmap.spi.AtlasStatisticsListener;
 import io.atlasmap.spi.StringDelimiter;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
@@ -85,6 +94,51 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         assertTrue(session.hasWarns(), printAudit(session));;
     }
 
+    @Test
+    public void testProcessValidationOnce() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        mapping.setVersion("99.2.3-SNAPSHOT");
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        recreateSession();
+        context.process(session);
+        assertTrue(session.hasWarns(), printAudit(session));
+
+        // The validation result is replayed without validating the mapping again
+        recreateSession();
+        context.process(session);
+        assertTrue(session.hasWarns(), printAudit(session));
+        assertEquals("foo", writer.targets.get("/target"));
+        verify(sourceModule, times(1)).processPreValidation(any());
+
+        // The modified mapping definition is validated again
+        mapping.setVersion("1.2.3-SNAPSHOT");
+        recreateSession();
+        context.process(session);
+        assertFalse(session.hasWarns(), printAudit(session));
+        verify(sourceModule, times(2)).processPreValidation(any());
+
+        m.getOutputField().get(0).setPath("/modified");
+        recreateSession();
+        context.process(session);
+        assertEquals("foo", writer.targets.get("/modified"));
+        verify(sourceModule, times(3)).processPreValidation(any());
+        recreateSession();
+        context.process(session);
+        verify(sourceModule, times(3)).processPreValidation(any());
+
+        Map<String, String> properties = DefaultAtlasContextFactory.getInstance().getProperties();
+        properties.put(DefaultAtlasContextFactory.PROPERTY_ATLASMAP_VALIDATE_EVERY_PROCESS, "true");
+        try {
+            recreateSession();
+            context.process(session);
+            assertFalse(session.hasWarns(), printAudit(session));
+        } finally {
+            properties.remove(DefaultAtlasContextFactory.PROPERTY_ATLASMAP_VALIDATE_EVERY_PROCESS);
+        }
+    }
+
     @Test
     public void testMap() throws AtlasException {
         Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
@@ -98,6 +152,188 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         assertEquals("foo", writer.targets.get("/target"));
     }
 
+    @Test
+    public void testSessionMappingCopy() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        recreateSession();
+        DefaultAtlasSession copied = session;
+        Mapping copy = (Mapping) copied.getMapping().getMappings().getMapping().get(0);
+        copy.getOutputField().get(0).setPath("/copy");
+        context.process(copied);
+        assertFalse(copied.hasErrors(), printAudit(copied));
+        assertEquals("foo", writer.targets.get("/copy"));
+        assertEquals("/target", m.getOutputField().get(0).getPath());
+
+        writer.targets.clear();
+        recreateSession();
+        context.process(session);
+        assertEquals("foo", writer.targets.get("/target"));
+        assertNull(writer.targets.get("/copy"));
+
+        // the definition entry modified in place is compiled again
+        writer.targets.clear();
+        m.getOutputField().get(0).setPath("/modified");
+        recreateSession();
+        context.process(session);
+        assertEquals("foo", writer.targets.get("/modified"));
+    }
+
+    @Test
+    public void testAliasDocumentId() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        ConstantField constant = new ConstantField();
+        constant.setDocId("DOC.Constants.1");
+        constant.setPath("/constant");
+        constant.setFieldType(FieldType.STRING);
+        constant.setValue("bar");
+        m.getInputField().add(constant);
+        prepareTargetField(m, "/target");
+        recreateSession();
+        context.process(session);
+        assertEquals(context.getSourceModules().get(AtlasConstants.CONSTANTS_DOCUMENT_ID),
+                session.resolveModule("DOC.Constants.1"));
+        assertFalse(context.getSourceModules().containsKey("DOC.Constants.1"));
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        List<String> processed = new ArrayList<>();
+        AtlasStatisticsListener listener = new AtlasStatisticsListener() {
+            @Override
+            public void onMappingProcessed(AtlasContext ctx, String mappingName, long durationNanos, boolean success) {
+                processed.add(mappingName + ":" + success);
+            }
+        };
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        m.setAlias("foo-to-target");
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        recreateSession();
+        context.process(session);
+        assertFalse(sourceModule.isStatisticsEnabled());
+        assertEquals(0L, sourceModule.getSourceCount());
+        assertTrue(context.getMappingStatistics().isEmpty());
+
+        context.setStatisticsEnabled(true);
+        DefaultAtlasContextFactory.getInstance().addStatisticsListener(listener);
+        try {
+            recreateSession();
+            context.process(session);
+            assertFalse(session.hasErrors(), printAudit(session));
+        } finally {
+            DefaultAtlasContextFactory.getInstance().removeStatisticsListener(listener);
+        }
+        assertEquals(1L, sourceModule.getSourceCount());
+        assertEquals(1L, sourceModule.getSourceSuccessCount());
+        assertEquals(2L, targetModule.getTargetCount());
+        assertEquals(1L, targetModule.getStatistics().get(AtlasModuleOperation.PRE_EXECUTION).getCount());
+        assertTrue(targetModule.getTargetMaxExecutionTime() >= targetModule.getTargetMinExecutionTime());
+        assertEquals(1L, context.getMappingStatistics().get("foo-to-target").getCount());
+        assertEquals(1, processed.size());
+        assertEquals("foo-to-target:true", processed.get(0));
+
+        assertNotNull(sourceModule.readAndResetStatistics());
+        assertEquals(0L, sourceModule.getSourceCount());
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(context.getJmxObjectName()));
+        context.setStatisticsEnabled(false);
+        assertNull(sourceModule.getStatistics());
+        assertTrue(context.getMappingStatistics().isEmpty());
+        // still registered so that the statistics could be enabled again through the MXBean
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(context.getJmxObjectName()));
+        context.unregisterFromJmx();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(context.getJmxObjectName()));
+    }
+
+    @Test
+    public void testMappingStatisticsKeys() throws Exception {
+        for (String alias : Arrays.asList("dup", "unique", "dup")) {
+            Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+            m.setAlias(alias);
+            mapping.getMappings().getMapping().add(m);
+            populateSourceField(m, FieldType.STRING, "foo");
+            prepareTargetField(m, "/target-" + mapping.getMappings().getMapping().size());
+        }
+        context.setStatisticsEnabled(true);
+        try {
+            for (int i = 0; i < 2; i++) {
+                recreateSession();
+                context.process(session);
+                assertFalse(session.hasErrors(), printAudit(session));
+            }
+            Map<String, ExecutionStatistics> stats = context.getMappingStatistics();
+            assertEquals(Arrays.asList("dup#0", "unique", "dup#2"), new ArrayList<>(stats.keySet()));
+            assertEquals(2L, stats.get("dup#0").getCount());
+            assertEquals(2L, stats.get("dup#2").getCount());
+        } finally {
+            context.setStatisticsEnabled(false);
+            context.unregisterFromJmx();
+        }
+    }
+
+    @Test
+    public void testContextStatistics() throws Exception {
+        List<Integer> sessionErrors = new ArrayList<>();
+        AtlasStatisticsListener listener = new AtlasStatisticsListener() {
+            @Override
+            public void onSessionProcessed(AtlasContext ctx, long durationNanos, int errorAuditCount,
+                    int warnAuditCount) {
+                sessionErrors.add(errorAuditCount);
+            }
+        };
+        Mapping fast = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        fast.setAlias("fast");
+        mapping.getMappings().getMapping().add(fast);
+        populateSourceField(fast, FieldType.STRING, "foo");
+        prepareTargetField(fast, "/target");
+        Mapping broken = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        broken.setAlias("broken");
+        mapping.getMappings().getMapping().add(broken);
+        populateSourceField(broken, "docId.not.existing", FieldType.STRING, "bar");
+        prepareTargetField(broken, "/target2");
+
+        context.setStatisticsEnabled(true);
+        DefaultAtlasContextFactory.getInstance().addStatisticsListener(listener);
+        try {
+            for (int i = 0; i < 3; i++) {
+                recreateSession();
+                context.process(session);
+                assertTrue(session.hasErrors(), printAudit(session));
+            }
+        } finally {
+            DefaultAtlasContextFactory.getInstance().removeStatisticsListener(listener);
+        }
+        assertEquals(3L, context.getProcessCount());
+        assertEquals(3L, context.getProcessErrorCount());
+        assertEquals(3L, context.getErrorAuditCount());
+        assertEquals(Arrays.asList(1, 1, 1), sessionErrors);
+        assertTrue(context.getProcessMaxExecutionTime() >= context.getProcessP50ExecutionTime());
+        assertTrue(context.getProcessTotalExecutionTime() >= context.getValidationTotalTime()
+                + context.getSourceReadTotalTime() + context.getTargetWriteTotalTime());
+        assertTrue(context.getSourceReadTotalTime() > 0L);
+        assertTrue(context.getTargetWriteTotalTime() > 0L);
+
+        context.setSlowestMappingsLimit(1);
+        TabularData slowest = context.getSlowestMappings();
+        assertEquals(1, slowest.size());
+        context.setSlowestMappingsLimit(10);
+        slowest = context.getSlowestMappings();
+        assertEquals(2, slowest.size());
+        assertEquals(3L, slowest.get(new Object[] {"broken"}).get("errorCount"));
+        assertEquals(0L, slowest.get(new Object[] {"fast"}).get("errorCount"));
+
+        context.resetStatistics();
+        assertEquals(0L, context.getProcessCount());
+        context.setStatisticsEnabled(false);
+        recreateSession();
+        context.process(session);
+        assertEquals(0L, context.getProcessCount());
+    }
+
     @Test
     public void testMapNotExistingDocId() throws AtlasException {
         Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
@@ -238,6 +474,47 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         assertEquals("bar", writer.targets.get("/target"));
     }
 
+    @Test
+    public void testIndexedLookupTable() throws Exception {
+        LookupTable table = new LookupTable();
+        table.setName("table");
+        for (int i = 0; i < 1000; i++) {
+            LookupEntry e = new LookupEntry();
+            e.setSourceValue("foo" + i);
+            e.setTargetValue(Integer.toString(i));
+            e.setTargetType(FieldType.INTEGER);
+            table.getLookupEntry().add(e);
+        }
+        LookupEntry dup = new LookupEntry();
+        dup.setSourceValue("foo500");
+        dup.setTargetValue("-1");
+        dup.setTargetType(FieldType.INTEGER);
+        table.getLookupEntry().add(dup);
+        IndexedLookupTable indexed = IndexedLookupTable.index(table, DefaultAtlasConversionService.getInstance());
+        assertEquals(1000, indexed.size());
+        assertEquals(1001, indexed.getLookupEntry().size());
+        assertEquals(500, indexed.lookup("foo500").getTypedValue());
+        assertNull(indexed.lookup("bar"));
+        assertNull(indexed.lookup(500));
+        table.getLookupEntry().remove(0);
+        assertEquals(1001, indexed.getLookupEntry().size());
+        assertEquals(0, indexed.lookup("foo0").getTypedValue());
+        assertNull(IndexedLookupTable.lookup(table, "foo0", DefaultAtlasConversionService.getInstance()));
+        assertEquals(500, IndexedLookupTable.lookup(table, "foo500", DefaultAtlasConversionService.getInstance()).getTypedValue());
+        assertNull(IndexedLookupTable.lookup(table, 500, DefaultAtlasConversionService.getInstance()));
+
+        context.getLookupTables().put(table.getName(), indexed);
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.LOOKUP);
+        mapping.getMappings().getMapping().add(m);
+        m.setLookupTableName("table");
+        populateSourceField(m, FieldType.STRING, "foo500");
+        prepareTargetField(m, "/target");
+        recreateSession();
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("500", writer.targets.get("/target"));
+    }
+
     @Test
     public void testDefaultAtlasContext() throws AtlasException {
         File file = Paths.get(
@@ -389,6 +666,7 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         when(session.getValidations()).thenReturn(validations);
         AtlasMapping mapping = mock(AtlasMapping.class);
         when(session.getMapping()).thenReturn(mapping);
+        when(session.getMappingDefinition()).thenReturn(mapping);
 
         when(session.hasErrors()).thenReturn(true);
         context.process(session);
@@ -361,6 +361,25 @@ public class DefaultAtlasConversionServiceTest {
         assertEquals("foo", targetValue);
     }
 
+    @Test
+    public void testConvertTypeConverterException() throws Exception {
+        assertEquals(123, service.convertType("123", null, Integer.class, null));
+        AtlasConversionException e = assertThrows(AtlasConversionException.class,
+            () -> service.convertType("foo", null, Integer.class, null));
+        assertEquals("Invoking type convertor failed", e.getMessage());
+        assertTrue(AtlasUtil.getChainedMessage(e).contains("foo"), AtlasUtil.getChainedMessage(e));
+    }
+
+    @Test
+    public void testIsConvertionAvailableForCached() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(service.isConvertionAvailableFor("1", Integer.class));
+            assertTrue(service.isConvertionAvailableFor("1", int.class));
+            assertFalse(service.isConvertionAvailableFor(new ArrayList<>(), Integer.class));
+            assertEquals(1L, service.convertType(1, null, long.class, null));
+        }
+    }
+
     @Test
     public void testListPrimitiveClassNames() {
         assertNotNull(DefaultAtlasConversionService.listPrimitiveClassNames());
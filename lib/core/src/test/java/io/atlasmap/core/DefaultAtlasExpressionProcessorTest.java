@@ -17,15 +17,19 @@ package io.atlasmap.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 
@@ -42,6 +46,55 @@ public class DefaultAtlasExpressionProcessorTest extends BaseDefaultAtlasContext
         assertEquals("foo", session.head().getSourceField().getValue());
     }
 
+    @Test
+    public void testPrecompiledMappingExpression() throws Exception {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, FieldType.STRING, "FOO");
+        prepareTargetField(m, "/target");
+        String expression = String.format("lowercase(${%s:/testPathFOO})",
+            AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID);
+        m.setExpression(expression);
+        context.getMappingPlan().compile(mapping);
+        assertNotNull(context.getMappingPlan().getExpression(expression));
+        assertNull(context.getMappingPlan().getExpression("not in the plan"));
+        recreateSession();
+        context.process(session);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foo", writer.targets.get("/target"));
+    }
+
+    @Test
+    public void testVariableSlots() throws Exception {
+        Field foo = populateSourceField(null, AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, FieldType.STRING, "foo");
+        Field bar = populateSourceField(null, AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, FieldType.STRING, "bar");
+        String expression = String.format("${%s:/testPathfoo} + ${%s:/testPathbar}",
+            AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID);
+        DefaultAtlasExpressionProcessor.VariableSlots slots = new DefaultAtlasExpressionProcessor.VariableSlots();
+        recreateSession();
+        FieldGroup wrapper = new FieldGroup();
+        wrapper.getField().add(foo);
+        wrapper.getField().add(bar);
+        session.head().setSourceField(wrapper);
+        DefaultAtlasExpressionProcessor.processExpression(session, expression, null, slots);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foobar", session.head().getSourceField().getValue());
+        assertEquals(0, slots.getPosition(0));
+        assertEquals(1, slots.getPosition(1));
+
+        // the remembered positions don't match anymore, they're looked up again
+        recreateSession();
+        wrapper = new FieldGroup();
+        wrapper.getField().add(bar);
+        wrapper.getField().add(foo);
+        session.head().setSourceField(wrapper);
+        DefaultAtlasExpressionProcessor.processExpression(session, expression, null, slots);
+        assertFalse(session.hasErrors(), printAudit(session));
+        assertEquals("foobar", session.head().getSourceField().getValue());
+        assertEquals(1, slots.getPosition(0));
+        assertEquals(0, slots.getPosition(1));
+    }
+
     @Test
     public void testCollection() throws Exception {
         FieldGroup source = populateCollectionSourceField(null, AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, "foo");
@@ -47,6 +47,7 @@ import io.atlasmap.v2.AddDays;
 import io.atlasmap.v2.Capitalize;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Concatenate;
+import io.atlasmap.v2.CustomAction;
 import io.atlasmap.v2.Expression;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
@@ -124,6 +125,33 @@ public class DefaultAtlasFieldActionsServiceTest {
         assertNotNull(actionDetail);
     }
 
+    @Test
+    public void testFindActionProcessorByName() throws Exception {
+        ActionProcessor processor = fieldActionsService.findActionProcessor("trim", " foo ");
+        assertNotNull(processor);
+        assertEquals(Trim.class, processor.getActionClass());
+        assertEquals(processor, fieldActionsService.findActionProcessor("TRIM", null));
+        assertEquals(processor, fieldActionsService.findActionProcessor(new Trim(), FieldType.STRING));
+        assertNull(fieldActionsService.findActionProcessor("notExistingAction", "foo"));
+    }
+
+    @Test
+    public void testFindCustomActionProcessor() throws Exception {
+        CustomAction action = new CustomAction();
+        action.setName("Trim");
+        action.setClassName(Trim.class.getName());
+        action.setMethodName("trim");
+        ActionProcessor processor = fieldActionsService.findActionProcessor(action, FieldType.STRING);
+        assertNotNull(processor);
+        assertEquals("trim", processor.getActionDetail().getMethod());
+
+        action.setMethodName("notExistingMethod");
+        assertNull(fieldActionsService.findActionProcessor(action, FieldType.STRING));
+
+        action.setClassName(null);
+        assertThrows(AtlasException.class, () -> fieldActionsService.findActionProcessor(action, FieldType.STRING));
+    }
+
     @Test
     public void testProcessActionsActionsFieldAtlasConversionException() throws AtlasException {
         SimpleField field = new SimpleField();
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ExecutionStatisticsTest {
+
+    @Test
+    public void testBucketIndex() {
+        for (long value : new long[] {0L, 1L, 7L, 8L, 15L, 16L, 17L, 1000L, 123456789L, 1L << 40}) {
+            int index = ExecutionStatistics.bucketIndex(value);
+            long highest = ExecutionStatistics.highestEquivalentValue(index);
+            assertTrue(highest >= value, value + " > " + highest);
+            assertTrue(highest - value <= value / 8, value + " is too far from " + highest);
+        }
+    }
+
+    @Test
+    public void testRecord() {
+        ExecutionStatistics stats = new ExecutionStatistics();
+        for (long i = 1; i <= 100; i++) {
+            stats.record(i * 1000L, i != 100);
+        }
+        assertEquals(100L, stats.getCount());
+        assertEquals(1L, stats.getErrorCount());
+        assertEquals(99L, stats.getSuccessCount());
+        assertEquals(1000L, stats.getMinTime());
+        assertEquals(100000L, stats.getMaxTime());
+        assertEquals(5050000L, stats.getTotalTime());
+        assertEquals(50500L, stats.getMeanTime());
+        long p50 = stats.getPercentile(50);
+        assertTrue(p50 >= 50000L && p50 <= 50000L * 9 / 8, "p50=" + p50);
+        long p99 = stats.getPercentile(99);
+        assertTrue(p99 >= 99000L && p99 <= 100000L, "p99=" + p99);
+        assertEquals(100000L, stats.getPercentile(100));
+
+        stats.reset();
+        assertEquals(0L, stats.getCount());
+        assertEquals(0L, stats.getMinTime());
+        assertEquals(0L, stats.getPercentile(99));
+    }
+
+}
@@ -17,7 +17,7 @@ package io.atlasmap.expression;
 
 import java.io.StringReader;
 
-import io.atlasmap.expression.internal.LRUCache;
+import io.atlasmap.expression.internal.ExpressionCache;
 import io.atlasmap.expression.parser.ParseException;
 import io.atlasmap.expression.parser.Parser;
 import io.atlasmap.v2.Field;
@@ -32,7 +32,17 @@ import io.atlasmap.v2.Field;
  */
 public interface Expression {
 
-    LRUCache<String, Object> CACHE = new LRUCache<>(100);
+    /**
+     * The cache of the parsed expressions, shared by all the {@link FunctionResolver}s.
+     */
+    ExpressionCache CACHE = new ExpressionCache();
+
+    /**
+     * The {@link FunctionResolver} used when none is specified, which doesn't resolve any function.
+     */
+    FunctionResolver NO_FUNCTION_RESOLVER = (name, args) -> {
+        throw new ParseException("Function not found: " + name);
+    };
 
     /**
      * Execute the expression against the given context.
@@ -45,29 +55,24 @@ public interface Expression {
 
     static Expression parse(String expessionText, FunctionResolver functionResolver) throws ExpressionException {
         if (functionResolver == null) {
-            functionResolver = (name, args) -> {
-                throw new ParseException("Function not found: " + name);
-            };
+            functionResolver = NO_FUNCTION_RESOLVER;
         }
-        Object result = CACHE.get(expessionText);
-        if (result instanceof ExpressionException) {
-            throw (ExpressionException) result;
-        } else if (result instanceof Expression) {
-            return (Expression) result;
-        } else {
+        Object result = CACHE.get(expessionText, functionResolver);
+        if (result == null) {
             String actual = expessionText;
             try {
                 Parser parser = new Parser(new StringReader(actual));
                 parser.functionResolver = functionResolver;
-                Expression e = parser.parse();
-                CACHE.put(expessionText, e);
-                return e;
+                result = parser.parse();
             } catch (Throwable e) {
-                ExpressionException fe = new ExpressionException(actual, e);
-                CACHE.put(expessionText, fe);
-                throw fe;
+                result = new ExpressionException(actual, e);
             }
+            result = CACHE.put(expessionText, functionResolver, result);
+        }
+        if (result instanceof ExpressionException) {
+            throw (ExpressionException) result;
         }
+        return (Expression) result;
     }
 
     static void clearCache() {
@@ -34,5 +34,20 @@ public interface ExpressionContext {
      */
     Field getVariable(String name) throws ExpressionException;
 
+    /**
+     * Extracts the variable by the slot assigned when the expression is parsed. Each distinct
+     * variable name in a parsed expression has its own slot, numbered from 0 in the order the names
+     * first appear, so that the context could remember where the variable is and skip the lookup
+     * by name in the next evaluation.
+     *
+     * @param slot slot of the variable
+     * @param name variable name
+     * @return {@link Field} represents variable value
+     * @throws ExpressionException If variable cannot be retrieved
+     */
+    default Field getVariable(int slot, String name) throws ExpressionException {
+        return getVariable(name);
+    }
+
 }
 
@@ -38,8 +38,7 @@ public class ConstantExpression implements Expression {
         }
 
         public boolean matches(ExpressionContext message) throws ExpressionException {
-            Object object = evaluate(message);
-            return object != null && object == Boolean.TRUE;
+            return getValue() == Boolean.TRUE;
         }
     }
 
@@ -102,6 +101,49 @@ public class ConstantExpression implements Expression {
         return wrapWithField(value);
     }
 
+    /**
+     * Folds the expression into a constant if all of its operands are constant, so that it's computed
+     * once when it's parsed rather than every time it's evaluated. The expression is returned as is
+     * if it fails to evaluate, or the result is neither a boolean, a number nor a string.
+     *
+     * @param expression expression
+     * @return folded constant, or the expression as is
+     */
+    public static Expression fold(Expression expression) {
+        if (expression instanceof ConstantExpression || !isConstant(expression)) {
+            return expression;
+        }
+        Object result;
+        try {
+            Field field = expression.evaluate(null);
+            result = field != null ? field.getValue() : null;
+        } catch (Exception e) {
+            // leave it to be reported when it's evaluated
+            return expression;
+        }
+        if (result instanceof Boolean) {
+            return (Boolean) result ? TRUE : FALSE;
+        }
+        if (result instanceof Number || result instanceof String) {
+            return new ConstantExpression(result);
+        }
+        return expression;
+    }
+
+    private static boolean isConstant(Expression expression) {
+        if (expression instanceof ConstantExpression) {
+            return true;
+        }
+        if (expression instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) expression;
+            return isConstant(binary.getLeft()) && isConstant(binary.getRight());
+        }
+        if (expression instanceof UnaryExpression) {
+            return isConstant(((UnaryExpression) expression).getRight());
+        }
+        return false;
+    }
+
     public Object getValue() {
         return value;
     }
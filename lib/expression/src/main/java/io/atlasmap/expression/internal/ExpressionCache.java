@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.expression.internal;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.atlasmap.expression.FunctionResolver;
+
+/**
+ * A thread safe and bounded cache of the parsed expressions. The entry is keyed by the expression text
+ * and the {@link FunctionResolver} instance used to parse it, since the same text could be parsed into
+ * a different expression with a different resolver. The cached value is either the parsed expression or
+ * the exception thrown while parsing it.
+ * <p>
+ * The lookup is lock free. Once the cache exceeds its maximum size, the oldest entries are evicted in
+ * the order they were added, which is good enough for a cache of the expressions in the mapping
+ * definitions as they're compiled once and stay in use.
+ * </p>
+ */
+public class ExpressionCache {
+    public static final String MAX_SIZE_PROPERTY = "atlasmap.expression.cache.size";
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final ConcurrentHashMap<Key, Object> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+
+    /**
+     * Creates a cache, the maximum size is taken from the system property {@value #MAX_SIZE_PROPERTY}
+     * if it's specified, otherwise {@value #DEFAULT_MAX_SIZE}.
+     */
+    public ExpressionCache() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    }
+
+    public ExpressionCache(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Gets the cached value.
+     *
+     * @param expression expression text
+     * @param resolver function resolver
+     * @return cached value, or {@code null} if it's not cached
+     */
+    public Object get(String expression, FunctionResolver resolver) {
+        Object answer = entries.get(new Key(expression, resolver));
+        if (answer != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return answer;
+    }
+
+    /**
+     * Puts the value into the cache. If there is already a value cached for the same key,
+     * the existing value is kept and returned.
+     *
+     * @param expression expression text
+     * @param resolver function resolver
+     * @param value parsed expression or an exception
+     * @return the value in the cache
+     */
+    public Object put(String expression, FunctionResolver resolver, Object value) {
+        Key key = new Key(expression, resolver);
+        Object existing = entries.putIfAbsent(key, value);
+        if (existing != null) {
+            return existing;
+        }
+        insertionOrder.add(key);
+        while (entries.size() > maxSize) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the expression cache must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Key {
+        private final String expression;
+        private final FunctionResolver resolver;
+        private final int hash;
+
+        private Key(String expression, FunctionResolver resolver) {
+            this.expression = expression;
+            this.resolver = resolver;
+            this.hash = 31 * Objects.hashCode(expression) + System.identityHashCode(resolver);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return resolver == other.resolver && Objects.equals(expression, other.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
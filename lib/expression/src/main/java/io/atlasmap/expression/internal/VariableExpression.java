@@ -29,19 +29,35 @@ import io.atlasmap.v2.Field;
 public class VariableExpression implements Expression {
 
     private final String name;
+    private final int slot;
 
     public VariableExpression(String name) {
+        this(name, -1);
+    }
+
+    /**
+     * Constructor.
+     * @param name variable name
+     * @param slot index of the variable among the distinct variables of the parsed expression,
+     * or {@code -1} if it's not assigned
+     */
+    public VariableExpression(String name, int slot) {
         this.name = name;
+        this.slot = slot;
     }
 
     public Field evaluate(ExpressionContext expressionContext) throws ExpressionException {
-        return expressionContext.getVariable(name);
+        return slot < 0 ? expressionContext.getVariable(name) : expressionContext.getVariable(slot, name);
     }
 
     public String getName() {
         return name;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,10 @@ package io.atlasmap.expression;
 
 import static io.atlasmap.v2.AtlasModelFactory.wrapWithField;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -24,8 +28,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.HashMap;
 
+import io.atlasmap.expression.internal.ArithmeticExpression;
 import io.atlasmap.expression.internal.BooleanExpression;
 import io.atlasmap.expression.internal.ComparisonExpression;
+import io.atlasmap.expression.internal.ConstantExpression;
+import io.atlasmap.expression.internal.ExpressionCache;
 import io.atlasmap.expression.parser.ParseException;
 import io.atlasmap.v2.Field;
 import org.junit.jupiter.api.Test;
@@ -182,6 +189,87 @@ public class ExpressionTest {
 
     }
 
+    @Test
+    public void testConstantFolding() throws Exception {
+        Expression expression = Expression.parse("1 + 2 * 3", FUNCTION_RESOLVER);
+        assertTrue(expression instanceof ConstantExpression);
+        assertEquals(7, expression.evaluate(null).getValue());
+        expression = Expression.parse("-(1 + 2) < 0 && !false", FUNCTION_RESOLVER);
+        assertSame(ConstantExpression.TRUE, expression);
+        expression = Expression.parse("'foo' + 1", FUNCTION_RESOLVER);
+        assertEquals("foo1", ((ConstantExpression) expression).getValue());
+
+        // not folded
+        expression = Expression.parse("${x} + (1 + 2)", FUNCTION_RESOLVER);
+        assertTrue(expression instanceof ArithmeticExpression);
+        assertTrue(((ArithmeticExpression) expression).getRight() instanceof ConstantExpression);
+        HashMap<String, Field> vars = new HashMap<>();
+        vars.put("x", wrapWithField(4));
+        assertEquals(7, expression.evaluate(vars::get).getValue());
+        expression = Expression.parse("tolower('ABC')", FUNCTION_RESOLVER);
+        assertFalse(expression instanceof ConstantExpression);
+        expression = Expression.parse("'foo' - 1", FUNCTION_RESOLVER);
+        assertFalse(expression instanceof ConstantExpression);
+    }
+
+    @Test
+    public void testVariableSlots() throws Exception {
+        Expression expression = Expression.parse("${a} + ${b} * ${a}", FUNCTION_RESOLVER);
+        StringBuilder resolved = new StringBuilder();
+        Field answer = expression.evaluate(new ExpressionContext() {
+            @Override
+            public Field getVariable(String name) {
+                throw new IllegalStateException("Resolved without the slot: " + name);
+            }
+
+            @Override
+            public Field getVariable(int slot, String name) {
+                resolved.append(slot).append(name);
+                return wrapWithField("a".equals(name) ? 2 : 3);
+            }
+        });
+        assertEquals(8, answer.getValue());
+        assertEquals("0a1b0a", resolved.toString());
+        // a context which doesn't care about the slot still resolves by name
+        HashMap<String, Field> vars = new HashMap<>();
+        vars.put("a", wrapWithField(2));
+        vars.put("b", wrapWithField(3));
+        assertEquals(8, expression.evaluate(vars::get).getValue());
+    }
+
+    @Test
+    public void testBooleanConstantMatches() throws Exception {
+        assertTrue(((BooleanExpression) ConstantExpression.TRUE).matches(null));
+        assertFalse(((BooleanExpression) ConstantExpression.FALSE).matches(null));
+        assertFalse(((BooleanExpression) ConstantExpression.NULL).matches(null));
+    }
+
+    @Test
+    public void testCacheKeyedByFunctionResolver() throws Exception {
+        String text = "toLower('ABC')";
+        Expression expression = Expression.parse(text, FUNCTION_RESOLVER);
+        assertSame(expression, Expression.parse(text, FUNCTION_RESOLVER));
+        // the same text is not resolved with a resolver which doesn't know the function
+        assertThrows(ExpressionException.class, () -> Expression.parse(text, null));
+        assertSame(expression, Expression.parse(text, FUNCTION_RESOLVER));
+    }
+
+    @Test
+    public void testCacheBounded() throws Exception {
+        ExpressionCache cache = new ExpressionCache(2);
+        Expression e = ctx -> wrapWithField(null);
+        cache.put("a", FUNCTION_RESOLVER, e);
+        cache.put("b", FUNCTION_RESOLVER, e);
+        assertSame(e, cache.get("a", FUNCTION_RESOLVER));
+        assertNull(cache.get("a", null));
+        cache.put("c", FUNCTION_RESOLVER, e);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a", FUNCTION_RESOLVER));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
     @Test
     public void testBooleanSelector() throws Exception {
         MockMessage message = createMessage();
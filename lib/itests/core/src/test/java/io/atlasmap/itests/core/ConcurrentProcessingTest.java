@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasContextFactory;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.ADMArchiveHandler;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.Json;
+import io.atlasmap.v2.Mapping;
+
+public class ConcurrentProcessingTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 50;
+
+    private ObjectMapper mapper = Json.mapper();
+
+    @Test
+    public void testNestedCollection() throws Exception {
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("mappings/atlasmapping-nested-collection-json.json");
+        ADMArchiveHandler admHandler = new ADMArchiveHandler(Thread.currentThread().getContextClassLoader());
+        admHandler.load(AtlasContextFactory.Format.JSON, in);
+        AtlasMapping mapping = admHandler.getMappingDefinition();
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed");
+        mapping.getMappings().getMapping().removeIf(m -> !ids.contains(((Mapping) m).getId()));
+        AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
+        String source = new String(Files.readAllBytes(Paths.get(
+            Thread.currentThread().getContextClassLoader().getResource("mappings/document-nested-collection.json").toURI())));
+        assertConcurrentProcessing(context, "JSONInstanceNestedCollection", source, "JSONInstanceNestedCollection");
+    }
+
+    @Test
+    public void testExpression() throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource("mappings/atlasmapping-multiplicity-transformation-action_repeat.json");
+        AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(url.toURI());
+        String source = new String(Files.readAllBytes(Paths.get(
+            Thread.currentThread().getContextClassLoader().getResource("data/json-source-repeat_count_3.json").toURI())));
+        assertConcurrentProcessing(context, "json-source-repeat", source, "json-target");
+    }
+
+    private void assertConcurrentProcessing(AtlasContext context, String sourceDocId, String source,
+            String targetDocId) throws Exception {
+        // initialize the context to load the mapping definition
+        context.createSession();
+        AtlasMapping definition = ((DefaultAtlasContext) context).getMapping();
+        String definitionBefore = mapper.writeValueAsString(definition);
+        String expected = process(context, sourceDocId, source, targetDocId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit((Callable<List<String>>) () -> {
+                    start.await();
+                    List<String> outputs = new ArrayList<>();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        outputs.add(process(context, sourceDocId, source, targetDocId));
+                    }
+                    return outputs;
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> future : futures) {
+                for (String output : future.get(2, TimeUnit.MINUTES)) {
+                    assertEquals(expected, output);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(definitionBefore, mapper.writeValueAsString(definition), "Mapping definition was modified");
+    }
+
+    private String process(AtlasContext context, String sourceDocId, String source, String targetDocId) throws Exception {
+        AtlasSession session = context.createSession();
+        session.setSourceDocument(sourceDocId, source);
+        context.process(session);
+        assertFalse(session.hasErrors(), TestHelper.printAudit(session));
+        return (String) session.getTargetDocument(targetDocId);
+    }
+
+}
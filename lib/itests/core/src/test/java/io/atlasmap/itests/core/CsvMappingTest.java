@@ -19,6 +19,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,6 +32,7 @@ import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.core.ADMArchiveHandler;
 import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.csv.module.CsvStreamingProcessor;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.Mapping;
@@ -49,6 +53,32 @@ public class CsvMappingTest {
         assertEquals("first,last\r\nBob,Johnson\r\nAndrew,Smith\r\n", csv);
     }
 
+    @Test
+    public void testStreamAllFields() throws Exception {
+        AtlasContext context = createContext(MAPPINGS_JSON, "1", "2");
+        CsvStreamingProcessor processor = new CsvStreamingProcessor(context, "source");
+        StringWriter sink = new StringWriter();
+        long count = processor.process(new StringReader("first_name,last_name\r\nBob,Johnson\r\nAndrew,Smith\r\n"),
+            "target-csv", sink);
+
+        assertEquals(2, count);
+        assertEquals("first,last\r\nBob,Johnson\r\nAndrew,Smith\r\n", sink.toString());
+    }
+
+    @Test
+    public void testStreamToJsonLines() throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource("mappings/atlasmapping-csv-to-json.json");
+        AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(url.toURI());
+        CsvStreamingProcessor processor = new CsvStreamingProcessor(context, "source");
+        StringWriter sink = new StringWriter();
+        long count = processor.process(new StringReader("first_name,last_name\r\nBob,Johnson\r\nAndrew,Smith\r\n"),
+            "target-json", sink);
+
+        assertEquals(2, count);
+        assertEquals("{\"first\":\"Bob\",\"last\":\"Johnson\"}\n{\"first\":\"Andrew\",\"last\":\"Smith\"}\n",
+            sink.toString());
+    }
+
     @Test
     public void testMapOneOfTwoFields() throws Exception {
         AtlasContext context = createContext(MAPPINGS_JSON, "3");
@@ -18,6 +18,7 @@ package io.atlasmap.itests.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.io.ByteArrayInputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -35,11 +36,33 @@ public class JsonBigIntegerTest {
 
     @Test
     public void test() throws Exception {
+        assertBigInteger(new String(readSource()));
+    }
+
+    @Test
+    public void testByteArraySource() throws Exception {
+        assertBigInteger(readSource());
+    }
+
+    @Test
+    public void testInputStreamSource() throws Exception {
+        assertBigInteger(new ByteArrayInputStream(readSource()));
+    }
+
+    @Test
+    public void testJsonNodeSource() throws Exception {
+        assertBigInteger(new ObjectMapper().readTree(readSource()));
+    }
+
+    private byte[] readSource() throws Exception {
+        return Files.readAllBytes(Paths.get(
+                Thread.currentThread().getContextClassLoader().getResource("data/json-source-biginteger.json").toURI()));
+    }
+
+    private void assertBigInteger(Object sourceJson) throws Exception {
         URL url = Thread.currentThread().getContextClassLoader().getResource("mappings/atlasmapping-json-biginteger.json");
         AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(url.toURI());
         AtlasSession session = context.createSession();
-        String sourceJson = new String(Files.readAllBytes(Paths.get(
-                Thread.currentThread().getContextClassLoader().getResource("data/json-source-biginteger.json").toURI())));
         session.setSourceDocument("json-source", sourceJson);
 
         context.process(session);
@@ -21,15 +21,20 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +48,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
@@ -51,6 +57,11 @@ import io.atlasmap.core.ADMArchiveHandler;
 import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.Mapping;
 
 public class NestedCollectionJsonTest {
@@ -247,23 +258,102 @@ public class NestedCollectionJsonTest {
     }
 
     private JsonNode processJsonNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings) throws AtlasException, IOException, URISyntaxException {
+        return processJsonNestedCollection(mappingsToProcess, assertNoWarnings, false);
+    }
+
+    private JsonNode processJsonNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming)
+            throws AtlasException, IOException, URISyntaxException {
+        return processJsonNestedCollection(mappingsToProcess, assertNoWarnings, streaming, s -> s, false, false);
+    }
+
+    private JsonNode processJsonNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming,
+            Function<String, Object> sourceForm, boolean toOutputStream) throws AtlasException, IOException, URISyntaxException {
+        return processJsonNestedCollection(mappingsToProcess, assertNoWarnings, streaming, sourceForm, toOutputStream, false);
+    }
+
+    private JsonNode processJsonNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming,
+            Function<String, Object> sourceForm, boolean toOutputStream, boolean defaultSource)
+            throws AtlasException, IOException, URISyntaxException {
         InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("mappings/atlasmapping-nested-collection-json.json");
         ADMArchiveHandler admHandler = new ADMArchiveHandler(Thread.currentThread().getContextClassLoader());
         admHandler.load(AtlasContextFactory.Format.JSON, in);
         AtlasMapping mapping = admHandler.getMappingDefinition();
         mapping.getMappings().getMapping().removeIf(m -> !mappingsToProcess.contains(((Mapping) m).getId()));
+        if (streaming) {
+            for (DataSource ds : mapping.getDataSource()) {
+                if (ds.getDataSourceType() == DataSourceType.SOURCE) {
+                    ds.setUri(ds.getUri() + "?streaming=true");
+                }
+            }
+        }
+        String sourceDocId = "JSONInstanceNestedCollection";
+        if (defaultSource) {
+            // leave the source document ID unspecified
+            sourceDocId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+            for (DataSource ds : mapping.getDataSource()) {
+                if (ds.getDataSourceType() == DataSourceType.SOURCE) {
+                    ds.setId(null);
+                }
+            }
+            for (BaseMapping m : mapping.getMappings().getMapping()) {
+                Mapping entry = (Mapping) m;
+                if (entry.getInputFieldGroup() != null) {
+                    clearDocId(entry.getInputFieldGroup());
+                }
+                entry.getInputField().forEach(f -> clearDocId(f));
+            }
+        }
         AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
         AtlasSession session = context.createSession();
         String source = new String(Files.readAllBytes(Paths.get(
             Thread.currentThread().getContextClassLoader().getResource("mappings/document-nested-collection.json").toURI())));
-        session.setSourceDocument("JSONInstanceNestedCollection", source);
+        session.setSourceDocument(sourceDocId, sourceForm.apply(source));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (toOutputStream) {
+            session.setTargetDocument("JSONInstanceNestedCollection", out);
+        }
         context.process(session);
         assertFalse(session.hasErrors(), TestHelper.printAudit(session));
         if (assertNoWarnings) {
             assertFalse(session.hasWarns(), TestHelper.printAudit(session));
         }
         Object output = session.getTargetDocument("JSONInstanceNestedCollection");
-        return mapper.readTree((String) output);
+        return mapper.readTree(toOutputStream ? new String(out.toByteArray(), StandardCharsets.UTF_8) : (String) output);
+    }
+
+    @Test
+    public void testStreamingReader() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "1-3");
+        JsonNode expected = processJsonNestedCollection(ids, false, false);
+        JsonNode outputJson = processJsonNestedCollection(ids, false, true);
+        assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(outputJson));
+    }
+
+    private void clearDocId(Field field) {
+        field.setDocId(null);
+        if (field instanceof FieldGroup) {
+            ((FieldGroup) field).getField().forEach(f -> clearDocId(f));
+        }
+    }
+
+    @Test
+    public void testStreamingReaderDefaultSource() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "1-3");
+        String expected = mapper.writeValueAsString(processJsonNestedCollection(ids, false, false));
+        assertEquals(expected, mapper.writeValueAsString(processJsonNestedCollection(ids, false, true,
+                s -> s, false, true)));
+    }
+
+    @Test
+    public void testBinarySourceAndOutputStreamTarget() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "1-3");
+        String expected = mapper.writeValueAsString(processJsonNestedCollection(ids, false, false));
+        for (boolean streaming : new boolean[] {false, true}) {
+            assertEquals(expected, mapper.writeValueAsString(processJsonNestedCollection(ids, false, streaming,
+                    s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)), true)));
+            assertEquals(expected, mapper.writeValueAsString(processJsonNestedCollection(ids, false, streaming,
+                    s -> new StringReader(s), true)));
+        }
     }
 
     private ArrayNode assert1stLevelCollection(JsonNode outputJson, String prettyPrinted) {
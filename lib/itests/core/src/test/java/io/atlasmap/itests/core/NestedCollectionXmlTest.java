@@ -18,18 +18,28 @@ package io.atlasmap.itests.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+
+import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
@@ -37,6 +47,11 @@ import io.atlasmap.api.AtlasSession;
 import io.atlasmap.core.ADMArchiveHandler;
 import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.Mapping;
 public class NestedCollectionXmlTest {
 
@@ -288,23 +303,111 @@ public class NestedCollectionXmlTest {
             "</firstArray></root>", output);
     }
 
+    @Test
+    public void testStreamingReader() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "3-1", "1-3");
+        String expected = processXmlNestedCollection(ids, false, false);
+        String output = processXmlNestedCollection(ids, false, true);
+        assertEquals(expected, output);
+    }
+
+    @Test
+    public void testBinarySourceAndOutputStreamTarget() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "3-1", "1-3");
+        String expected = processXmlNestedCollection(ids, false, false);
+        for (boolean streaming : new boolean[] {false, true}) {
+            assertEquals(expected, processXmlNestedCollection(ids, false, streaming,
+                    s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)), true));
+            assertEquals(expected, processXmlNestedCollection(ids, false, streaming, s -> new StringReader(s), true));
+            assertEquals(expected, processXmlNestedCollection(ids, false, streaming, s -> parseDocument(s), true));
+        }
+    }
+
+    @Test
+    public void testStreamingReaderDefaultSource() throws Exception {
+        List<String> ids = Arrays.asList("1-1", "2-2", "3-3", "3-3renamed", "3-1", "1-3");
+        String expected = processXmlNestedCollection(ids, false, false);
+        assertEquals(expected, processXmlNestedCollection(ids, false, true, s -> s, false, true));
+    }
+
+    private void clearDocId(Field field) {
+        field.setDocId(null);
+        if (field instanceof FieldGroup) {
+            ((FieldGroup) field).getField().forEach(f -> clearDocId(f));
+        }
+    }
+
+    private static Document parseDocument(String xml) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     private String processXmlNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings) throws AtlasException, IOException, URISyntaxException {
+        return processXmlNestedCollection(mappingsToProcess, assertNoWarnings, false);
+    }
+
+    private String processXmlNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming)
+            throws AtlasException, IOException, URISyntaxException {
+        return processXmlNestedCollection(mappingsToProcess, assertNoWarnings, streaming, s -> s, false, false);
+    }
+
+    private String processXmlNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming,
+            Function<String, Object> sourceForm, boolean toOutputStream) throws AtlasException, IOException, URISyntaxException {
+        return processXmlNestedCollection(mappingsToProcess, assertNoWarnings, streaming, sourceForm, toOutputStream, false);
+    }
+
+    private String processXmlNestedCollection(List<String> mappingsToProcess, boolean assertNoWarnings, boolean streaming,
+            Function<String, Object> sourceForm, boolean toOutputStream, boolean defaultSource)
+            throws AtlasException, IOException, URISyntaxException {
         InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("mappings/atlasmapping-nested-collection-xml.json");
         ADMArchiveHandler admHandler = new ADMArchiveHandler(Thread.currentThread().getContextClassLoader());
         admHandler.load(AtlasContextFactory.Format.JSON, in);
         AtlasMapping mapping = admHandler.getMappingDefinition();
         mapping.getMappings().getMapping().removeIf(m -> !mappingsToProcess.contains(((Mapping) m).getId()));
+        if (streaming) {
+            for (DataSource ds : mapping.getDataSource()) {
+                if (ds.getDataSourceType() == DataSourceType.SOURCE) {
+                    ds.setUri(ds.getUri() + "&streaming=true");
+                }
+            }
+        }
+        String sourceDocId = "XMLInstanceNestedCollection";
+        if (defaultSource) {
+            // leave the source document ID unspecified
+            sourceDocId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+            for (DataSource ds : mapping.getDataSource()) {
+                if (ds.getDataSourceType() == DataSourceType.SOURCE) {
+                    ds.setId(null);
+                }
+            }
+            for (BaseMapping m : mapping.getMappings().getMapping()) {
+                Mapping entry = (Mapping) m;
+                if (entry.getInputFieldGroup() != null) {
+                    clearDocId(entry.getInputFieldGroup());
+                }
+                entry.getInputField().forEach(f -> clearDocId(f));
+            }
+        }
         AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
         AtlasSession session = context.createSession();
         String source = new String(Files.readAllBytes(Paths.get(
             Thread.currentThread().getContextClassLoader().getResource("mappings/document-nested-collection.xml").toURI())));
-        session.setSourceDocument("XMLInstanceNestedCollection", source);
+        session.setSourceDocument(sourceDocId, sourceForm.apply(source));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (toOutputStream) {
+            session.setTargetDocument("XMLInstanceNestedCollection", out);
+        }
         context.process(session);
         assertFalse(session.hasErrors(), TestHelper.printAudit(session));
         if (assertNoWarnings) {
             assertFalse(session.hasWarns(), TestHelper.printAudit(session));
         }
         Object output = session.getTargetDocument("XMLInstanceNestedCollection");
-        return (String) output;
+        return toOutputStream ? new String(out.toByteArray(), StandardCharsets.UTF_8) : (String) output;
     }
 }
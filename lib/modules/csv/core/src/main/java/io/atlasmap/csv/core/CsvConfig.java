@@ -103,7 +103,12 @@ public class CsvConfig {
         return csvConfig;
     }
 
-    CSVFormat newCsvFormat() {
+    /**
+     * Creates a {@link CSVFormat} from this configuration.
+     *
+     * @return CSV format
+     */
+    public CSVFormat newCsvFormat() {
         CSVFormat csvFormat;
         csvFormat = (format != null) ? CSVFormat.valueOf(format) : CSVFormat.DEFAULT;
         csvFormat = (delimiter != null) ? csvFormat.withDelimiter(delimiter) : csvFormat;
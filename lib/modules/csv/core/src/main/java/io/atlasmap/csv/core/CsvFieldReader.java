@@ -45,13 +45,15 @@ import io.atlasmap.v2.Fields;
 
 /**
  * It accepts InputStream as a document in order to process big files efficiently.
- * It uses the mark operation of the InputStream to reset the stream and read consecutive fields.
- * If InputStream does not support the mark operation it is wrapped in BufferedInputStream.
+ * The document is parsed only once when the first field is read, and then all the field reads
+ * index into the parsed records. {@link #readSchema()} uses the mark operation of the InputStream
+ * to reset the stream. If InputStream does not support the mark operation it is wrapped in BufferedInputStream.
  */
 public class CsvFieldReader implements AtlasFieldReader {
 
     private final CsvConfig csvConfig;
     private InputStream document;
+    private List<CSVRecord> records;
 
     public CsvFieldReader(CsvConfig csvConfig) {
         this.csvConfig = csvConfig;
@@ -63,13 +65,41 @@ public class CsvFieldReader implements AtlasFieldReader {
         } else {
             this.document = inputStream;
         }
+        this.records = null;
+    }
+
+    /**
+     * Sets the already parsed records as a document, i.e. one record at a time in streaming mode.
+     *
+     * @param records records
+     */
+    public void setRecords(List<CSVRecord> records) {
+        this.document = null;
+        this.records = records;
+    }
+
+    /**
+     * Parses the whole document at once. It's invoked on the first field read if not yet parsed.
+     *
+     * @throws AtlasException if it fails to parse
+     */
+    public void parseDocument() throws AtlasException {
+        if (document == null || records != null) {
+            return;
+        }
+        try {
+            CSVParser parser = csvConfig.newCsvFormat().parse(new InputStreamReader(document));
+            records = parser.getRecords();
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
     }
 
     @Override
     public Field read(AtlasInternalSession session) throws AtlasException {
         Field field = session.head().getSourceField();
 
-        if (document == null) {
+        if (document == null && records == null) {
             AtlasUtil.addAudit(session, field,
                 String.format("Cannot read field '%s' of document '%s', document is null",
                     field.getPath(), field.getDocId()),
@@ -113,56 +143,27 @@ public class CsvFieldReader implements AtlasFieldReader {
     }
 
     private Field readFields(CsvField field) throws AtlasException {
+        parseDocument();
         List<Field> fields = new ArrayList<>();
         CsvField csvField = field;
-        CSVFormat csvFormat = csvConfig.newCsvFormat();
-        try {
-            document.mark(Integer.MAX_VALUE);
-
-            CSVParser parser = csvFormat.parse(new InputStreamReader(document));
-
-            AtlasPath atlasPath = new AtlasPath(csvField.getPath());
-            int i = 0;
-            Integer fieldIndex = atlasPath.getRootSegment().getCollectionIndex();
-            if (fieldIndex != null) {
-                for (CSVRecord record: parser) {
-                    if (i == fieldIndex) {
-                        CsvField newField = CsvField.cloneOf(csvField);
-                        newField.setIndex(null); //do not copy over index if set
-                        String value;
-                        if (csvField.getColumn() != null) {
-                            value = record.get(csvField.getColumn());
-                        } else {
-                            value = record.get(csvField.getName());
-                        }
-                        newField.setValue(value);
-                        fields.add(newField);
-                        break;
-                    }
-                    i++;
-                }
-            } else {
-                for (CSVRecord record: parser) {
-                    CsvField collectionField = CsvField.cloneOf(csvField);
-                    collectionField.setIndex(null); //do not copy over index if set
-                    String value;
-                    if (csvField.getColumn() != null) {
-                        value = record.get(csvField.getColumn());
-                    } else {
-                        value = record.get(csvField.getName());
-                    }
-                    collectionField.setValue(value);
-                    AtlasPath collectionFieldPath = new AtlasPath(collectionField.getPath());
-                    collectionFieldPath.setCollectionIndex(0, i);
-                    collectionField.setPath(collectionFieldPath.toString());
-                    fields.add(collectionField);
-                    i++;
-                }
+        AtlasPath atlasPath = new AtlasPath(csvField.getPath());
+        Integer fieldIndex = atlasPath.getRootSegment().getCollectionIndex();
+        if (fieldIndex != null) {
+            if (fieldIndex < records.size()) {
+                CsvField newField = CsvField.cloneOf(csvField);
+                newField.setIndex(null); //do not copy over index if set
+                newField.setValue(getValue(records.get(fieldIndex), csvField));
+                fields.add(newField);
+            }
+        } else {
+            for (int i = 0; i < records.size(); i++) {
+                CsvField collectionField = CsvField.cloneOf(csvField);
+                collectionField.setIndex(null); //do not copy over index if set
+                collectionField.setValue(getValue(records.get(i), csvField));
+                atlasPath.setCollectionIndex(0, i);
+                collectionField.setPath(atlasPath.toString());
+                fields.add(collectionField);
             }
-
-            document.reset();
-        } catch (IOException e) {
-            throw new AtlasException(e);
         }
 
         if (fields.size() == 1) {
@@ -175,6 +176,13 @@ public class CsvFieldReader implements AtlasFieldReader {
 
     }
 
+    private String getValue(CSVRecord record, CsvField csvField) {
+        if (csvField.getColumn() != null) {
+            return record.get(csvField.getColumn());
+        }
+        return record.get(csvField.getName());
+    }
+
     /**
      * Reads only the first row of the document.
      *
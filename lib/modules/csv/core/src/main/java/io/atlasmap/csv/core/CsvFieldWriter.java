@@ -83,14 +83,6 @@ public class CsvFieldWriter implements AtlasFieldWriter {
     public String toCsv() throws AtlasException {
         CSVFormat csvFormat = csvConfig.newCsvFormat();
 
-        String[] headers = csvConfig.getParsedHeaders();
-        boolean ignoreHeaderCase = Boolean.TRUE.equals(csvConfig.getIgnoreHeaderCase());
-        if (headers != null && ignoreHeaderCase) {
-            for (int j = 0; j < headers.length; j++) {
-                headers[j] = headers[j].toLowerCase();
-            }
-        }
-
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         try {
             OutputStreamWriter writer = new OutputStreamWriter(out, "UTF-8");
@@ -102,76 +94,113 @@ public class CsvFieldWriter implements AtlasFieldWriter {
                 return "";
             }
 
-            if (!Boolean.TRUE.equals(csvConfig.getSkipHeaderRecord())) {
-                if (csvConfig.getHeaders() == null) {
-                    String[] headerRecords = new String[fields.size()];
-
-                    int i = 0;
-                    for (Field field : fields) {
-                        CsvField csvField;
-                        if (field instanceof FieldGroup) {
-                            FieldGroup fieldGroup = (FieldGroup) field;
-                            csvField = (CsvField) fieldGroup.getField().get(i);
-                        } else {
-                            csvField = (CsvField) field;
-                        }
-
-                        if (csvField.getColumn() != null) {
-                            headerRecords[csvField.getColumn()] = csvField.getName();
-                        } else {
-                            headerRecords[i] = csvField.getName();
-                        }
-                        i++;
-                    }
-                    printer.printRecord(headerRecords);
-                }
+            // the configured headers are printed by the CSVPrinter
+            printRecords(printer, csvConfig.getHeaders() == null
+                    && !Boolean.TRUE.equals(csvConfig.getSkipHeaderRecord()));
+
+            writer.flush();
+            String csv = out.toString();
+            return csv;
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Prints the records into the printer shared across the sessions instead of creating a CSV document.
+     * The header record is printed only once, by the first session which has any record to print.
+     *
+     * @param target shared printer
+     * @throws AtlasException if it fails to print the records
+     */
+    public void print(CsvRecordPrinter target) throws AtlasException {
+        if (document.getFields().getField().isEmpty()) {
+            return;
+        }
+        try {
+            printRecords(target.getPrinter(), !target.isHeaderPrinted()
+                    && !Boolean.TRUE.equals(csvConfig.getSkipHeaderRecord()));
+            target.setHeaderPrinted(true);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private void printRecords(CSVPrinter printer, boolean printHeader) throws IOException {
+        String[] headers = csvConfig.getParsedHeaders();
+        if (headers != null && printHeader) {
+            printer.printRecord((Object[]) headers);
+        }
+        boolean ignoreHeaderCase = Boolean.TRUE.equals(csvConfig.getIgnoreHeaderCase());
+        if (headers != null && ignoreHeaderCase) {
+            for (int j = 0; j < headers.length; j++) {
+                headers[j] = headers[j].toLowerCase();
             }
+        }
+
+        List<Field> fields = document.getFields().getField();
+
+        if (headers == null && printHeader) {
+            String[] headerRecords = new String[fields.size()];
 
-            int recordsCount;
-            if (fields.get(0) instanceof FieldGroup) {
-                recordsCount = ((FieldGroup) fields.get(0)).getField().size();
-            } else {
-                recordsCount = 1;
+            int i = 0;
+            for (Field field : fields) {
+                CsvField csvField;
+                if (field instanceof FieldGroup) {
+                    FieldGroup fieldGroup = (FieldGroup) field;
+                    csvField = (CsvField) fieldGroup.getField().get(i);
+                } else {
+                    csvField = (CsvField) field;
+                }
+
+                if (csvField.getColumn() != null) {
+                    headerRecords[csvField.getColumn()] = csvField.getName();
+                } else {
+                    headerRecords[i] = csvField.getName();
+                }
+                i++;
             }
+            printer.printRecord(headerRecords);
+        }
+
+        int recordsCount;
+        if (fields.get(0) instanceof FieldGroup) {
+            recordsCount = ((FieldGroup) fields.get(0)).getField().size();
+        } else {
+            recordsCount = 1;
+        }
 
-            for (int i = 0; i < recordsCount; i++) {
-                List<String> values = new ArrayList<>();
-                for (Field field: fields) {
-                    CsvField csvField;
-                    if (field instanceof FieldGroup) {
-                        FieldGroup fieldGroup = (FieldGroup) field;
-                        csvField = (CsvField) fieldGroup.getField().get(i);
-                    } else {
-                        csvField = (CsvField) field;
+        for (int i = 0; i < recordsCount; i++) {
+            List<String> values = new ArrayList<>();
+            for (Field field: fields) {
+                CsvField csvField;
+                if (field instanceof FieldGroup) {
+                    FieldGroup fieldGroup = (FieldGroup) field;
+                    csvField = (CsvField) fieldGroup.getField().get(i);
+                } else {
+                    csvField = (CsvField) field;
+                }
+
+                if (csvField.getColumn() != null) {
+                    //Add missing values
+                    for (int j = values.size(); j < csvField.getColumn() + 1; j++) {
+                        values.add(null);
+                    }
+                    values.set(csvField.getColumn(), csvField.getValue().toString());
+                } else if (headers != null) {
+                    for (int j = values.size(); j < headers.length; j++) {
+                        values.add(null);
                     }
 
-                    if (csvField.getColumn() != null) {
-                        //Add missing values
-                        for (int j = values.size(); j < csvField.getColumn() + 1; j++) {
-                            values.add(null);
-                        }
-                        values.set(csvField.getColumn(), csvField.getValue().toString());
-                    } else if (headers != null) {
-                        for (int j = values.size(); j < headers.length; j++) {
-                            values.add(null);
-                        }
-
-                        int column = findColumn(headers, ignoreHeaderCase, csvField);
-                        if (column != -1) {
-                            values.set(column, csvField.getValue().toString());
-                        }
-                    } else {
-                        values.add(csvField.getValue().toString());
+                    int column = findColumn(headers, ignoreHeaderCase, csvField);
+                    if (column != -1) {
+                        values.set(column, csvField.getValue().toString());
                     }
+                } else {
+                    values.add(csvField.getValue().toString());
                 }
-                printer.printRecord(values);
             }
-
-            writer.flush();
-            String csv = out.toString();
-            return csv;
-        } catch (IOException e) {
-            throw new AtlasException(e);
+            printer.printRecord(values);
         }
     }
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.csv.core;
+
+import org.apache.commons.csv.CSVPrinter;
+
+/**
+ * A CSV target document which is shared across the sessions. When it's set as a target document,
+ * the records are printed into the {@link CSVPrinter} instead of creating a CSV document String.
+ */
+public class CsvRecordPrinter {
+
+    private final CSVPrinter printer;
+    private boolean headerPrinted;
+
+    public CsvRecordPrinter(CSVPrinter printer) {
+        this.printer = printer;
+    }
+
+    public CSVPrinter getPrinter() {
+        return printer;
+    }
+
+    public boolean isHeaderPrinted() {
+        return headerPrinted;
+    }
+
+    public void setHeaderPrinted(boolean headerPrinted) {
+        this.headerPrinted = headerPrinted;
+    }
+
+}
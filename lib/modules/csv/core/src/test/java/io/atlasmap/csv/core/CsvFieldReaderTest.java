@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 import io.atlasmap.csv.v2.CsvComplexType;
 import io.atlasmap.v2.Document;
@@ -29,6 +30,7 @@ import io.atlasmap.csv.v2.CsvField;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 
 public class CsvFieldReaderTest {
@@ -153,6 +155,38 @@ public class CsvFieldReaderTest {
         assertEquals("/<1>/FAMILYNAME", field.getField().get(1).getPath());
     }
 
+    @Test
+    public void testReadMultipleFieldsParsedOnce() throws Exception {
+        CsvConfig csvConfig = new CsvConfig();
+        csvConfig.setFirstRecordAsHeader(true);
+        CsvFieldReader csvFieldReader = new CsvFieldReader(csvConfig);
+        InputStream in = new ByteArrayInputStream("givenName,familyName\nBob,Smith\nAndrew,Johnson".getBytes());
+        csvFieldReader.setDocument(in);
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(AtlasInternalSession.Head.class));
+        Audits audits = new Audits();
+        when(session.getAudits()).thenReturn(audits);
+
+        CsvField givenName = new CsvField();
+        givenName.setName("givenName");
+        givenName.setPath("/<>/givenName");
+        when(session.head().getSourceField()).thenReturn(givenName);
+        FieldGroup givenNames = (FieldGroup) csvFieldReader.read(session);
+        // the whole document is consumed by the first read
+        assertEquals(-1, in.read());
+
+        CsvField familyName = new CsvField();
+        familyName.setName("familyName");
+        familyName.setPath("/<1>/familyName");
+        when(session.head().getSourceField()).thenReturn(familyName);
+        Field secondFamilyName = csvFieldReader.read(session);
+
+        assertEquals(0, audits.getAudit().size());
+        assertEquals("Bob", givenNames.getField().get(0).getValue());
+        assertEquals("Andrew", givenNames.getField().get(1).getValue());
+        assertEquals("Johnson", secondFamilyName.getValue());
+    }
+
     @Test
     public void testReadSchemaWithHeaderSpecified() throws Exception {
         CsvConfig csvConfig = new CsvConfig();
@@ -19,6 +19,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.StringWriter;
+
+import org.apache.commons.csv.CSVPrinter;
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.csv.v2.CsvField;
@@ -275,4 +278,42 @@ public class CsvFieldWriterTest {
         String csv = writer.toCsv();
         assertEquals("familyName,givenName\r\nSmith,Bob\r\nJohnson,Andrew\r\n", csv);
     }
+
+    @Test
+    public void testPrintIntoSharedPrinter() throws Exception {
+        CsvConfig csvConfig = new CsvConfig();
+        StringWriter out = new StringWriter();
+        CsvRecordPrinter printer = new CsvRecordPrinter(new CSVPrinter(out, csvConfig.newCsvFormat()));
+        for (String name : new String[] {"Bob", "Andrew"}) {
+            CsvFieldWriter writer = new CsvFieldWriter(csvConfig);
+            CsvField sourceField = new CsvField();
+            sourceField.setName("name");
+            sourceField.setPath("/<0>/name");
+            sourceField.setValue(name);
+            CsvField targetField = new CsvField();
+            targetField.setName("givenName");
+            targetField.setPath("/<0>/givenName");
+            write(writer, sourceField, targetField);
+            writer.print(printer);
+        }
+        assertEquals("givenName\r\nBob\r\nAndrew\r\n", out.toString());
+
+        csvConfig.setHeaders("FAMILYNAME,GIVENNAME");
+        csvConfig.setIgnoreHeaderCase(true);
+        out = new StringWriter();
+        printer = new CsvRecordPrinter(new CSVPrinter(out, csvConfig.newCsvFormat().withHeader((String[]) null)));
+        for (String name : new String[] {"Bob", "Andrew"}) {
+            CsvFieldWriter writer = new CsvFieldWriter(csvConfig);
+            CsvField sourceField = new CsvField();
+            sourceField.setName("name");
+            sourceField.setPath("/<0>/name");
+            sourceField.setValue(name);
+            CsvField targetField = new CsvField();
+            targetField.setName("givenName");
+            targetField.setPath("/<0>/givenName");
+            write(writer, sourceField, targetField);
+            writer.print(printer);
+        }
+        assertEquals("FAMILYNAME,GIVENNAME\r\n,Bob\r\n,Andrew\r\n", out.toString());
+    }
 }
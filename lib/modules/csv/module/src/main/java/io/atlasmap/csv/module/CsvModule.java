@@ -17,7 +17,12 @@ package io.atlasmap.csv.module;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +32,7 @@ import io.atlasmap.core.BaseAtlasModule;
 import io.atlasmap.csv.core.CsvConfig;
 import io.atlasmap.csv.core.CsvFieldReader;
 import io.atlasmap.csv.core.CsvFieldWriter;
+import io.atlasmap.csv.core.CsvRecordPrinter;
 import io.atlasmap.csv.v2.CsvField;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
@@ -38,6 +44,8 @@ import io.atlasmap.v2.FieldGroup;
         "csv" }, configPackages = { "io.atlasmap.csv.v2" })
 public class CsvModule extends BaseAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(CsvModule.class);
+    private static final List<Class<?>> SUPPORTED_SOURCE_TYPES = Collections.unmodifiableList(Arrays.asList(
+            CSVRecord.class, byte[].class, ByteBuffer.class, InputStream.class, String.class));
 
     @Override
     public void processPreValidation(AtlasInternalSession session) throws AtlasException {
@@ -48,20 +56,31 @@ public class CsvModule extends BaseAtlasModule {
     public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
         InputStream sourceInputStream = null;
+        CsvConfig csvConfig = CsvConfig.newConfig(getUriParameters());
+        CsvFieldReader reader = new CsvFieldReader(csvConfig);
 
-        if (sourceDocument == null || !((sourceDocument instanceof String) || (sourceDocument instanceof InputStream))) {
+        if (sourceDocument instanceof CSVRecord) {
+            // a single record passed by CsvStreamingProcessor
+            reader.setRecords(Collections.singletonList((CSVRecord) sourceDocument));
+            session.setFieldReader(getDocId(), reader);
+            return;
+        }
+        if (!AtlasUtil.isSupportedSourceType(this, sourceDocument)) {
             AtlasUtil.addAudit(session, getDocId(), String.format(
-                "Null, non-String or non-Stream source document: docId='%s'", getDocId()),
+                "Null or unsupported source document, one of %s is expected: docId='%s'",
+                SUPPORTED_SOURCE_TYPES, getDocId()),
                 AuditStatus.WARN, null);
         } else if (sourceDocument instanceof String){
             String sourceDocumentString = String.class.cast(sourceDocument);
             sourceInputStream = new ByteArrayInputStream(sourceDocumentString.getBytes());
+        } else if (sourceDocument instanceof byte[]) {
+            sourceInputStream = new ByteArrayInputStream((byte[]) sourceDocument);
+        } else if (sourceDocument instanceof ByteBuffer) {
+            sourceInputStream = AtlasUtil.toInputStream((ByteBuffer) sourceDocument);
         } else {
             sourceInputStream = (InputStream) sourceDocument;
         }
 
-        CsvConfig csvConfig = CsvConfig.newConfig(getUriParameters());
-        CsvFieldReader reader = new CsvFieldReader(csvConfig);
         reader.setDocument(sourceInputStream);
         session.setFieldReader(getDocId(), reader);
 
@@ -70,6 +89,11 @@ public class CsvModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public List<Class<?>> getSupportedSourceTypes() {
+        return SUPPORTED_SOURCE_TYPES;
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
         CsvConfig csvConfig = CsvConfig.newConfig(getUriParameters());
@@ -119,7 +143,11 @@ public class CsvModule extends BaseAtlasModule {
     @Override
     public void processPostTargetExecution(AtlasInternalSession session) throws AtlasException {
         CsvFieldWriter writer = session.getFieldWriter(getDocId(), CsvFieldWriter.class);
-        if (writer != null && writer.getDocument() != null) {
+        Object targetDocument = session.hasTargetDocument(getDocId()) ? session.getTargetDocument(getDocId()) : null;
+        if (writer != null && targetDocument instanceof CsvRecordPrinter) {
+            // a printer shared across the records by CsvStreamingProcessor
+            writer.print((CsvRecordPrinter) targetDocument);
+        } else if (writer != null && writer.getDocument() != null) {
             String targetDocumentString = writer.toCsv();
             session.setTargetDocument(getDocId(), targetDocumentString);
         } else {
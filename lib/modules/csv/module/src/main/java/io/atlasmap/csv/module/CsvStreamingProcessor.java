@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.csv.module;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.csv.core.CsvConfig;
+import io.atlasmap.csv.core.CsvRecordPrinter;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
+
+/**
+ * Processes a CSV source document one record at a time, so that the memory consumption
+ * doesn't grow with the size of the document. Each record is processed in its own
+ * {@link AtlasSession} as if it was a document which contains only that record, and the
+ * resulting target document is written into the sink right away. This works for the row-wise
+ * mappings, i.e. the mappings which map {@code /<>/column} fields into the target collection.
+ * <p>
+ * If the target is a CSV document, the records of each session are printed into a {@link CSVPrinter}
+ * shared across the sessions, so that the header record is written only once. Otherwise each
+ * target document is written as a line, i.e. JSON Lines for a JSON target document.
+ * </p>
+ */
+public class CsvStreamingProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(CsvStreamingProcessor.class);
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final AtlasContext context;
+    private final String sourceDocId;
+
+    public CsvStreamingProcessor(AtlasContext context, String sourceDocId) {
+        this.context = context;
+        this.sourceDocId = sourceDocId;
+    }
+
+    /**
+     * Processes the CSV source document and writes the target documents into the sink.
+     *
+     * @param source CSV source document encoded in UTF-8
+     * @param targetDocId target document ID
+     * @param sink sink to write the target documents into in UTF-8
+     * @return the number of the processed records
+     * @throws AtlasException if it fails to process a record
+     */
+    public long process(InputStream source, String targetDocId, OutputStream sink) throws AtlasException {
+        Writer writer = new OutputStreamWriter(sink, StandardCharsets.UTF_8);
+        return process(new InputStreamReader(source, StandardCharsets.UTF_8), targetDocId, writer);
+    }
+
+    /**
+     * Processes the CSV source document and writes the target documents into the sink.
+     * The source is closed once all the records are processed.
+     *
+     * @param source CSV source document
+     * @param targetDocId target document ID
+     * @param sink sink to write the target documents into
+     * @return the number of the processed records
+     * @throws AtlasException if it fails to process a record
+     */
+    public long process(Reader source, String targetDocId, Writer sink) throws AtlasException {
+        if (!(context instanceof DefaultAtlasContext)) {
+            throw new AtlasException(String.format("Unsupported context class '%s', streaming requires %s",
+                    context.getClass().getName(), DefaultAtlasContext.class.getName()));
+        }
+        DefaultAtlasContext defaultContext = (DefaultAtlasContext) context;
+        defaultContext.initialize();
+        AtlasModule sourceModule = getModule(defaultContext.getSourceModules().get(sourceDocId), sourceDocId);
+        if (!(sourceModule instanceof CsvModule)) {
+            throw new AtlasException(String.format("Document '%s' is not a CSV document", sourceDocId));
+        }
+        CsvConfig csvConfig = CsvConfig.newConfig(((CsvModule) sourceModule).getUriParameters());
+        AtlasModule targetModule = getModule(defaultContext.getTargetModules().get(targetDocId), targetDocId);
+
+        long count = 0;
+        try (CSVParser parser = csvConfig.newCsvFormat().parse(source)) {
+            CsvRecordPrinter printer = null;
+            if (targetModule instanceof CsvModule) {
+                CsvConfig targetConfig = CsvConfig.newConfig(((CsvModule) targetModule).getUriParameters());
+                // the header record is printed by CsvFieldWriter only once
+                CSVFormat targetFormat = targetConfig.newCsvFormat().withHeader((String[]) null);
+                printer = new CsvRecordPrinter(new CSVPrinter(sink, targetFormat));
+            }
+            for (CSVRecord record : parser) {
+                String output = processRecord(record, targetDocId, printer);
+                count++;
+                if (output != null && !output.isEmpty()) {
+                    sink.write(output);
+                    sink.write(LINE_SEPARATOR);
+                }
+            }
+            sink.flush();
+        } catch (IOException e) {
+            throw new AtlasException(String.format("Failed to stream the CSV document '%s' at record %s",
+                    sourceDocId, count), e);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: processed {} records into '{}'", sourceDocId, count, targetDocId);
+        }
+        return count;
+    }
+
+    private String processRecord(CSVRecord record, String targetDocId, CsvRecordPrinter printer) throws AtlasException {
+        AtlasSession session = context.createSession();
+        session.setSourceDocument(sourceDocId, record);
+        if (printer != null) {
+            session.setTargetDocument(targetDocId, printer);
+        }
+        context.process(session);
+        if (session.hasErrors()) {
+            StringBuilder buf = new StringBuilder(String.format(
+                    "Failed to process the record %s of the CSV document '%s':", record.getRecordNumber(), sourceDocId));
+            for (Audit audit : session.getAudits().getAudit()) {
+                if (audit.getStatus() == AuditStatus.ERROR) {
+                    buf.append(" ").append(audit.getMessage());
+                }
+            }
+            throw new AtlasException(buf.toString());
+        }
+        if (printer != null) {
+            return null;
+        }
+        Object target = session.getTargetDocument(targetDocId);
+        return target != null ? target.toString() : null;
+    }
+
+    private AtlasModule getModule(AtlasModule module, String docId) throws AtlasException {
+        if (module == null) {
+            throw new AtlasException(String.format("Document '%s' doesn't exist in the mapping definition", docId));
+        }
+        return module;
+    }
+
+}
@@ -16,9 +16,16 @@
 package io.atlasmap.dfdl.module;
 
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -45,6 +52,8 @@ import io.atlasmap.xml.module.XmlModule;
         "dfdl" }, configPackages = { "io.atlasmap.dfdl.v2" })
 public class DfdlModule extends XmlModule {
     private static final Logger LOG = LoggerFactory.getLogger(DfdlModule.class);
+    private static final List<Class<?>> SUPPORTED_SOURCE_TYPES = Collections.unmodifiableList(Arrays.asList(
+            byte[].class, ByteBuffer.class, InputStream.class, String.class));
 
     private DfdlSchemaResolver schemaResolver;
     private DataProcessor daffodil;
@@ -90,10 +99,38 @@ public class DfdlModule extends XmlModule {
         return dfdlValidationService;
     }
 
+    @Override
+    protected boolean isStreaming() {
+        // the source document is not XML, it's converted into DOM by daffodil
+        return false;
+    }
+
+    @Override
+    public List<Class<?>> getSupportedSourceTypes() {
+        return SUPPORTED_SOURCE_TYPES;
+    }
+
     @Override
     protected Document convertToXmlDocument(String source, boolean namespaced) throws AtlasException {
+        return parse(new InputSourceDataInputStream(source.getBytes()));
+    }
+
+    @Override
+    protected Document convertSourceToXmlDocument(Object source, boolean namespaced) throws AtlasException {
+        // daffodil reads the binary source as is
+        if (source instanceof byte[]) {
+            return parse(new InputSourceDataInputStream((byte[]) source));
+        } else if (source instanceof ByteBuffer) {
+            return parse(new InputSourceDataInputStream(((ByteBuffer) source).duplicate()));
+        } else if (source instanceof InputStream) {
+            return parse(new InputSourceDataInputStream((InputStream) source));
+        }
+        return super.convertSourceToXmlDocument(source, namespaced);
+    }
+
+    private Document parse(InputSourceDataInputStream input) throws AtlasException {
         W3CDOMInfosetOutputter output = new W3CDOMInfosetOutputter();
-        ParseResult result = this.daffodil.parse(new InputSourceDataInputStream(source.getBytes()), output);
+        ParseResult result = this.daffodil.parse(input, output);
         if (result.isError()) {
             StringBuffer buf = new StringBuffer("DFDL document read error");
             result.getDiagnostics().forEach(d -> {
@@ -111,14 +148,24 @@ public class DfdlModule extends XmlModule {
 
     @Override
     protected String convertFromXmlDocument(Document xml) throws AtlasException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        unparse(xml, Channels.newChannel(bos));
+        return new String(bos.toByteArray());
+    }
+
+    @Override
+    protected void writeTargetDocument(Document xml, OutputStream out) throws AtlasException {
+        unparse(xml, Channels.newChannel(out));
+    }
+
+    private void unparse(Document xml, WritableByteChannel out) throws AtlasException {
         if (LOG.isTraceEnabled()) {
             try {
                 LOG.trace("DFDL: converting from XML >>> " + getXmlIOHelper().writeDocumentToString(false, xml));
             } catch (Exception e) {}
         }
         W3CDOMInfosetInputter input = new W3CDOMInfosetInputter(xml);
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        UnparseResult result = this.daffodil.unparse(input, Channels.newChannel(bos));
+        UnparseResult result = this.daffodil.unparse(input, out);
         if (result.isError()) {
             StringBuffer buf = new StringBuffer("DFDL document read error");
             result.getDiagnostics().forEach(d -> {
@@ -126,7 +173,6 @@ public class DfdlModule extends XmlModule {
             });
             throw new AtlasException(buf.toString());
         }
-        return new String(bos.toByteArray());
     }
 
 }
@@ -21,19 +21,45 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.java.core.accessor.FieldAccessor;
 import io.atlasmap.java.core.accessor.GetterAccessor;
 import io.atlasmap.java.core.accessor.JavaChildAccessor;
+import io.atlasmap.java.core.accessor.JavaPropertyGetter;
 
 public class ClassHelper {
 
+    // Class#getMethods() returns a fresh copy of the array on each call, keep them grouped by name
+    // per class instead so that resolving a getter/setter doesn't copy and scan all the methods
+    private static final ClassValue<Map<String, List<Method>>> PUBLIC_METHODS = new ClassValue<Map<String, List<Method>>>() {
+        @Override
+        protected Map<String, List<Method>> computeValue(Class<?> clazz) {
+            Map<String, List<Method>> answer = new HashMap<>();
+            for (Method method : clazz.getMethods()) {
+                answer.computeIfAbsent(method.getName(), k -> new ArrayList<>(1)).add(method);
+            }
+            return answer;
+        }
+    };
+
+    // property name -> resolved getter method or field, negative results are cached as well
+    private static final ClassValue<Map<String, Optional<JavaPropertyGetter>>> PROPERTY_GETTERS =
+            new ClassValue<Map<String, Optional<JavaPropertyGetter>>>() {
+                @Override
+                protected Map<String, Optional<JavaPropertyGetter>> computeValue(Class<?> clazz) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     public static List<String> getterMethodNames(String fieldName) {
         List<String> opts = new ArrayList<String>();
         opts.add(getMethodNameFromFieldName(fieldName));
@@ -51,10 +77,8 @@ public class ClassHelper {
 
     public static Method detectGetterMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
 
-        Method[] methods = clazz.getMethods();
-
-        for (Method method : methods) {
-            if (method.getName().equals(methodName) && method.getParameterCount() == 0) {
+        for (Method method : PUBLIC_METHODS.get(clazz).getOrDefault(methodName, Collections.emptyList())) {
+            if (method.getParameterCount() == 0) {
                 return method;
             }
         }
@@ -97,9 +121,8 @@ public class ClassHelper {
             throws NoSuchMethodException {
         List<Method> candidates = new ArrayList<Method>();
 
-        Method[] methods = clazz.getMethods();
-        for (Method method : methods) {
-            if (method.getName().equals(methodName) && method.getParameterCount() == 1) {
+        for (Method method : PUBLIC_METHODS.get(clazz).getOrDefault(methodName, Collections.emptyList())) {
+            if (method.getParameterCount() == 1) {
                 candidates.add(method);
             }
         }
@@ -223,13 +246,47 @@ public class ClassHelper {
         if (source == null || AtlasUtil.isEmpty(name)) {
             return null;
         }
-        Method m = lookupGetterMethod(source, name);
-        if (m != null) {
-            return new GetterAccessor(source, name, m);
+        JavaPropertyGetter getter = lookupPropertyGetter(source.getClass(), name);
+        if (getter == null) {
+            return null;
+        }
+        return getter.getMethod() != null ? new GetterAccessor(source, name, getter)
+            : new FieldAccessor(source, name, getter);
+    }
+
+    /**
+     * Looks up the getter method, or the field if there's no getter for the property. The result is
+     * cached per class and property name.
+     *
+     * @param clazz class
+     * @param name property name
+     * @return resolved getter, or {@code null} if not found
+     */
+    public static JavaPropertyGetter lookupPropertyGetter(Class<?> clazz, String name) {
+        Map<String, Optional<JavaPropertyGetter>> getters = PROPERTY_GETTERS.get(clazz);
+        Optional<JavaPropertyGetter> answer = getters.get(name);
+        if (answer == null) {
+            answer = Optional.ofNullable(resolvePropertyGetter(clazz, name));
+            getters.put(name, answer);
         }
-        Field f = lookupJavaField(source, name);
-        if (f != null) {
-            return new FieldAccessor(source, name, f);
+        return answer.orElse(null);
+    }
+
+    private static JavaPropertyGetter resolvePropertyGetter(Class<?> clazz, String name) {
+        for (String getter : getterMethodNames(name)) {
+            try {
+                return JavaPropertyGetter.of(detectGetterMethod(clazz, getter));
+            } catch (NoSuchMethodException e) {
+                // exhaust options
+            }
+        }
+        Class<?> targetClazz = clazz;
+        while (targetClazz != null && targetClazz != Object.class) {
+            try {
+                return JavaPropertyGetter.of(targetClazz.getDeclaredField(name));
+            } catch (Exception e) {
+                targetClazz = targetClazz.getSuperclass();
+            }
         }
         return null;
     }
@@ -16,7 +16,9 @@
 package io.atlasmap.java.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +46,8 @@ public class JavaFieldReader implements AtlasFieldReader {
 
     private AtlasConversionService conversionService;
     private Object sourceDocument;
+    /** The navigation tree shared by all the source fields read from this document. */
+    private NavigationNode root;
 
     @Override
     public Field read(AtlasInternalSession session) throws AtlasException {
@@ -58,7 +62,7 @@ public class JavaFieldReader implements AtlasFieldReader {
 
             AtlasPath path = new AtlasPath(field.getPath());
 
-            List<Field> fields = getFieldsForPath(session, sourceDocument, field, path, 0);
+            List<Field> fields = getFieldsForPath(session, root, field, path, 0, false);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Processed input field sPath=" + field.getPath() + " sV=" + field.getValue()
                     + " sT=" + field.getFieldType() + " docId: " + field.getDocId());
@@ -80,9 +84,11 @@ public class JavaFieldReader implements AtlasFieldReader {
         }
     }
 
-    private List<Field> getFieldsForPath(AtlasInternalSession session, Object source, Field field, AtlasPath path, int depth) throws AtlasException {
+    private List<Field> getFieldsForPath(AtlasInternalSession session, NavigationNode node, Field field,
+            AtlasPath path, int depth, boolean itemized) throws AtlasException {
         List<Field> fields = new ArrayList<>();
         List<SegmentContext> segments = path.getSegments(true);
+        Object source = node != null ? node.value : null;
         if (source == null) {
             return fields;
         }
@@ -97,7 +103,11 @@ public class JavaFieldReader implements AtlasFieldReader {
                 populateChildFields(source, group, path);
                 newField = group;
             } else {
-                newField = AtlasJavaModelFactory.cloneJavaField(field, true);
+                // an item field doesn't inherit the actions, same as the per item clone used to do
+                newField = AtlasJavaModelFactory.cloneJavaField(field, !itemized);
+                if (itemized) {
+                    newField.setPath(path.toString());
+                }
                 if (source != null && (conversionService.isPrimitive(source.getClass())
                     || conversionService.isBoxedPrimitive(source.getClass()))) {
                     source = conversionService.copyPrimitive(source);
@@ -116,45 +126,68 @@ public class JavaFieldReader implements AtlasFieldReader {
             segmentContext = segments.get(depth);
         }
 
-        JavaChildAccessor childAccessor = getAccessorForSegment(session, source, field, path, segmentContext);
-        if (childAccessor == null || childAccessor.getRawValue() == null) {
+        NavigationChild child = getChildForSegment(session, node, field, path, segmentContext);
+        if (child == null || child.isNull()) {
             return fields;
         }
 
         if (segmentContext.getCollectionType() == CollectionType.NONE) {
-            List<Field> childFields = getFieldsForPath(session, childAccessor.getValue(), field, path, depth + 1);
+            List<Field> childFields = getFieldsForPath(session, child.getNode(), field, path, depth + 1, itemized);
             fields.addAll(childFields);
             return fields;
         }
 
         // collection
         if (segmentContext.getCollectionIndex() != null) {
-            Object indexItem = childAccessor.getValueAt(segmentContext.getCollectionIndex());
-            List<Field> childFields = getFieldsForPath(session, indexItem, field, path, depth + 1);
+            NavigationNode indexItem = child.getItemAt(segmentContext.getCollectionIndex());
+            List<Field> childFields = getFieldsForPath(session, indexItem, field, path, depth + 1, itemized);
             fields.addAll(childFields);
         } else {
-            List<?> items = childAccessor.getCollectionValues();
-            for (int i = 0; i < items.size(); i++) {
-                //include the array index within the path
-                Field itemField;
-                if (field instanceof FieldGroup) {
+            int size = child.getItemCount();
+            for (int i = 0; i < size; i++) {
+                //include the array index within the path, the path is shared across the items
+                //and the index is reset once all the items are processed
+                path.setCollectionIndex(depth, i);
+                Field itemField = field;
+                boolean itemGroup = field instanceof FieldGroup;
+                if (itemGroup) {
                     itemField = AtlasJavaModelFactory.cloneFieldGroup((FieldGroup)field);
                     AtlasPath.setCollectionIndexRecursively((FieldGroup)itemField, depth, i);
-                } else {
-                    itemField = AtlasJavaModelFactory.cloneJavaField(field, false);
-                    AtlasPath itemPath = new AtlasPath(field.getPath());
-                    itemPath.setCollectionIndex(depth, i);
-                    itemField.setPath(itemPath.toString());
                 }
                 List<Field> arrayFields = getFieldsForPath(
-                    session, items.get(i), itemField, new AtlasPath(itemField.getPath()), depth + 1);
+                    session, child.getItemAt(i), itemField, path, depth + 1, !itemGroup);
                 fields.addAll(arrayFields);
             }
+            if (size > 0) {
+                path.setCollectionIndex(depth, null);
+            }
         }
         return fields;
     }
 
-    private JavaChildAccessor getAccessorForSegment(AtlasInternalSession session, Object source, Field field, AtlasPath path, SegmentContext segmentContext) throws AtlasException {
+    private NavigationChild getChildForSegment(AtlasInternalSession session, NavigationNode node, Field field,
+            AtlasPath path, SegmentContext segmentContext) throws AtlasException {
+        NavigationChild child = node.children != null ? node.children.get(segmentContext.getName()) : null;
+        if (child == null) {
+            child = resolveChild(session, node.value, field, segmentContext);
+            if (child == null) {
+                return null;
+            }
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            node.children.put(segmentContext.getName(), child);
+        }
+
+        if (path.getLastSegment() == segmentContext && field.getFieldType() == null
+            && (field instanceof JavaField || field instanceof JavaEnumField)) {
+            detectFieldType(session, child.accessor, field);
+        }
+        return child;
+    }
+
+    private NavigationChild resolveChild(AtlasInternalSession session, Object source, Field field,
+            SegmentContext segmentContext) throws AtlasException {
         JavaChildAccessor accessor = null;
         if (segmentContext.isRoot()) {
             accessor = new RootAccessor(source);
@@ -169,7 +202,7 @@ public class JavaFieldReader implements AtlasFieldReader {
         }
 
         try {
-            accessor.getValue();
+            return new NavigationChild(accessor, accessor.getValue());
         } catch (Exception e) {
             AtlasUtil.addAudit(session, field, String.format(
                 "Cannot access field '%s' on object '%s': %s", segmentContext.getName(), source, e.getMessage()),
@@ -179,12 +212,6 @@ public class JavaFieldReader implements AtlasFieldReader {
             }
             return null;
         }
-
-        if (path.getLastSegment() == segmentContext && field.getFieldType() == null
-            && (field instanceof JavaField || field instanceof JavaEnumField)) {
-            detectFieldType(session, accessor, field);
-        }
-        return accessor;
     }
 
     private void detectFieldType(AtlasInternalSession session, JavaChildAccessor accessor, Field field) throws AtlasException {
@@ -264,9 +291,69 @@ public class JavaFieldReader implements AtlasFieldReader {
 
     public void setDocument(Object sourceDocument) {
         this.sourceDocument = sourceDocument;
+        this.root = new NavigationNode(sourceDocument);
     }
 
     public void setConversionService(AtlasConversionService conversionService) {
         this.conversionService = conversionService;
     }
+    /**
+     * A node of the navigation tree. It holds an object in the source object graph along with the children
+     * resolved on it, so that the intermediate objects and the collection items on a common path prefix are
+     * visited only once no matter how many source fields are read through them.
+     */
+    private static final class NavigationNode {
+        private final Object value;
+        private Map<String, NavigationChild> children;
+
+        private NavigationNode(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static final class NavigationChild {
+        private final JavaChildAccessor accessor;
+        private final Object value;
+        private NavigationNode node;
+        private NavigationNode[] items;
+
+        private NavigationChild(JavaChildAccessor accessor, Object value) {
+            this.accessor = accessor;
+            this.value = value;
+        }
+
+        private boolean isNull() throws AtlasException {
+            return accessor.getCollectionType() == CollectionType.NONE && value == null;
+        }
+
+        private NavigationNode getNode() {
+            if (node == null) {
+                node = new NavigationNode(value);
+            }
+            return node;
+        }
+
+        private int getItemCount() throws AtlasException {
+            List<?> values = accessor.getCollectionValues();
+            return values != null ? values.size() : 0;
+        }
+
+        private NavigationNode getItemAt(int index) throws AtlasException {
+            if (accessor.getCollectionType() == CollectionType.NONE) {
+                return getNode();
+            }
+            List<?> values = accessor.getCollectionValues();
+            if (index >= values.size()) {
+                return null;
+            }
+            if (items == null) {
+                items = new NavigationNode[values.size()];
+            }
+            if (items[index] == null) {
+                items[index] = new NavigationNode(values.get(index));
+            }
+            return items[index];
+        }
+    }
+
 }
@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.SortedMap;
@@ -56,6 +57,8 @@ import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.java.core.accessor.JavaPropertyGetter;
+import io.atlasmap.java.core.accessor.JavaPropertySetter;
 import io.atlasmap.spi.AtlasConversionService;
 import io.atlasmap.v2.CollectionType;
 
@@ -64,6 +67,11 @@ public class JavaFieldWriterUtil {
     private AtlasConversionService conversionService = null;
     private ClassLoader classLoader;
     private Map<Class<?>, Class<?>> defaultCollectionImplClasses = new HashMap<>();
+    // the getters, setters and fields are resolved once per class and then shared among the sessions,
+    // negative results are cached as well
+    private final ClassValue<Map<String, Optional<JavaPropertyGetter>>> getterCache = newCache();
+    private final ClassValue<Map<SetterKey, Optional<JavaPropertySetter>>> setterCache = newCache();
+    private final ClassValue<Map<String, Optional<java.lang.reflect.Field>>> fieldCache = newCache();
 
     public JavaFieldWriterUtil(AtlasConversionService conversionService) {
         this(Thread.currentThread().getContextClassLoader(), conversionService);
@@ -157,8 +165,8 @@ public class JavaFieldWriterUtil {
             return null;
         }
 
-        Method getterMethod = resolveGetterMethod(parentObject.getClass(), fieldName);
-        if (getterMethod == null) {
+        JavaPropertyGetter getter = resolveGetterMethod(parentObject.getClass(), fieldName);
+        if (getter == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug(String.format(
                         "Unable to detect getter method for: %s on parent: %s",
@@ -167,13 +175,7 @@ public class JavaFieldWriterUtil {
             return null;
         }
 
-        getterMethod.setAccessible(true);
-        Object childObject;
-        try {
-            childObject = getterMethod.invoke(parentObject);
-        } catch (Exception e) {
-            throw new AtlasException(e);
-        }
+        Object childObject = getter.get(parentObject);
 
         if (LOG.isDebugEnabled()) {
             if (childObject == null) {
@@ -193,15 +195,13 @@ public class JavaFieldWriterUtil {
         }
 
         try {
-            Method setterMethod = resolveSetterMethod(parentObject, segmentContext, null);
+            JavaPropertySetter setter = resolveSetterMethod(parentObject, segmentContext, null);
             Object targetObject = instantiateObject(clazz);
-            setterMethod.setAccessible(true);
-            setterMethod.invoke(parentObject, targetObject);
+            setter.set(parentObject, targetObject);
             return targetObject;
         } catch (Exception e) {
             try {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segmentContext.getName());
-                field.setAccessible(true);
                 Object targetObject = instantiateObject(clazz);
                 field.set(parentObject, targetObject);
                 return targetObject;
@@ -220,16 +220,14 @@ public class JavaFieldWriterUtil {
 
         Class<?> clazz;
         try {
-            Method setterMethod = resolveSetterMethod(parentObject, segmentContext, null);
-            clazz = setterMethod.getParameterTypes()[0];
+            JavaPropertySetter setter = resolveSetterMethod(parentObject, segmentContext, null);
+            clazz = setter.getType();
             Object targetObject = instantiateObject(clazz);
-            setterMethod.setAccessible(true);
-            setterMethod.invoke(parentObject, targetObject);
+            setter.set(parentObject, targetObject);
             return targetObject;
         } catch (Exception e) {
             try {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segmentContext.getName());
-                field.setAccessible(true);
                 clazz = field.getType();
                 Object targetObject = instantiateObject(clazz);
                 field.set(parentObject, targetObject);
@@ -252,8 +250,8 @@ public class JavaFieldWriterUtil {
             Class<?> childClass = childObject == null ? null : childObject.getClass();
             Object targetObject = parentObject;
             try {
-                Method setterMethod = resolveSetterMethod(parentObject, segmentContext, childClass);
-                Class<?> targetClass = setterMethod.getParameterTypes()[0];
+                JavaPropertySetter setter = resolveSetterMethod(parentObject, segmentContext, childClass);
+                Class<?> targetClass = setter.getType();
 
                 if (childObject != null) {
                     childObject = conversionService.convertType(childObject, null, targetClass, null);
@@ -267,8 +265,7 @@ public class JavaFieldWriterUtil {
                     }
                     return;
                 }
-                setterMethod.setAccessible(true);
-                setterMethod.invoke(targetObject, childObject);
+                setter.set(targetObject, childObject);
             } catch (Exception e) {
                 java.lang.reflect.Field field = resolveField(targetObject.getClass(), segmentContext.getName());
                 if (field == null) {
@@ -288,7 +285,6 @@ public class JavaFieldWriterUtil {
                     }
                     return;
                 }
-                field.setAccessible(true);
                 field.set(targetObject, childObject);
             }
         } catch (Exception e) {
@@ -302,12 +298,10 @@ public class JavaFieldWriterUtil {
 
     public Class<?> resolveChildClass(Object parentObject, SegmentContext segment) throws AtlasException {
         try {
-            Method setterMethod = resolveSetterMethod(parentObject, segment, null);
-            return setterMethod.getParameterTypes()[0];
+            return resolveSetterMethod(parentObject, segment, null).getType();
         } catch (NoSuchMethodException e) {
             try {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segment.getName());
-                field.setAccessible(true);
                 return field.getType();
             } catch (Exception e2) {
                 String parentClassName = parentObject == null ? null : parentObject.getClass().getName();
@@ -428,11 +422,11 @@ public class JavaFieldWriterUtil {
 
     public Class<?> resolveCollectionItemClass(Object parentObject, SegmentContext segmentContext) throws AtlasException {
         Class<?> itemType = null;
-        Method getterMethod = resolveGetterMethod(parentObject.getClass(), segmentContext.getName());
+        JavaPropertyGetter getter = resolveGetterMethod(parentObject.getClass(), segmentContext.getName());
         try {
             Type genericType = null;
-            if (getterMethod != null) {
-                genericType = getterMethod.getGenericReturnType();
+            if (getter != null) {
+                genericType = getter.getGenericType();
             } else {
                 java.lang.reflect.Field field = resolveField(parentObject.getClass(), segmentContext.getName());
                 if (field == null) {
@@ -515,7 +509,18 @@ public class JavaFieldWriterUtil {
         return this.defaultCollectionImplClasses;
     }
 
-    private Method resolveGetterMethod(Class<?> clz, String fieldName) {
+    private JavaPropertyGetter resolveGetterMethod(Class<?> clz, String fieldName) {
+        Map<String, Optional<JavaPropertyGetter>> getters = getterCache.get(clz);
+        Optional<JavaPropertyGetter> answer = getters.get(fieldName);
+        if (answer == null) {
+            Method getterMethod = doResolveGetterMethod(clz, fieldName);
+            answer = Optional.ofNullable(getterMethod != null ? JavaPropertyGetter.of(getterMethod) : null);
+            getters.put(fieldName, answer);
+        }
+        return answer.orElse(null);
+    }
+
+    private Method doResolveGetterMethod(Class<?> clz, String fieldName) {
         List<String> getters = ClassHelper.getterMethodNames(fieldName);
         List<Class<?>> classTree = resolveMappableClasses(clz);
         Method getterMethod = null;
@@ -534,10 +539,27 @@ public class JavaFieldWriterUtil {
         return getterMethod;
     }
 
-    private Method resolveSetterMethod(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
+    private JavaPropertySetter resolveSetterMethod(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
             throws NoSuchMethodException {
-        String setterMethodName = "set" + capitalizeFirstLetter(segmentContext.getName());
-        List<Class<?>> classTree = resolveMappableClasses(sourceObject.getClass());
+        Map<SetterKey, Optional<JavaPropertySetter>> setters = setterCache.get(sourceObject.getClass());
+        SetterKey key = new SetterKey(segmentContext.getName(), targetType);
+        Optional<JavaPropertySetter> answer = setters.get(key);
+        if (answer == null) {
+            Method setterMethod = doResolveSetterMethod(sourceObject.getClass(), segmentContext.getName(), targetType);
+            answer = Optional.ofNullable(setterMethod != null ? new JavaPropertySetter(setterMethod) : null);
+            setters.put(key, answer);
+        }
+        if (!answer.isPresent()) {
+            throw new NoSuchMethodException("Unable to resolve expected setter 'set"
+                    + capitalizeFirstLetter(segmentContext.getName()) + "' for segment: "
+                    + segmentContext.getExpression() + ", on object: " + sourceObject);
+        }
+        return answer.get();
+    }
+
+    private Method doResolveSetterMethod(Class<?> sourceClass, String name, Class<?> targetType) {
+        String setterMethodName = "set" + capitalizeFirstLetter(name);
+        List<Class<?>> classTree = resolveMappableClasses(sourceClass);
 
         Method m = null;
         for (Class<?> clazz : classTree) {
@@ -582,18 +604,36 @@ public class JavaFieldWriterUtil {
             }
         }
 
-        throw new NoSuchMethodException("Unable to resolve expected setter '" + setterMethodName + "' for segment: "
-                + segmentContext.getExpression() + ", on object: " + sourceObject);
+        return null;
     }
 
     private java.lang.reflect.Field resolveField(Class<?> clz, String name) {
+        Map<String, Optional<java.lang.reflect.Field>> fields = fieldCache.get(clz);
+        Optional<java.lang.reflect.Field> answer = fields.get(name);
+        if (answer == null) {
+            answer = Optional.ofNullable(doResolveField(clz, name));
+            fields.put(name, answer);
+        }
+        return answer.orElse(null);
+    }
+
+    private java.lang.reflect.Field doResolveField(Class<?> clz, String name) {
         List<Class<?>> classTree = resolveMappableClasses(clz);
         for (Class<?> clazz : classTree) {
+            java.lang.reflect.Field field;
             try {
-                return clazz.getDeclaredField(name);
+                field = clazz.getDeclaredField(name);
             } catch (Exception e) {
                 continue;
             }
+            try {
+                field.setAccessible(true);
+            } catch (RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Unable to make the field '{}' accessible: {}", field, e.getMessage());
+                }
+            }
+            return field;
         }
         return null;
     }
@@ -634,4 +674,37 @@ public class JavaFieldWriterUtil {
         return classTree;
     }
 
+    private static <K, V> ClassValue<Map<K, Optional<V>>> newCache() {
+        return new ClassValue<Map<K, Optional<V>>>() {
+            @Override
+            protected Map<K, Optional<V>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static final class SetterKey {
+        private final String name;
+        private final Class<?> targetType;
+
+        private SetterKey(String name, Class<?> targetType) {
+            this.name = name;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SetterKey)) {
+                return false;
+            }
+            SetterKey other = (SetterKey) obj;
+            return name.equals(other.name) && targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + (targetType != null ? targetType.hashCode() : 0);
+        }
+    }
+
 }
@@ -24,6 +24,7 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasPath.SegmentContext;
 import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.IndexedLookupTable;
 import io.atlasmap.java.v2.JavaEnumField;
 import io.atlasmap.java.v2.JavaField;
 import io.atlasmap.spi.AtlasConversionService;
@@ -32,7 +33,6 @@ import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
-import io.atlasmap.v2.LookupEntry;
 import io.atlasmap.v2.LookupTable;
 
 /**
@@ -192,11 +192,9 @@ public class TargetValueConverter {
         String sourceValue = ((Enum<?>) sourceField.getValue()).name();
         String targetValue = sourceValue;
         if (lookupTable != null) {
-            for (LookupEntry e : lookupTable.getLookupEntry()) {
-                if (e.getSourceValue().equals(sourceValue)) {
-                    targetValue = e.getTargetValue();
-                    break;
-                }
+            IndexedLookupTable.IndexedEntry e = IndexedLookupTable.lookup(lookupTable, sourceValue, conversionService);
+            if (e != null) {
+                targetValue = e.getTargetValue();
             }
         }
 
@@ -22,21 +22,20 @@ import io.atlasmap.api.AtlasException;
 
 public class FieldAccessor extends JavaChildAccessor {
 
-    private Field field;
+    private JavaPropertyGetter field;
 
     public FieldAccessor(Object parent, String name, Field field) {
+        this(parent, name, JavaPropertyGetter.of(field));
+    }
+
+    public FieldAccessor(Object parent, String name, JavaPropertyGetter field) {
         super(parent, name);
-        field.setAccessible(true);
         this.field = field;
     }
 
     @Override
     public Object getRawValue() throws AtlasException {
-        try {
-            return field.get(getParentObject());
-        } catch (Exception e) {
-            throw new AtlasException(e);
-        }
+        return field.get(getParentObject());
     }
 
     @Override
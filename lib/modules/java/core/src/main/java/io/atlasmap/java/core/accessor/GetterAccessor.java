@@ -22,31 +22,30 @@ import io.atlasmap.api.AtlasException;
 
 public class GetterAccessor extends JavaChildAccessor {
 
-    private Method getter;
+    private JavaPropertyGetter getter;
 
     public GetterAccessor(Object parent, String name, Method getter) {
+        this(parent, name, JavaPropertyGetter.of(getter));
+    }
+
+    public GetterAccessor(Object parent, String name, JavaPropertyGetter getter) {
         super(parent, name);
-        getter.setAccessible(true);
         this.getter = getter;
     }
 
     @Override
     public Object getRawValue() throws AtlasException {
-        try {
-            return getter.invoke(getParentObject(), new Object[0]);
-        } catch (Exception e) {
-            throw new AtlasException(e);
-        }
+        return getter.get(getParentObject());
     }
 
     @Override
     public Class<?> getRawClass() {
-        return getter.getReturnType();
+        return getter.getType();
     }
 
     @Override
     public Type getRawGenericType() throws AtlasException {
-        return getter.getGenericReturnType();
+        return getter.getGenericType();
     }
 
 }
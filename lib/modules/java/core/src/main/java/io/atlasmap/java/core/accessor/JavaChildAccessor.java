@@ -60,23 +60,25 @@ public abstract class JavaChildAccessor {
             return this.collectionType;
         }
 
+        // the raw value is read once, it could be a getter method invocation
+        Object rawValue = getRawValue();
         if (getRawClass().isArray()) {
             this.collectionType = CollectionType.ARRAY;
             this.collectionValues = new ArrayList<>();
-            for (int i=0; getRawValue() != null && i<Array.getLength(getRawValue()); i++) {
-                this.collectionValues.add(Array.get(getRawValue(), i));
+            for (int i=0; rawValue != null && i<Array.getLength(rawValue); i++) {
+                this.collectionValues.add(Array.get(rawValue, i));
             }
-        } else if (getRawValue() instanceof Collection) {
+        } else if (rawValue instanceof Collection) {
             this.collectionType = CollectionType.LIST;
-            if (getRawValue() instanceof List) {
-                this.collectionValues = (List<Object>)this.getRawValue();
+            if (rawValue instanceof List) {
+                this.collectionValues = (List<Object>)rawValue;
             } else {
-                this.collectionValues = Arrays.asList(Collection.class.cast(getRawValue()).toArray());
+                this.collectionValues = Arrays.asList(Collection.class.cast(rawValue).toArray());
             }
-        } else if (getRawValue() instanceof Map) {
+        } else if (rawValue instanceof Map) {
             // TODO java.util.Map support
             this.collectionType = CollectionType.MAP;
-            this.collectionValues = Arrays.asList(Map.class.cast(getRawValue()).values().toArray());
+            this.collectionValues = Arrays.asList(Map.class.cast(rawValue).values().toArray());
         } else {
             this.collectionType = CollectionType.NONE;
         }
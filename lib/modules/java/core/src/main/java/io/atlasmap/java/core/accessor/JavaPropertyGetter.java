@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.core.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasException;
+
+/**
+ * A getter method or a field resolved to read a property, along with a {@link MethodHandle} adapted
+ * to {@code (Object)Object} so that reading a value is a direct call rather than a reflective
+ * {@link Method#invoke(Object, Object...)}. It's immutable and resolved once per class and property name.
+ */
+public final class JavaPropertyGetter {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaPropertyGetter.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Method method;
+    private final Field field;
+    // null if the member is not accessible through a MethodHandle
+    private final MethodHandle handle;
+
+    private JavaPropertyGetter(Method method, Field field, MethodHandle handle) {
+        this.method = method;
+        this.field = field;
+        this.handle = handle;
+    }
+
+    public static JavaPropertyGetter of(Method getter) {
+        getter.setAccessible(true);
+        MethodHandle mh = null;
+        try {
+            mh = MethodHandles.lookup().unreflect(getter).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Falling back to reflection for the getter {}: {}", getter, e.getMessage());
+            }
+        }
+        return new JavaPropertyGetter(getter, null, mh);
+    }
+
+    public static JavaPropertyGetter of(Field field) {
+        field.setAccessible(true);
+        MethodHandle mh = null;
+        try {
+            mh = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            mh = mh.asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Falling back to reflection for the field {}: {}", field, e.getMessage());
+            }
+        }
+        return new JavaPropertyGetter(null, field, mh);
+    }
+
+    public Object get(Object parent) throws AtlasException {
+        try {
+            if (handle != null) {
+                return (Object) handle.invokeExact(parent);
+            }
+            return method != null ? method.invoke(parent) : field.get(parent);
+        } catch (Throwable e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return method != null ? method.getReturnType() : field.getType();
+    }
+
+    public Type getGenericType() {
+        return method != null ? method.getGenericReturnType() : field.getGenericType();
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.core.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasException;
+
+/**
+ * A setter method resolved to write a property, along with a {@link MethodHandle} adapted to
+ * {@code (Object,Object)void} so that writing a value is a direct call rather than a reflective
+ * {@link Method#invoke(Object, Object...)}. It's immutable and resolved once per class, property name
+ * and value type.
+ */
+public final class JavaPropertySetter {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaPropertySetter.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Method method;
+    // null if the method is not accessible through a MethodHandle
+    private final MethodHandle handle;
+
+    public JavaPropertySetter(Method setter) {
+        setter.setAccessible(true);
+        this.method = setter;
+        MethodHandle mh = null;
+        try {
+            mh = MethodHandles.lookup().unreflect(setter).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Falling back to reflection for the setter {}: {}", setter, e.getMessage());
+            }
+        }
+        this.handle = mh;
+    }
+
+    /**
+     * Writes the value. The value must be already converted into {@link #getType()}, and must not be
+     * {@code null} if it's a primitive type.
+     *
+     * @param parent the object to write into
+     * @param value value
+     * @throws AtlasException if it fails to write
+     */
+    public void set(Object parent, Object value) throws AtlasException {
+        try {
+            if (handle != null) {
+                handle.invokeExact(parent, value);
+            } else {
+                method.invoke(parent, value);
+            }
+        } catch (Throwable e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?> getType() {
+        return method.getParameterTypes()[0];
+    }
+
+}
@@ -125,6 +125,41 @@ public class JavaFieldReaderTest extends BaseJavaFieldReaderTest {
         }
     }
 
+    @Test
+    public void testReadSharedPathPrefix() throws Exception {
+        CountingContactsClass root = new CountingContactsClass();
+        for (int i=0; i<3; i++) {
+            SourceContact c = new SourceContact();
+            c.setFirstName("firstName" + i);
+            c.setLastName("lastName" + i);
+            root.contacts.add(c);
+        }
+        reader.setDocument(root);
+        readGroup("/contactList<>/firstName", FieldType.STRING);
+        assertEquals("/contactList<>/firstName", fieldGroup.getPath());
+        assertEquals("/contactList<2>/firstName", fieldGroup.getField().get(2).getPath());
+        assertEquals("firstName2", fieldGroup.getField().get(2).getValue());
+        fieldGroup = null;
+        readGroup("/contactList<>/lastName", FieldType.STRING);
+        assertEquals("/contactList<1>/lastName", fieldGroup.getField().get(1).getPath());
+        assertEquals("lastName1", fieldGroup.getField().get(1).getValue());
+        read("/contactList<1>/firstName", FieldType.STRING);
+        assertEquals("firstName1", field.getValue());
+        assertEquals(0, audits.size());
+        // the intermediate collection is navigated once and shared across the source fields
+        assertEquals(1, root.count);
+    }
+
+    public static class CountingContactsClass {
+        private List<SourceContact> contacts = new ArrayList<>();
+        private int count;
+
+        public List<SourceContact> getContactList() {
+            count++;
+            return contacts;
+        }
+    }
+
     @Test
     public void testReadComplexListNullItem() throws Exception {
         SourceCollectionsClass root = new SourceCollectionsClass();
@@ -17,6 +17,8 @@ package io.atlasmap.java.inspect;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -25,6 +27,8 @@ import java.lang.reflect.Method;
 import org.junit.jupiter.api.Test;
 
 import io.atlasmap.java.core.ClassHelper;
+import io.atlasmap.java.core.accessor.JavaPropertyGetter;
+import io.atlasmap.java.core.accessor.JavaPropertySetter;
 
 public class ClassHelperTest {
 
@@ -113,4 +117,37 @@ public class ClassHelperTest {
                     JavaGetterSetterModel.class.getName(), "setOverloadParamNoMatch")));
         }
     }
+
+    @Test
+    public void testLookupPropertyGetter() throws Exception {
+        JavaGetterSetterModel model = new JavaGetterSetterModel();
+        model.setParam("foo");
+        model.setOverloadParamNoGetter(Byte.valueOf((byte) 1));
+
+        JavaPropertyGetter getter = ClassHelper.lookupPropertyGetter(JavaGetterSetterModel.class, "param");
+        assertEquals("getParam", getter.getMethod().getName());
+        assertEquals(String.class, getter.getType());
+        assertEquals("foo", getter.get(model));
+        assertSame(getter, ClassHelper.lookupPropertyGetter(JavaGetterSetterModel.class, "param"));
+
+        // no getter, falls back to the field
+        getter = ClassHelper.lookupPropertyGetter(JavaGetterSetterModel.class, "bite");
+        assertNull(getter.getMethod());
+        assertEquals(Byte.class, getter.getType());
+        assertEquals(Byte.valueOf((byte) 1), getter.get(model));
+
+        assertNull(ClassHelper.lookupPropertyGetter(JavaGetterSetterModel.class, "notExist"));
+        assertNull(ClassHelper.lookupAccessor(model, "notExist"));
+        assertEquals("foo", ClassHelper.lookupAccessor(model, "param").getValue());
+    }
+
+    @Test
+    public void testPropertySetter() throws Exception {
+        JavaGetterSetterModel model = new JavaGetterSetterModel();
+        JavaPropertySetter setter = new JavaPropertySetter(
+            ClassHelper.detectSetterMethod(JavaGetterSetterModel.class, "setOverloadParam", Integer.class));
+        assertEquals(Integer.class, setter.getType());
+        setter.set(model, 5);
+        assertEquals("5", model.getOverloadParam());
+    }
 }
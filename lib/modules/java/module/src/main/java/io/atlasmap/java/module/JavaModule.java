@@ -16,6 +16,7 @@
 package io.atlasmap.java.module;
 
 import java.lang.reflect.Array;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -68,9 +69,15 @@ public class JavaModule extends BaseAtlasModule {
         writerUtil = null;
     }
 
+    @Override
+    public List<Class<?>> getSupportedSourceTypes() {
+        // any object is read as is
+        return Collections.singletonList(Object.class);
+    }
+
     @Override
     public void processPreValidation(AtlasInternalSession atlasSession) throws AtlasException {
-        if (atlasSession == null || atlasSession.getMapping() == null) {
+        if (atlasSession == null || atlasSession.getMappingDefinition() == null) {
             LOG.error("Invalid session: Session and AtlasMapping must be specified");
             throw new AtlasValidationException("Invalid session");
         }
@@ -78,7 +85,7 @@ public class JavaModule extends BaseAtlasModule {
         JavaValidationService javaValidator = new JavaValidationService(getConversionService(), getFieldActionService());
         javaValidator.setMode(getMode());
         javaValidator.setDocId(getDocId());
-        List<Validation> javaValidations = javaValidator.validateMapping(atlasSession.getMapping());
+        List<Validation> javaValidations = javaValidator.validateMapping(atlasSession.getMappingDefinition());
         atlasSession.getValidations().getValidation().addAll(javaValidations);
 
         if (LOG.isDebugEnabled()) {
@@ -92,8 +99,9 @@ public class JavaModule extends BaseAtlasModule {
 
     @Override
     public void processPreSourceExecution(AtlasInternalSession atlasSession) throws AtlasException {
-        if (atlasSession == null || atlasSession.getMapping() == null || atlasSession.getMapping().getMappings() == null
-                || atlasSession.getMapping().getMappings().getMapping() == null) {
+        if (atlasSession == null || atlasSession.getMappingDefinition() == null
+                || atlasSession.getMappingDefinition().getMappings() == null
+                || atlasSession.getMappingDefinition().getMappings().getMapping() == null) {
             throw new AtlasException("AtlasSession not properly intialized with a mapping that contains field mappings");
         }
 
@@ -116,8 +124,9 @@ public class JavaModule extends BaseAtlasModule {
 
     @Override
     public void processPreTargetExecution(AtlasInternalSession atlasSession) throws AtlasException {
-        if (atlasSession == null || atlasSession.getMapping() == null || atlasSession.getMapping().getMappings() == null
-                || atlasSession.getMapping().getMappings().getMapping() == null) {
+        if (atlasSession == null || atlasSession.getMappingDefinition() == null
+                || atlasSession.getMappingDefinition().getMappings() == null
+                || atlasSession.getMappingDefinition().getMappings().getMapping() == null) {
             throw new AtlasException("AtlasSession not properly intialized with a mapping that contains field mappings");
         }
 
@@ -21,11 +21,10 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import io.atlasmap.api.AtlasConversionException;
@@ -50,8 +49,11 @@ import io.atlasmap.v2.FieldType;
 public class JsonFieldReader implements AtlasFieldReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonFieldReader.class);
+    private static final ObjectReader DEFAULT_OBJECT_READER = new ObjectMapper()
+        .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES).reader();
 
     private AtlasConversionService conversionService;
+    private ObjectReader objectReader;
     private JsonNode rootNode;
 
     @SuppressWarnings("unused")
@@ -59,7 +61,18 @@ public class JsonFieldReader implements AtlasFieldReader {
     }
 
     public JsonFieldReader(AtlasConversionService conversionService) {
+        this(conversionService, DEFAULT_OBJECT_READER);
+    }
+
+    /**
+     * A constructor.
+     *
+     * @param conversionService conversion service
+     * @param objectReader a shared {@link ObjectReader} to parse the document with
+     */
+    public JsonFieldReader(AtlasConversionService conversionService, ObjectReader objectReader) {
         this.conversionService = conversionService;
+        this.objectReader = objectReader;
     }
 
     @Override
@@ -355,14 +368,23 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
 
         try {
-            JsonFactory factory = new JsonFactory();
-            ObjectMapper mapper = new ObjectMapper()
-                .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
-            JsonParser parser = factory.createParser(document);
-            this.rootNode = mapper.readTree(parser);
+            setRootNode(objectReader.readTree(document));
         } catch (Exception e) {
             throw new AtlasException(e);
         }
     }
 
+    /**
+     * Sets the already parsed document.
+     *
+     * @param rootNode root node of the document
+     */
+    public void setRootNode(JsonNode rootNode) {
+        this.rootNode = rootNode == null || rootNode.isMissingNode() ? null : rootNode;
+    }
+
+    JsonNode getRootNode() {
+        return rootNode;
+    }
+
 }
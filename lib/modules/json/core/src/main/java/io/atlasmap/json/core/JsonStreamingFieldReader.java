@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.spi.AtlasConversionService;
+
+/**
+ * A {@link JsonFieldReader} which reads the document with a streaming {@link JsonParser} in one
+ * forward pass, and keeps only the parts of the document which are referred by the source field
+ * paths compiled into a {@link PathTrie}. The subtrees which no path refers are skipped without
+ * building {@link JsonNode}s, the field values are then read from the sparse tree in the same way
+ * as {@link JsonFieldReader}.
+ */
+public class JsonStreamingFieldReader extends JsonFieldReader {
+
+    private final ObjectReader objectReader;
+    private final JsonNodeFactory nodeFactory;
+    private final PathTrie paths;
+
+    public JsonStreamingFieldReader(AtlasConversionService conversionService, ObjectReader objectReader,
+            PathTrie paths) {
+        super(conversionService, objectReader);
+        this.objectReader = objectReader;
+        this.nodeFactory = objectReader.getConfig().getNodeFactory();
+        this.paths = paths;
+    }
+
+    @Override
+    public void setDocument(String document) throws AtlasException {
+        if (document == null || document.isEmpty()) {
+            setRootNode(null);
+            return;
+        }
+
+        try {
+            parseDocument(objectReader.getFactory().createParser(document));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Reads the document from the parser and closes it.
+     *
+     * @param parser parser
+     * @throws AtlasException if it fails to parse
+     */
+    public void parseDocument(JsonParser parser) throws AtlasException {
+        try (JsonParser p = parser) {
+            if (p.nextToken() == null) {
+                setRootNode(null);
+                return;
+            }
+            setRootNode(readNode(p, paths, true));
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private JsonNode readNode(JsonParser parser, PathTrie node, boolean root) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (node.leaf || token.isScalarValue()) {
+            return objectReader.readTree(parser);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            // keep all the items so that the collection index remains the same
+            ArrayNode array = nodeFactory.arrayNode();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                array.add(readNode(parser, node, false));
+            }
+            return array;
+        }
+        ObjectNode object = nodeFactory.objectNode();
+        String rootedName = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            PathTrie child;
+            if (root) {
+                if (rootedName != null) {
+                    // JsonFieldReader peels off only the single root field
+                    object.remove(rootedName);
+                    rootedName = null;
+                }
+                child = node.rootChildren.get(name);
+                if (child == null && object.size() == 0) {
+                    // could be a rooted object, i.e. mapping /orderId works for document { source: { orderId: 123 } }
+                    child = node;
+                    rootedName = name;
+                }
+            } else {
+                child = node.children.get(name);
+            }
+            if (child != null) {
+                object.set(name, readNode(parser, child, false));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * A trie of the field paths, where each node corresponds to a field name in the path.
+     */
+    public static final class PathTrie {
+        private final Map<String, PathTrie> children = new HashMap<>();
+        private Map<String, PathTrie> rootChildren = Collections.emptyMap();
+        private boolean leaf;
+
+        private PathTrie() {
+        }
+
+        /**
+         * Compiles the field paths into a trie.
+         *
+         * @param paths field paths
+         * @return the root of the trie
+         */
+        public static PathTrie compile(Collection<String> paths) {
+            PathTrie root = new PathTrie();
+            for (String path : paths) {
+                PathTrie node = root;
+                for (SegmentContext segment : new AtlasPath(path).getSegments(false)) {
+                    node = node.children.computeIfAbsent(segment.getName(), k -> new PathTrie());
+                }
+                node.leaf = true;
+            }
+            // the paths could be applied either to a root field or to a rooted object
+            Map<String, PathTrie> rootChildren = new HashMap<>();
+            for (Map.Entry<String, PathTrie> entry : root.children.entrySet()) {
+                PathTrie merged = new PathTrie();
+                merged.merge(entry.getValue());
+                merged.merge(root);
+                rootChildren.put(entry.getKey(), merged);
+            }
+            root.rootChildren = rootChildren;
+            return root;
+        }
+
+        private void merge(PathTrie other) {
+            leaf |= other.leaf;
+            for (Map.Entry<String, PathTrie> entry : other.children.entrySet()) {
+                children.computeIfAbsent(entry.getKey(), k -> new PathTrie()).merge(entry.getValue());
+            }
+        }
+    }
+
+}
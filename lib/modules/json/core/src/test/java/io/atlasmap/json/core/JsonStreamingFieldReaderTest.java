@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.json.core.JsonStreamingFieldReader.PathTrie;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
+import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.FieldStatus;
+
+public class JsonStreamingFieldReaderTest {
+
+    private JsonStreamingFieldReader createReader(String... paths) {
+        return new JsonStreamingFieldReader(DefaultAtlasConversionService.getInstance(), new ObjectMapper().reader(),
+            PathTrie.compile(Arrays.asList(paths)));
+    }
+
+    @Test
+    public void testReadReferredPathsOnly() throws Exception {
+        JsonStreamingFieldReader reader = createReader("/id", "/batters/batter<>/type", "/topping[1]/type");
+        reader.setDocument(new String(Files.readAllBytes(Paths.get("src/test/resources/highly-nested-object.json"))));
+
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/id");
+        read(reader, field);
+        assertEquals("0001", field.getValue());
+
+        field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/topping[1]/type");
+        read(reader, field);
+        assertEquals("Glazed", field.getValue());
+
+        field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/batters/batter<>/type");
+        Field answer = read(reader, field);
+        assertTrue(answer instanceof FieldGroup);
+        FieldGroup group = (FieldGroup) answer;
+        assertEquals(4, group.getField().size());
+        assertEquals("/batters/batter<0>/type", group.getField().get(0).getPath());
+        assertEquals("Regular", group.getField().get(0).getValue());
+        assertEquals("/batters/batter<3>/type", group.getField().get(3).getPath());
+        assertEquals("Devil's Food", group.getField().get(3).getValue());
+
+        // not referred from the mapping, skipped while parsing
+        field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/batters/batter[0]/id");
+        read(reader, field);
+        assertNull(field.getValue());
+        assertEquals(FieldStatus.NOT_FOUND, field.getStatus());
+    }
+
+    @Test
+    public void testReadRootedObject() throws Exception {
+        JsonStreamingFieldReader reader = createReader("/car/doors", "/brand");
+        reader.setDocument("{\"car\" :{ \"brand\" : \"Mercedes\", \"doors\" : 5, \"color\" : \"white\" } }");
+
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/car/doors");
+        read(reader, field);
+        assertEquals(5, field.getValue());
+
+        field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/brand");
+        read(reader, field);
+        assertEquals("Mercedes", field.getValue());
+    }
+
+    @Test
+    public void testSkipUnknownRootFields() throws Exception {
+        JsonStreamingFieldReader reader = createReader("/brand");
+        reader.setDocument("{\"car\" :{ \"brand\" : \"Mercedes\" }, \"brand\" : \"BMW\", \"bike\" :{ \"brand\" : \"Honda\" } }");
+        assertEquals("{\"brand\":\"BMW\"}", reader.getRootNode().toString());
+
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/brand");
+        read(reader, field);
+        assertEquals("BMW", field.getValue());
+    }
+
+    @Test
+    public void testReadRootCollection() throws Exception {
+        JsonStreamingFieldReader reader = createReader("/<>/name");
+        reader.parseDocument(new ObjectMapper().getFactory().createParser(
+            "[ { \"name\" : \"Bob\", \"address\" : { \"city\" : \"Raleigh\" } }, { \"name\" : \"Andrew\" } ]".getBytes()));
+
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/<>/name");
+        FieldGroup group = (FieldGroup) read(reader, field);
+        assertEquals(2, group.getField().size());
+        assertEquals("Bob", group.getField().get(0).getValue());
+        assertEquals("Andrew", group.getField().get(1).getValue());
+    }
+
+    @Test
+    public void testReadEmptyDocument() throws Exception {
+        JsonStreamingFieldReader reader = createReader("/id");
+        reader.parseDocument(new ObjectMapper().getFactory().createParser(new byte[0]));
+
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/id");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        Audits audits = new Audits();
+        when(session.getAudits()).thenReturn(audits);
+        reader.read(session);
+        assertEquals(1, audits.getAudit().size());
+    }
+
+    private Field read(JsonStreamingFieldReader reader, JsonField field) throws AtlasException {
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        when(session.getAudits()).thenReturn(new Audits());
+        return reader.read(session);
+    }
+
+}
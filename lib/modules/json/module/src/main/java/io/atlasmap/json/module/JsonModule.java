@@ -15,11 +15,28 @@
  */
 package io.atlasmap.json.module;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasPath;
@@ -27,15 +44,21 @@ import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
 import io.atlasmap.json.core.JsonFieldReader;
 import io.atlasmap.json.core.JsonFieldWriter;
+import io.atlasmap.json.core.JsonStreamingFieldReader;
+import io.atlasmap.json.core.JsonStreamingFieldReader.PathTrie;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonEnumField;
 import io.atlasmap.json.v2.JsonField;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.v2.Validations;
 
@@ -43,10 +66,21 @@ import io.atlasmap.v2.Validations;
         "json" }, configPackages = { "io.atlasmap.json.v2" })
 public class JsonModule extends BaseAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(JsonModule.class);
+    private static final List<Class<?>> SUPPORTED_SOURCE_TYPES = Collections.unmodifiableList(Arrays.asList(
+            JsonNode.class, byte[].class, ByteBuffer.class, InputStream.class, Reader.class, String.class));
+
+    // ObjectMapper is expensive to create, share the configured one and its caches among the sessions
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
+    private final ObjectReader objectReader = objectMapper.reader();
+    private final ObjectWriter objectWriter = objectMapper.writer();
+    // the stream is owned by the caller who set it as the target document, it's not closed
+    private final ObjectWriter streamWriter = objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private volatile SourcePaths sourcePaths;
 
     @Override
     public void processPreValidation(AtlasInternalSession atlasSession) throws AtlasException {
-        if (atlasSession == null || atlasSession.getMapping() == null) {
+        if (atlasSession == null || atlasSession.getMappingDefinition() == null) {
             throw new AtlasValidationException("Invalid session: Session and AtlasMapping must be specified");
         }
 
@@ -54,7 +88,7 @@ public class JsonModule extends BaseAtlasModule {
         JsonValidationService jsonValidationService = new JsonValidationService(getConversionService(), getFieldActionService());
         jsonValidationService.setMode(getMode());
         jsonValidationService.setDocId(getDocId());
-        List<Validation> jsonValidations = jsonValidationService.validateMapping(atlasSession.getMapping());
+        List<Validation> jsonValidations = jsonValidationService.validateMapping(atlasSession.getMappingDefinition());
         if (jsonValidations != null && !jsonValidations.isEmpty()) {
             validations.getValidation().addAll(jsonValidations);
         }
@@ -71,16 +105,28 @@ public class JsonModule extends BaseAtlasModule {
     @Override
     public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
-        String sourceDocumentString = null;
-        if (sourceDocument == null || !(sourceDocument instanceof String)) {
+        JsonFieldReader fieldReader;
+        String param = this.getUriParameters().get("streaming");
+        if (param != null && "true".equalsIgnoreCase(param)) {
+            fieldReader = new JsonStreamingFieldReader(getConversionService(), objectReader,
+                    getSourcePaths(session.getMappingDefinition()));
+        } else {
+            fieldReader = new JsonFieldReader(getConversionService(), objectReader);
+        }
+        if (sourceDocument instanceof String) {
+            fieldReader.setDocument((String) sourceDocument);
+        } else if (sourceDocument instanceof JsonNode) {
+            fieldReader.setRootNode((JsonNode) sourceDocument);
+        } else if (fieldReader instanceof JsonStreamingFieldReader && isSupportedSourceType(sourceDocument)) {
+            ((JsonStreamingFieldReader) fieldReader).parseDocument(createParser(sourceDocument));
+        } else if (isSupportedSourceType(sourceDocument)) {
+            fieldReader.setRootNode(readTree(sourceDocument));
+        } else {
             AtlasUtil.addAudit(session, getDocId(), String.format(
-                    "Null or non-String source document: docId='%s'", getDocId()),
+                    "Null or unsupported source document, one of %s is expected: docId='%s'",
+                    SUPPORTED_SOURCE_TYPES, getDocId()),
                     AuditStatus.WARN, null);
-        } else {
-            sourceDocumentString = String.class.cast(sourceDocument);
         }
-        JsonFieldReader fieldReader = new JsonFieldReader(getConversionService());
-        fieldReader.setDocument(sourceDocumentString);
         session.setFieldReader(getDocId(), fieldReader);
 
         if (LOG.isDebugEnabled()) {
@@ -88,9 +134,104 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public List<Class<?>> getSupportedSourceTypes() {
+        return SUPPORTED_SOURCE_TYPES;
+    }
+
+    private boolean isSupportedSourceType(Object sourceDocument) {
+        return AtlasUtil.isSupportedSourceType(this, sourceDocument);
+    }
+
+    private JsonNode readTree(Object sourceDocument) throws AtlasException {
+        try {
+            if (sourceDocument instanceof byte[]) {
+                byte[] bytes = (byte[]) sourceDocument;
+                return bytes.length != 0 ? objectReader.readTree(bytes) : null;
+            } else if (sourceDocument instanceof ByteBuffer) {
+                ByteBuffer buffer = (ByteBuffer) sourceDocument;
+                return buffer.hasRemaining() ? objectReader.readTree(AtlasUtil.toInputStream(buffer)) : null;
+            } else if (sourceDocument instanceof Reader) {
+                return objectReader.readTree((Reader) sourceDocument);
+            }
+            return objectReader.readTree((InputStream) sourceDocument);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private JsonParser createParser(Object sourceDocument) throws AtlasException {
+        try {
+            if (sourceDocument instanceof byte[]) {
+                return objectReader.getFactory().createParser((byte[]) sourceDocument);
+            } else if (sourceDocument instanceof ByteBuffer) {
+                ByteBuffer buffer = (ByteBuffer) sourceDocument;
+                if (buffer.hasArray()) {
+                    return objectReader.getFactory().createParser(buffer.array(),
+                            buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                }
+                return objectReader.getFactory().createParser(AtlasUtil.toInputStream(buffer));
+            } else if (sourceDocument instanceof Reader) {
+                return objectReader.getFactory().createParser((Reader) sourceDocument);
+            }
+            return objectReader.getFactory().createParser((InputStream) sourceDocument);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Gets the source field paths of this document referred from the mapping definition,
+     * which are compiled once for the mapping definition.
+     */
+    private PathTrie getSourcePaths(AtlasMapping mapping) {
+        SourcePaths answer = sourcePaths;
+        if (answer == null || answer.mapping != mapping) {
+            Set<String> paths = new HashSet<>();
+            if (mapping != null && mapping.getMappings() != null) {
+                collectSourcePaths(mapping.getMappings().getMapping(), paths);
+            }
+            answer = new SourcePaths(mapping, PathTrie.compile(paths));
+            sourcePaths = answer;
+        }
+        return answer.trie;
+    }
+
+    private void collectSourcePaths(List<BaseMapping> mappings, Set<String> paths) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection && ((Collection) baseMapping).getMappings() != null) {
+                collectSourcePaths(((Collection) baseMapping).getMappings().getMapping(), paths);
+            } else if (baseMapping instanceof Mapping) {
+                Mapping m = (Mapping) baseMapping;
+                if (m.getInputFieldGroup() != null) {
+                    collectSourcePaths(m.getInputFieldGroup(), paths);
+                }
+                for (Field f : m.getInputField()) {
+                    collectSourcePaths(f, paths);
+                }
+            }
+        }
+    }
+
+    private void collectSourcePaths(Field field, Set<String> paths) {
+        String docId = field.getDocId();
+        if (docId == null || docId.isEmpty()) {
+            // resolved in the same way as DefaultAtlasContext resolves the module
+            docId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+        }
+        if (getDocId().equals(docId) && field.getPath() != null) {
+            // a complex field is read as a whole
+            paths.add(field.getPath());
+        } else if (field instanceof FieldGroup) {
+            for (Field child : ((FieldGroup) field).getField()) {
+                collectSourcePaths(child, paths);
+            }
+        }
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
-        JsonFieldWriter writer = new JsonFieldWriter();
+        JsonFieldWriter writer = new JsonFieldWriter(objectMapper);
         session.setFieldWriter(getDocId(), writer);
 
         if (LOG.isDebugEnabled()) {
@@ -219,8 +360,21 @@ public class JsonModule extends BaseAtlasModule {
     @Override
     public void processPostTargetExecution(AtlasInternalSession session) throws AtlasException {
         JsonFieldWriter writer = session.getFieldWriter(getDocId(), JsonFieldWriter.class);
-        if (writer != null && writer.getRootNode() != null) {
-            String outputBody = writer.getRootNode().toString();
+        Object targetDocument = session.hasTargetDocument(getDocId()) ? session.getTargetDocument(getDocId()) : null;
+        if (writer != null && writer.getRootNode() != null && targetDocument instanceof OutputStream) {
+            // the caller asked to write the document into the stream rather than to create a String
+            try {
+                streamWriter.writeValue((OutputStream) targetDocument, writer.getRootNode());
+            } catch (Exception e) {
+                throw new AtlasException(e);
+            }
+        } else if (writer != null && writer.getRootNode() != null) {
+            String outputBody;
+            try {
+                outputBody = objectWriter.writeValueAsString(writer.getRootNode());
+            } catch (Exception e) {
+                throw new AtlasException(e);
+            }
             session.setTargetDocument(getDocId(), outputBody);
             if (LOG.isDebugEnabled()) {
                 LOG.debug(String.format("processPostTargetExecution converting JsonNode to string size=%s",
@@ -256,4 +410,14 @@ public class JsonModule extends BaseAtlasModule {
         return AtlasJsonModelFactory.createJsonField();
     }
 
+    private static final class SourcePaths {
+        private final AtlasMapping mapping;
+        private final PathTrie trie;
+
+        private SourcePaths(AtlasMapping mapping, PathTrie trie) {
+            this.mapping = mapping;
+            this.trie = trie;
+        }
+    }
+
 }
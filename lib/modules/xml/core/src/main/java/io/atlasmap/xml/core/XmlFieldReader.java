@@ -16,6 +16,7 @@
 package io.atlasmap.xml.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -68,6 +69,11 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
         this.conversionService = conversionService;
     }
 
+    public XmlFieldReader(XmlIOHelper xmlHelper, AtlasConversionService conversionService) {
+        super(xmlHelper, new HashMap<>());
+        this.conversionService = conversionService;
+    }
+
     public Field read(AtlasInternalSession session) throws AtlasException {
         Field field = session.head().getSourceField();
         if (document == null) {
@@ -318,7 +324,7 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
 
     private Optional<XmlNamespaces> getSourceNamespaces(AtlasInternalSession session, Field field) {
         DataSource dataSource = null;
-        AtlasMapping mapping = session.getMapping();
+        AtlasMapping mapping = session.getMappingDefinition();
         // this is to simplify tests which uses mocks
         if (mapping == null || mapping.getDataSource() == null || field.getDocId() == null) {
             return Optional.empty();
@@ -35,8 +35,12 @@ public abstract class XmlFieldTransformer {
     }
 
     public XmlFieldTransformer(ClassLoader cl, Map<String, String> namespaces) {
-        this.classLoader = cl;
-        this.xmlHelper = new XmlIOHelper(cl);
+        this(new XmlIOHelper(cl), namespaces);
+    }
+
+    public XmlFieldTransformer(XmlIOHelper xmlHelper, Map<String, String> namespaces) {
+        this.classLoader = xmlHelper.getClassLoader();
+        this.xmlHelper = xmlHelper;
         this.namespaces = namespaces;
     }
 
@@ -15,36 +15,142 @@
  */
 package io.atlasmap.xml.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Result;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 
 import io.atlasmap.api.AtlasException;
 
+/**
+ * XML parsing and serialization facility. The factories are created and configured once on first use,
+ * and {@link DocumentBuilder} and {@link Transformer}, which are not thread-safe, are kept per thread
+ * and reset before being reused, so that sharing one instance among the sessions avoids creating
+ * them for each document.
+ */
 public final class XmlIOHelper {
+    private static final Logger LOG = LoggerFactory.getLogger(XmlIOHelper.class);
 
-    private TransformerFactory transformerFactory;
+    private final ClassLoader classLoader;
+    private volatile TransformerFactory transformerFactory;
+    private volatile DocumentBuilderFactory documentBuilderFactory;
+    private volatile DocumentBuilderFactory namespaceAwareDocumentBuilderFactory;
+    private final ThreadLocal<Transformer> transformer = new ThreadLocal<>();
+    private final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<>();
+    private final ThreadLocal<DocumentBuilder> namespaceAwareDocumentBuilder = new ThreadLocal<>();
 
     public XmlIOHelper(ClassLoader cl) {
-        ClassLoader origTccl = Thread.currentThread().getContextClassLoader();
+        this.classLoader = cl;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Parses the XML document.
+     *
+     * @param source XML document
+     * @param namespaced whether to enable namespace support
+     * @return parsed document
+     * @throws AtlasException if it fails to parse
+     */
+    public Document parseDocument(String source, boolean namespaced) throws AtlasException {
+        return parseDocument(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), namespaced);
+    }
+
+    /**
+     * Parses the XML document.
+     *
+     * @param source XML document
+     * @param namespaced whether to enable namespace support
+     * @return parsed document
+     * @throws AtlasException if it fails to parse
+     */
+    public Document parseDocument(InputStream source, boolean namespaced) throws AtlasException {
         try {
-            Thread.currentThread().setContextClassLoader(cl);
-            this.transformerFactory = TransformerFactory.newInstance();
-        } finally {
-            Thread.currentThread().setContextClassLoader(origTccl);
+            return getDocumentBuilder(namespaced).parse(source);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Parses the XML document.
+     *
+     * @param source XML document
+     * @param namespaced whether to enable namespace support
+     * @return parsed document
+     * @throws AtlasException if it fails to parse
+     */
+    public Document parseDocument(Reader source, boolean namespaced) throws AtlasException {
+        try {
+            return getDocumentBuilder(namespaced).parse(new InputSource(source));
+        } catch (Exception e) {
+            throw new AtlasException(e);
         }
     }
 
+    /**
+     * Creates an empty XML document.
+     *
+     * @param namespaced whether to enable namespace support
+     * @return empty document
+     * @throws AtlasException if it fails to create a document builder
+     */
+    public Document newDocument(boolean namespaced) throws AtlasException {
+        return getDocumentBuilder(namespaced).newDocument();
+    }
+
+    /**
+     * Serializes the XML node into the writer.
+     *
+     * @param node XML node
+     * @param writer writer
+     * @throws AtlasException if it fails to serialize
+     */
+    public void writeDocument(Node node, Writer writer) throws AtlasException {
+        transform(node, new StreamResult(writer));
+    }
+
+    /**
+     * Serializes the XML node into the stream, encoded in UTF-8 unless the transformer
+     * is configured otherwise.
+     *
+     * @param node XML node
+     * @param out output stream
+     * @throws AtlasException if it fails to serialize
+     */
+    public void writeDocument(Node node, OutputStream out) throws AtlasException {
+        transform(node, new StreamResult(out));
+    }
+
     public static List<Element> getChildrenWithName(String name, Element parentNode) {
         List<Element> children = new LinkedList<>();
         if (parentNode == null) {
@@ -81,23 +187,18 @@ public final class XmlIOHelper {
     }
 
     public String writeDocumentToString(boolean stripSpaces, Node node) throws AtlasException {
-        try {
-            if (node == null) {
-                return "";
-            }
-            Transformer transformer = transformerFactory.newTransformer();
-            StringWriter writer = new StringWriter();
-            transformer.transform(new DOMSource(node), new StreamResult(writer));
-
-            String result = writer.getBuffer().toString();
-            if (stripSpaces) {
-                result = result.replaceAll("\n|\r", "");
-                result = result.replaceAll("> *?<", "><");
-            }
-            return result;
-        } catch (Exception e) {
-            throw new AtlasException(e);
+        if (node == null) {
+            return "";
+        }
+        StringWriter writer = new StringWriter();
+        writeDocument(node, writer);
+
+        String result = writer.getBuffer().toString();
+        if (stripSpaces) {
+            result = result.replaceAll("\n|\r", "");
+            result = result.replaceAll("> *?<", "><");
         }
+        return result;
     }
 
     public static String getNodeNameWithoutNamespaceAlias(Node child) {
@@ -109,4 +210,101 @@ public final class XmlIOHelper {
         return nodeName;
     }
 
+    private void transform(Node node, Result result) throws AtlasException {
+        try {
+            Transformer t = transformer.get();
+            if (t == null) {
+                t = getTransformerFactory().newTransformer();
+                transformer.set(t);
+            } else {
+                t.reset();
+            }
+            t.transform(new DOMSource(node), result);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private DocumentBuilder getDocumentBuilder(boolean namespaced) throws AtlasException {
+        ThreadLocal<DocumentBuilder> holder = namespaced ? namespaceAwareDocumentBuilder : documentBuilder;
+        DocumentBuilder builder = holder.get();
+        if (builder != null) {
+            builder.reset();
+            return builder;
+        }
+        try {
+            builder = getDocumentBuilderFactory(namespaced).newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new AtlasException(e);
+        }
+        holder.set(builder);
+        return builder;
+    }
+
+    private DocumentBuilderFactory getDocumentBuilderFactory(boolean namespaced) {
+        DocumentBuilderFactory answer = namespaced ? namespaceAwareDocumentBuilderFactory : documentBuilderFactory;
+        if (answer != null) {
+            return answer;
+        }
+        synchronized (this) {
+            answer = namespaced ? namespaceAwareDocumentBuilderFactory : documentBuilderFactory;
+            if (answer == null) {
+                answer = createDocumentBuilderFactory(namespaced);
+                if (namespaced) {
+                    namespaceAwareDocumentBuilderFactory = answer;
+                } else {
+                    documentBuilderFactory = answer;
+                }
+            }
+            return answer;
+        }
+    }
+
+    private DocumentBuilderFactory createDocumentBuilderFactory(boolean namespaced) {
+        DocumentBuilderFactory dbf = withClassLoader(DocumentBuilderFactory::newInstance);
+        dbf.setNamespaceAware(namespaced);
+        dbf.setXIncludeAware(false);
+        setFeature(dbf, XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        setFeature(dbf, "http://xml.org/sax/features/external-general-entities", false);
+        setFeature(dbf, "http://xml.org/sax/features/external-parameter-entities", false);
+        return dbf;
+    }
+
+    private void setFeature(DocumentBuilderFactory dbf, String feature, boolean value) {
+        try {
+            dbf.setFeature(feature, value);
+        } catch (ParserConfigurationException e) {
+            LOG.debug("DocumentBuilderFactory '{}' doesn't support the feature '{}'", dbf.getClass().getName(), feature);
+        }
+    }
+
+    private TransformerFactory getTransformerFactory() {
+        TransformerFactory answer = transformerFactory;
+        if (answer != null) {
+            return answer;
+        }
+        synchronized (this) {
+            if (transformerFactory == null) {
+                TransformerFactory tf = withClassLoader(TransformerFactory::newInstance);
+                try {
+                    tf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                } catch (TransformerConfigurationException e) {
+                    LOG.debug("TransformerFactory '{}' doesn't support the secure processing", tf.getClass().getName());
+                }
+                transformerFactory = tf;
+            }
+            return transformerFactory;
+        }
+    }
+
+    private <T> T withClassLoader(Supplier<T> factory) {
+        ClassLoader origTccl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            return factory.get();
+        } finally {
+            Thread.currentThread().setContextClassLoader(origTccl);
+        }
+    }
+
 }
@@ -35,11 +35,14 @@ public class XmlPath extends AtlasPath {
         super(updatedPath(path, namespacesToReplace));
     }
 
+    protected XmlPath(List<SegmentContext> segments) {
+        super(segments);
+    }
+
     public List<XmlSegmentContext> getXmlSegments(boolean includeRoot) {
         List<XmlSegmentContext> answer = new ArrayList<>();
-        int start = includeRoot ? 0 : 1;
-        for (int i=start; i<segmentContexts.size(); i++) {
-            answer.add((XmlSegmentContext)segmentContexts.get(i));
+        for (SegmentContext sc : getSegments(includeRoot)) {
+            answer.add((XmlSegmentContext)sc);
         }
         return Collections.unmodifiableList(answer);
     }
@@ -49,15 +52,12 @@ public class XmlPath extends AtlasPath {
     }
 
     public XmlPath getLastSegmentParentPath() {
-        if (this.segmentContexts.isEmpty() || this.segmentContexts.size() == 1) {
+        int size = getSegments(true).size();
+        if (size <= 1) {
             return null;
         }
 
-        XmlPath parentPath = new XmlPath(null);
-        for (int i = 0; i < this.segmentContexts.size() - 1; i++) {
-            parentPath.appendField(this.segmentContexts.get(i).getExpression());
-        }
-        return parentPath;
+        return new XmlPath(copySegments(0, size - 1));
     }
 
     protected XmlSegmentContext createSegmentContext(String expression) {
@@ -118,20 +118,27 @@ public class XmlPath extends AtlasPath {
     }
 
     public static class XmlSegmentContext extends SegmentContext {
-        private String namespace;
-        private String qname;
+        private final String namespace;
+        private final String qname;
 
         public XmlSegmentContext(String expression) {
             super(expression);
             if (getExpression().contains(PATH_NAMESPACE_SEPARATOR)) {
                 String[] splitted = getExpression().split(PATH_NAMESPACE_SEPARATOR);
-                namespace = isAttribute() ? splitted[0].replaceFirst(PATH_ATTRIBUTE_PREFIX, "") : splitted[0];
+                namespace = isAttribute() ? splitted[0].substring(PATH_ATTRIBUTE_PREFIX.length()) : splitted[0];
                 qname = namespace + PATH_NAMESPACE_SEPARATOR + getName();
             } else {
+                namespace = null;
                 qname = getName();
             }
         }
 
+        protected XmlSegmentContext(XmlSegmentContext base, String expression, Integer collectionIndex) {
+            super(base, expression, collectionIndex);
+            this.namespace = base.namespace;
+            this.qname = base.qname;
+        }
+
         public String getNamespace() {
             return namespace;
         }
@@ -153,21 +160,14 @@ public class XmlPath extends AtlasPath {
             return answer;
         }
 
-        protected XmlSegmentContext rebuild() {
-            StringBuilder buf = new StringBuilder();
-            if (isAttribute()) {
-                buf.append(PATH_ATTRIBUTE_PREFIX);
-            }
-            buf.append(qname);
-            String index = getCollectionIndex() != null ? getCollectionIndex().toString() : "";
-            if (getCollectionType() == CollectionType.ARRAY) {
-                buf.append(PATH_ARRAY_START).append(index).append(PATH_ARRAY_END);
-            } else if (getCollectionType() == CollectionType.LIST) {
-                buf.append(PATH_LIST_START).append(index).append(PATH_LIST_END);
-            } else if (getCollectionType() == CollectionType.MAP) {
-                buf.append(PATH_LIST_START).append(getMapKey()).append(PATH_LIST_END);
-            }
-            return new XmlSegmentContext(buf.toString());
+        @Override
+        public XmlSegmentContext withCollectionIndex(Integer index) {
+            return (XmlSegmentContext) super.withCollectionIndex(index);
+        }
+
+        @Override
+        protected XmlSegmentContext copy(String newExpression, Integer newIndex) {
+            return new XmlSegmentContext(this, newExpression, newIndex);
         }
 
         @Override
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.spi.AtlasConversionService;
+import io.atlasmap.xml.core.XmlPath.XmlSegmentContext;
+
+/**
+ * A {@link XmlFieldReader} which reads the namespace aware document with a StAX {@link XMLStreamReader}
+ * in one forward pass, and keeps only the elements which are referred by the source field paths compiled
+ * into a {@link PathTrie}. The elements which no path refers are skipped without creating DOM nodes,
+ * the field values are then read from the sparse document in the same way as {@link XmlFieldReader}.
+ * The elements kept in the sparse document carry all of their attributes and namespace declarations.
+ */
+public class XmlStreamingFieldReader extends XmlFieldReader {
+
+    private static final XMLInputFactory INPUT_FACTORY;
+
+    static {
+        INPUT_FACTORY = XMLInputFactory.newInstance();
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final PathTrie paths;
+
+    public XmlStreamingFieldReader(XmlIOHelper xmlHelper, AtlasConversionService conversionService, PathTrie paths) {
+        super(xmlHelper, conversionService);
+        this.paths = paths;
+    }
+
+    /**
+     * Reads the document from the stream.
+     *
+     * @param document document
+     * @throws AtlasException if it fails to parse
+     */
+    public void parseDocument(InputStream document) throws AtlasException {
+        try {
+            parseDocument(INPUT_FACTORY.createXMLStreamReader(document));
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Reads the document from the reader.
+     *
+     * @param document document
+     * @throws AtlasException if it fails to parse
+     */
+    public void parseDocument(Reader document) throws AtlasException {
+        try {
+            parseDocument(INPUT_FACTORY.createXMLStreamReader(document));
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    private void parseDocument(XMLStreamReader reader) throws AtlasException {
+        try {
+            Document document = xmlHelper.newDocument(true);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    Element root = createElement(reader, document);
+                    document.appendChild(root);
+                    readElement(reader, root, paths.forRoot(reader.getLocalName()));
+                    break;
+                }
+            }
+            setDocument(document.getDocumentElement() != null ? document : null);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        } finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+    }
+
+    private void readElement(XMLStreamReader reader, Element target, PathTrie node) throws XMLStreamException {
+        Document document = target.getOwnerDocument();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                PathTrie child = node.leaf ? node : node.children.get(reader.getLocalName());
+                if (child == null) {
+                    skipElement(reader);
+                    break;
+                }
+                Element childElement = createElement(reader, document);
+                target.appendChild(childElement);
+                readElement(reader, childElement, child);
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.SPACE:
+                if (node.leaf) {
+                    target.appendChild(document.createTextNode(reader.getText()));
+                }
+                break;
+            case XMLStreamConstants.CDATA:
+                if (node.leaf) {
+                    target.appendChild(document.createCDATASection(reader.getText()));
+                }
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                return;
+            default:
+                // comments and processing instructions are not a part of the text content
+            }
+        }
+    }
+
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private Element createElement(XMLStreamReader reader, Document document) {
+        Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()),
+                toQName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                    prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE
+                        : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix,
+                    reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)),
+                    toQName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private String toQName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private String emptyToNull(String namespaceUri) {
+        return namespaceUri == null || namespaceUri.isEmpty() ? null : namespaceUri;
+    }
+
+    /**
+     * A trie of the field paths, where each node corresponds to an element local name in the path.
+     * The elements in the attribute path are kept with all of their attributes.
+     */
+    public static final class PathTrie {
+        private final Map<String, PathTrie> children = new HashMap<>();
+        private Map<String, PathTrie> rootChildren = Collections.emptyMap();
+        private boolean leaf;
+
+        private PathTrie() {
+        }
+
+        /**
+         * Compiles the field paths into a trie.
+         *
+         * @param paths field paths
+         * @return the root of the trie
+         */
+        public static PathTrie compile(Collection<String> paths) {
+            PathTrie root = new PathTrie();
+            for (String path : paths) {
+                PathTrie node = root;
+                boolean attribute = false;
+                for (XmlSegmentContext segment : new XmlPath(path).getXmlSegments(false)) {
+                    if (segment.isAttribute()) {
+                        attribute = true;
+                        break;
+                    }
+                    node = node.children.computeIfAbsent(segment.getName(), k -> new PathTrie());
+                }
+                if (!attribute) {
+                    node.leaf = true;
+                }
+            }
+            // the paths could either start from the root element or from its children
+            Map<String, PathTrie> rootChildren = new HashMap<>();
+            for (Map.Entry<String, PathTrie> entry : root.children.entrySet()) {
+                PathTrie merged = new PathTrie();
+                merged.merge(root);
+                merged.merge(entry.getValue());
+                rootChildren.put(entry.getKey(), merged);
+            }
+            root.rootChildren = rootChildren;
+            return root;
+        }
+
+        /**
+         * The path could either start from the root element or from its children, as
+         * {@link XmlFieldReader} skips the root segment if it matches with the root element.
+         */
+        private PathTrie forRoot(String rootName) {
+            return rootChildren.getOrDefault(rootName, this);
+        }
+
+        private void merge(PathTrie other) {
+            leaf |= other.leaf;
+            for (Map.Entry<String, PathTrie> entry : other.children.entrySet()) {
+                children.computeIfAbsent(entry.getKey(), k -> new PathTrie()).merge(entry.getValue());
+            }
+        }
+    }
+
+}
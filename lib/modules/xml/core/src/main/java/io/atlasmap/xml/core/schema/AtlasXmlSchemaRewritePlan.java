@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core.schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.sun.xml.xsom.XSAttributeDecl;
+import com.sun.xml.xsom.XSAttributeUse;
+import com.sun.xml.xsom.XSComplexType;
+import com.sun.xml.xsom.XSContentType;
+import com.sun.xml.xsom.XSElementDecl;
+import com.sun.xml.xsom.XSModelGroup;
+import com.sun.xml.xsom.XSParticle;
+import com.sun.xml.xsom.XSSchemaSet;
+import com.sun.xml.xsom.XSTerm;
+import com.sun.xml.xsom.XSType;
+
+/**
+ * Rewrite XML document instance to conform XML schema in the same way as {@link AtlasRewritingXSVisitor},
+ * but with the element ordering plan compiled from the {@link XSSchemaSet} in advance. Once compiled,
+ * the plan is immutable and could be shared among threads, so that the schema doesn't have to be
+ * parsed for each document.
+ */
+public class AtlasXmlSchemaRewritePlan {
+
+    private final Map<String, ElementPlan> rootElements;
+
+    private AtlasXmlSchemaRewritePlan(Map<String, ElementPlan> rootElements) {
+        this.rootElements = Collections.unmodifiableMap(rootElements);
+    }
+
+    /**
+     * Compiles the element ordering plan for all the global element declarations in the schema set.
+     *
+     * @param schemaSet schema set
+     * @return compiled plan
+     */
+    public static AtlasXmlSchemaRewritePlan compile(XSSchemaSet schemaSet) {
+        Map<XSType, TypePlan> types = new IdentityHashMap<>();
+        Map<String, ElementPlan> rootElements = new HashMap<>();
+        Iterator<XSElementDecl> it = schemaSet.iterateElementDecls();
+        while (it.hasNext()) {
+            XSElementDecl decl = it.next();
+            rootElements.put(toKey(decl.getTargetNamespace(), decl.getName()), compileElement(decl, types));
+        }
+        return new AtlasXmlSchemaRewritePlan(rootElements);
+    }
+
+    /**
+     * Rewrites the document to conform the schema.
+     *
+     * @param source source document
+     * @param target empty target document to write into
+     * @return {@code false} if the root element is not declared in the schema, otherwise {@code true}
+     */
+    public boolean rewrite(Document source, Document target) {
+        Element sourceRoot = source.getDocumentElement();
+        String namespaceUri = sourceRoot.getNamespaceURI();
+        if (namespaceUri == null) {
+            namespaceUri = XMLConstants.NULL_NS_URI;
+        }
+        String localName = sourceRoot.getLocalName();
+        if (XMLConstants.NULL_NS_URI.equals(namespaceUri)) {
+            localName = sourceRoot.getTagName();
+        }
+        ElementPlan root = rootElements.get(toKey(namespaceUri, localName));
+        if (root == null) {
+            return false;
+        }
+        root.rewrite(source, target);
+        return true;
+    }
+
+    private static String toKey(String namespaceUri, String localName) {
+        return (namespaceUri != null ? namespaceUri : XMLConstants.NULL_NS_URI) + ":" + localName;
+    }
+
+    private static ElementPlan compileElement(XSElementDecl decl, Map<XSType, TypePlan> types) {
+        return new ElementPlan(decl.getTargetNamespace(), decl.getName(), compileType(decl.getType(), types));
+    }
+
+    private static TypePlan compileType(XSType type, Map<XSType, TypePlan> types) {
+        TypePlan answer = types.get(type);
+        if (answer != null) {
+            return answer;
+        }
+        answer = new TypePlan();
+        // register before compiling the children to allow recursive types
+        types.put(type, answer);
+        XSComplexType complex = type.asComplexType();
+        if (complex == null) {
+            answer.copyText = true;
+            return answer;
+        }
+        for (XSAttributeUse use : complex.getAttributeUses()) {
+            XSAttributeDecl decl = use.getDecl();
+            answer.attributes.add(new AttributePlan(decl.getTargetNamespace(), decl.getName()));
+        }
+        XSContentType contentType = complex.getContentType();
+        if (contentType.asSimpleType() != null) {
+            answer.copyText = true;
+        } else if (contentType.asParticle() != null) {
+            compileTerm(contentType.asParticle().getTerm(), answer.elements, types);
+        }
+        return answer;
+    }
+
+    private static void compileTerm(XSTerm term, List<ElementPlan> elements, Map<XSType, TypePlan> types) {
+        if (term.isElementDecl()) {
+            elements.add(compileElement(term.asElementDecl(), types));
+        } else if (term.isModelGroupDecl()) {
+            compileTerm(term.asModelGroupDecl().getModelGroup(), elements, types);
+        } else if (term.isModelGroup()) {
+            XSModelGroup model = term.asModelGroup();
+            for (XSParticle particle : model.getChildren()) {
+                compileTerm(particle.getTerm(), elements, types);
+            }
+        }
+    }
+
+    private static final class ElementPlan {
+        private final String namespaceUri;
+        private final String localName;
+        private final TypePlan type;
+
+        private ElementPlan(String namespaceUri, String localName, TypePlan type) {
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+            this.type = type;
+        }
+
+        private void rewrite(Node source, Node target) {
+            Document targetDoc = (target instanceof Document ? (Document)target : target.getOwnerDocument());
+            NodeList nodeList = source.getChildNodes();
+            for (int i = 0; i < nodeList.getLength(); i++) {
+                Node n = nodeList.item(i);
+                if (n.getNodeType() != Node.ELEMENT_NODE || !matches((Element)n)) {
+                    continue;
+                }
+                Element targetChild;
+                if (namespaceUri == null) {
+                    targetChild = targetDoc.createElement(localName);
+                } else {
+                    targetChild = targetDoc.createElementNS(namespaceUri, localName);
+                }
+                target.appendChild(targetChild);
+                type.rewrite((Element)n, targetChild);
+            }
+        }
+
+        private boolean matches(Element e) {
+            if ((namespaceUri == null || XMLConstants.NULL_NS_URI.equals(namespaceUri))
+                && (e.getNamespaceURI() == null || XMLConstants.NULL_NS_URI.equals(e.getNamespaceURI()))) {
+                return localName != null && localName.equals(e.getTagName());
+            }
+            return namespaceUri != null && namespaceUri.equals(e.getNamespaceURI())
+                && localName != null && localName.equals(e.getLocalName());
+        }
+    }
+
+    private static final class TypePlan {
+        private final List<AttributePlan> attributes = new ArrayList<>();
+        private final List<ElementPlan> elements = new ArrayList<>();
+        private boolean copyText;
+
+        private void rewrite(Element source, Element target) {
+            for (AttributePlan attribute : attributes) {
+                attribute.rewrite(source, target);
+            }
+            if (copyText) {
+                String value = source.getTextContent();
+                if (value != null) {
+                    target.setTextContent(value);
+                }
+            }
+            for (ElementPlan element : elements) {
+                element.rewrite(source, target);
+            }
+        }
+    }
+
+    private static final class AttributePlan {
+        private final String namespaceUri;
+        private final String localName;
+
+        private AttributePlan(String namespaceUri, String localName) {
+            this.namespaceUri = namespaceUri == null ? XMLConstants.NULL_NS_URI : namespaceUri;
+            this.localName = localName;
+        }
+
+        private void rewrite(Element source, Element target) {
+            NamedNodeMap attrMap = source.getAttributes();
+            if (attrMap == null) {
+                return;
+            }
+            Node attr = null;
+            if (XMLConstants.NULL_NS_URI.equals(namespaceUri)) {
+                attr = attrMap.getNamedItem(localName);
+            }
+            if (attr == null) {
+                attr = attrMap.getNamedItemNS(namespaceUri, localName);
+            }
+            if (attr == null) {
+                return;
+            }
+            if (XMLConstants.NULL_NS_URI.equals(namespaceUri)) {
+                target.setAttribute(localName, attr.getNodeValue());
+            } else {
+                target.setAttributeNS(namespaceUri, localName, attr.getNodeValue());
+            }
+        }
+    }
+
+}
@@ -848,7 +848,7 @@ public class XmlFieldReaderTest {
         xmlDataSource.setXmlNamespaces(atlasNamespaces);
         dataSources.add(xmlDataSource);
         when(atlasMapping.getDataSource()).thenReturn(dataSources);
-        when(session.getMapping()).thenReturn(atlasMapping);
+        when(session.getMappingDefinition()).thenReturn(atlasMapping);
     }
 
 }
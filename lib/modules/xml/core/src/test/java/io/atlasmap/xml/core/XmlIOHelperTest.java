@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import io.atlasmap.api.AtlasException;
+
+public class XmlIOHelperTest {
+
+    private XmlIOHelper helper = new XmlIOHelper(XmlIOHelperTest.class.getClassLoader());
+
+    @Test
+    public void testParseAndWrite() throws Exception {
+        Document doc = helper.parseDocument("<ns:a xmlns:ns=\"urn:test\"><ns:b>1</ns:b></ns:a>", true);
+        assertEquals("urn:test", doc.getDocumentElement().getNamespaceURI());
+        doc = helper.parseDocument("<ns:a xmlns:ns=\"urn:test\"><ns:b>1</ns:b></ns:a>", false);
+        assertNull(doc.getDocumentElement().getNamespaceURI());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        helper.writeDocument(doc, out);
+        assertEquals(helper.writeDocumentToString(false, doc), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("", helper.writeDocumentToString(false, null));
+    }
+
+    @Test
+    public void testReuseAfterFailure() throws Exception {
+        assertThrows(AtlasException.class, () -> helper.parseDocument("<a><b></a>", true));
+        Document doc = helper.parseDocument("<a><b>1</b></a>", true);
+        assertEquals("1", doc.getDocumentElement().getTextContent());
+    }
+
+    @Test
+    public void testExternalEntityNotResolved() throws Exception {
+        Document doc = helper.parseDocument("<!DOCTYPE a [<!ENTITY e SYSTEM \"file:///etc/hostname\">]><a>&e;</a>", true);
+        assertEquals("", doc.getDocumentElement().getTextContent());
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String xml = "<a><b>" + i + "</b></a>";
+                results.add(executor.submit(() -> helper.writeDocumentToString(false, helper.parseDocument(xml, true))));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><a><b>" + i + "</b></a>",
+                    results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
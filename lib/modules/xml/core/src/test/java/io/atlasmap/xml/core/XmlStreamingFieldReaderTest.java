@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasInternalSession.Head;
+import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldGroup;
+import io.atlasmap.xml.core.XmlStreamingFieldReader.PathTrie;
+import io.atlasmap.xml.v2.AtlasXmlModelFactory;
+import io.atlasmap.xml.v2.XmlField;
+
+public class XmlStreamingFieldReaderTest {
+
+    private XmlStreamingFieldReader createReader(String... paths) {
+        return new XmlStreamingFieldReader(new XmlIOHelper(XmlStreamingFieldReader.class.getClassLoader()),
+            DefaultAtlasConversionService.getInstance(), PathTrie.compile(Arrays.asList(paths)));
+    }
+
+    @Test
+    public void testReadReferredPathsOnly() throws Exception {
+        XmlStreamingFieldReader reader = createReader("/orders/order[1]/id", "/orders/@totalCost",
+            "/orders/order<>/customer/@name");
+        reader.parseDocument(new StringReader("<orders totalCost=\"12.50\">"
+            + "<order><id>1</id><customer name=\"Bob\"><address>Raleigh</address></customer></order>"
+            + "<order><id>2</id><customer name=\"Andrew\"/></order>"
+            + "</orders>"));
+
+        XmlField field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/orders/order[1]/id");
+        read(reader, field);
+        assertEquals("2", field.getValue());
+
+        field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/orders/@totalCost");
+        read(reader, field);
+        assertEquals("12.50", field.getValue());
+
+        field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/orders/order<>/customer/@name");
+        Field answer = read(reader, field);
+        assertTrue(answer instanceof FieldGroup);
+        FieldGroup group = (FieldGroup) answer;
+        assertEquals(2, group.getField().size());
+        assertEquals("/orders/order<1>/customer/@name", group.getField().get(1).getPath());
+        assertEquals("Andrew", group.getField().get(1).getValue());
+
+        // not referred from the mapping, skipped while parsing
+        field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/orders/order[0]/customer/address");
+        read(reader, field);
+        assertNull(field.getValue());
+    }
+
+    @Test
+    public void testSkipSiblingRootWithSamePrefix() throws Exception {
+        XmlStreamingFieldReader reader = createReader("/order/id", "/orders/note");
+        reader.parseDocument(new StringReader("<order><id>1</id><note>skipped</note></order>"));
+
+        XmlField field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/order/id");
+        read(reader, field);
+        assertEquals("1", field.getValue());
+
+        // /orders is not the root element
+        field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/order/note");
+        read(reader, field);
+        assertNull(field.getValue());
+    }
+
+    @Test
+    public void testReadSameAsDocumentReader() throws Exception {
+        String[] paths = new String[] {"/orders/order[2]/id[2]", "/orders/@totalCost",
+            "/orders/order<>/id<>/@custId", "/orders/q:order<>/id<>/@y:custId"};
+        for (String file : new String[] {"complex_example.xml", "complex_example_multiple_ns.xml"}) {
+            XmlStreamingFieldReader reader = createReader(paths);
+            try (InputStream is = new FileInputStream("src/test/resources/" + file)) {
+                reader.parseDocument(is);
+            }
+            XmlFieldReader documentReader = new XmlFieldReader(XmlFieldReader.class.getClassLoader(),
+                DefaultAtlasConversionService.getInstance());
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            documentReader.setDocument(dbf.newDocumentBuilder().parse(new File("src/test/resources/" + file)));
+
+            for (String path : paths) {
+                XmlField expected = AtlasXmlModelFactory.createXmlField();
+                expected.setPath(path);
+                XmlField actual = AtlasXmlModelFactory.createXmlField();
+                actual.setPath(path);
+                assertEquals(toString(read(documentReader, expected)), toString(read(reader, actual)), file + path);
+            }
+        }
+    }
+
+    @Test
+    public void testReadComplexElementAsWhole() throws Exception {
+        XmlStreamingFieldReader reader = createReader("/order");
+        reader.parseDocument(new StringReader(
+            "<orders><order><id>1</id><note><![CDATA[a<b]]></note></order><other>x</other></orders>"));
+
+        XmlField field = AtlasXmlModelFactory.createXmlField();
+        field.setPath("/order");
+        read(reader, field);
+        assertEquals("1a<b", field.getValue());
+    }
+
+    private String toString(Field field) {
+        if (field instanceof FieldGroup) {
+            StringBuilder buf = new StringBuilder();
+            for (Field child : ((FieldGroup) field).getField()) {
+                buf.append(toString(child)).append(';');
+            }
+            return buf.toString();
+        }
+        return field.getPath() + "=" + field.getValue();
+    }
+
+    private Field read(XmlFieldReader reader, XmlField field) throws AtlasException {
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        when(session.getAudits()).thenReturn(new Audits());
+        return reader.read(session);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import com.sun.xml.xsom.XSSchemaSet;
+
+public class AtlasXmlSchemaRewritePlanTest {
+
+    private static final String SCHEMA = "<xs:schema targetNamespace=\"http://atlasmap.io/xml/example\""
+        + " xmlns:tns=\"http://atlasmap.io/xml/example\" xmlns:xs=\"http://www.w3.org/2001/XMLSchema\""
+        + " elementFormDefault=\"qualified\">"
+        + "<xs:complexType name=\"Node\">"
+        + "<xs:sequence>"
+        + "<xs:element name=\"name\" type=\"xs:string\"/>"
+        + "<xs:element name=\"child\" type=\"tns:Node\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>"
+        + "</xs:sequence>"
+        + "<xs:attribute name=\"id\" type=\"xs:string\"/>"
+        + "</xs:complexType>"
+        + "<xs:element name=\"tree\" type=\"tns:Node\"/>"
+        + "</xs:schema>";
+
+    private static XSSchemaSet schemaSet;
+
+    @BeforeAll
+    public static void beforeAll() throws Exception {
+        AtlasXmlSchemaSetParser parser = new AtlasXmlSchemaSetParser(AtlasXmlSchemaRewritePlanTest.class.getClassLoader());
+        schemaSet = parser.parse(new ByteArrayInputStream(SCHEMA.getBytes()));
+    }
+
+    @Test
+    public void testRewriteRecursiveType() throws Exception {
+        Document source = parse("<tree xmlns=\"http://atlasmap.io/xml/example\" id=\"0\">"
+            + "<child id=\"1\"><child id=\"2\"><name>grandchild</name></child><name>child1</name></child>"
+            + "<child id=\"3\"><name>child2</name></child>"
+            + "<name>root</name>"
+            + "</tree>");
+
+        AtlasXmlSchemaRewritePlan plan = AtlasXmlSchemaRewritePlan.compile(schemaSet);
+        Document target = newDocument();
+        assertTrue(plan.rewrite(source, target));
+        assertEquals("<tree id=\"0\" xmlns=\"http://atlasmap.io/xml/example\"><name>root</name>"
+            + "<child id=\"1\"><name>child1</name><child id=\"2\"><name>grandchild</name></child></child>"
+            + "<child id=\"3\"><name>child2</name></child>"
+            + "</tree>", toString(target));
+
+        Document expected = newDocument();
+        schemaSet.getElementDecl("http://atlasmap.io/xml/example", "tree")
+            .visit(new AtlasRewritingXSVisitor(source, expected));
+        assertEquals(toString(expected), toString(target));
+    }
+
+    @Test
+    public void testRewriteUndeclaredRoot() throws Exception {
+        Document source = parse("<unknown><name>root</name></unknown>");
+        AtlasXmlSchemaRewritePlan plan = AtlasXmlSchemaRewritePlan.compile(schemaSet);
+        assertFalse(plan.rewrite(source, newDocument()));
+    }
+
+    private Document parse(String xml) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes()));
+    }
+
+    private Document newDocument() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().newDocument();
+    }
+
+    private String toString(Document doc) throws Exception {
+        StringWriter writer = new StringWriter();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty("omit-xml-declaration", "yes");
+        transformer.transform(new DOMSource(doc), new StreamResult(writer));
+        return writer.toString();
+    }
+
+}
@@ -16,22 +16,27 @@
 package io.atlasmap.xml.module;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.sun.xml.xsom.XSElementDecl;
 import com.sun.xml.xsom.XSSchemaSet;
 
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasUtil;
@@ -40,20 +45,26 @@ import io.atlasmap.spi.AtlasCollectionHelper;
 import io.atlasmap.spi.AtlasFieldActionService;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.DataSource;
 import io.atlasmap.v2.DataSourceType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.InspectionType;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.xml.core.XmlCollectionHelper;
 import io.atlasmap.xml.core.XmlFieldReader;
 import io.atlasmap.xml.core.XmlFieldWriter;
 import io.atlasmap.xml.core.XmlIOHelper;
 import io.atlasmap.xml.core.XmlPath;
-import io.atlasmap.xml.core.schema.AtlasRewritingXSVisitor;
+import io.atlasmap.xml.core.XmlStreamingFieldReader;
+import io.atlasmap.xml.core.XmlStreamingFieldReader.PathTrie;
+import io.atlasmap.xml.core.schema.AtlasXmlSchemaRewritePlan;
 import io.atlasmap.xml.core.schema.AtlasXmlSchemaSetParser;
 import io.atlasmap.xml.v2.AtlasXmlModelFactory;
 import io.atlasmap.xml.v2.XmlDataSource;
@@ -66,23 +77,34 @@ import io.atlasmap.xml.v2.XmlNamespaces;
         "xml" }, configPackages = { "io.atlasmap.xml.v2" })
 public class XmlModule extends BaseAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(XmlModule.class);
+    private static final List<Class<?>> SUPPORTED_SOURCE_TYPES = Collections.unmodifiableList(Arrays.asList(
+            Document.class, byte[].class, ByteBuffer.class, InputStream.class, Reader.class, String.class));
 
     private XmlIOHelper ioHelper;
+    private AtlasXmlSchemaRewritePlan schemaRewritePlan;
+    private volatile SourcePaths sourcePaths;
+    private volatile XmlValidationService validationService;
 
     @Override
     public void init() throws AtlasException {
         super.init();
         this.ioHelper = new XmlIOHelper(this.getClassLoader());
+        this.schemaRewritePlan = compileSchema();
     }
 
     @Override
     public void processPreValidation(AtlasInternalSession atlasSession) throws AtlasException {
-        if (atlasSession == null || atlasSession.getMapping() == null) {
+        if (atlasSession == null || atlasSession.getMappingDefinition() == null) {
             LOG.error("Invalid session: Session and AtlasMapping must be specified");
             throw new AtlasValidationException("Invalid session");
         }
 
-        List<Validation> xmlValidations = createValidationService().validateMapping(atlasSession.getMapping());
+        XmlValidationService xmlValidationService = validationService;
+        if (xmlValidationService == null) {
+            xmlValidationService = createValidationService();
+            validationService = xmlValidationService;
+        }
+        List<Validation> xmlValidations = xmlValidationService.validateMapping(atlasSession.getMappingDefinition());
         atlasSession.getValidations().getValidation().addAll(xmlValidations);
 
         if (LOG.isDebugEnabled()) {
@@ -104,26 +126,36 @@ public class XmlModule extends BaseAtlasModule {
     @Override
     public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
-        String sourceDocumentString = null;
-        boolean enableNamespaces = false;
-        if (sourceDocument == null || !(sourceDocument instanceof String)) {
-            AtlasUtil.addAudit(session, getDocId(), String.format(
-                    "Null or non-String source document: docId='%s'", getDocId()),
-                    AuditStatus.WARN, null);
+        boolean enableNamespaces = true;
+        String param = this.getUriParameters().get("disableNamespaces");
+        if (param != null && "true".equalsIgnoreCase(param)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Disabling namespace support");
+            }
+            enableNamespaces = false;
+        }
+
+        XmlFieldReader reader;
+        if (enableNamespaces && isStreaming() && isSupportedSourceType(sourceDocument)
+                && !(sourceDocument instanceof Document)) {
+            XmlStreamingFieldReader streamingReader = new XmlStreamingFieldReader(getXmlIOHelper(),
+                    getConversionService(), getSourcePaths(session.getMappingDefinition()));
+            parseDocument(streamingReader, sourceDocument);
+            reader = streamingReader;
         } else {
-            enableNamespaces = true;
-            String param = this.getUriParameters().get("disableNamespaces");
-            if (param != null && "true".equalsIgnoreCase(param)) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Disabling namespace support");
-                }
-                enableNamespaces = false;
+            Document sourceXmlDocument;
+            if (!isSupportedSourceType(sourceDocument)) {
+                AtlasUtil.addAudit(session, getDocId(), String.format(
+                        "Null or unsupported source document, one of %s is expected: docId='%s'",
+                        getSupportedSourceTypes(), getDocId()),
+                        AuditStatus.WARN, null);
+                sourceXmlDocument = convertToXmlDocument((String) null, false);
+            } else {
+                sourceXmlDocument = convertSourceToXmlDocument(sourceDocument, enableNamespaces);
             }
-            sourceDocumentString = String.class.cast(sourceDocument);
+            reader = new XmlFieldReader(getXmlIOHelper(), getConversionService());
+            reader.setDocument(sourceXmlDocument);
         }
-        Document sourceXmlDocument = convertToXmlDocument(sourceDocumentString, enableNamespaces);
-        XmlFieldReader reader = new XmlFieldReader(getClassLoader(), getConversionService());
-        reader.setDocument(sourceXmlDocument);
         session.setFieldReader(getDocId(), reader);
 
         if (LOG.isDebugEnabled()) {
@@ -131,6 +163,103 @@ public class XmlModule extends BaseAtlasModule {
         }
     }
 
+    /**
+     * Whether to read the source document with {@link XmlStreamingFieldReader}, which is enabled by
+     * {@code streaming=true} URI parameter. The modules extending this class which convert some other
+     * format into XML should override this to return {@code false}.
+     * @return true if the streaming reader is enabled
+     */
+    protected boolean isStreaming() {
+        String param = this.getUriParameters().get("streaming");
+        return param != null && "true".equalsIgnoreCase(param);
+    }
+
+    @Override
+    public List<Class<?>> getSupportedSourceTypes() {
+        return SUPPORTED_SOURCE_TYPES;
+    }
+
+    private boolean isSupportedSourceType(Object sourceDocument) {
+        return AtlasUtil.isSupportedSourceType(this, sourceDocument);
+    }
+
+    private void parseDocument(XmlStreamingFieldReader reader, Object sourceDocument) throws AtlasException {
+        try {
+            if (sourceDocument instanceof String) {
+                String source = (String) sourceDocument;
+                if (!source.isEmpty()) {
+                    reader.parseDocument(new StringReader(source));
+                }
+            } else if (sourceDocument instanceof byte[]) {
+                byte[] source = (byte[]) sourceDocument;
+                if (source.length != 0) {
+                    reader.parseDocument(new ByteArrayInputStream(source));
+                }
+            } else if (sourceDocument instanceof ByteBuffer) {
+                ByteBuffer source = (ByteBuffer) sourceDocument;
+                if (source.hasRemaining()) {
+                    reader.parseDocument(AtlasUtil.toInputStream(source));
+                }
+            } else if (sourceDocument instanceof Reader) {
+                reader.parseDocument((Reader) sourceDocument);
+            } else {
+                reader.parseDocument((InputStream) sourceDocument);
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to parse XML document", e);
+            reader.setDocument(null);
+        }
+    }
+
+    /**
+     * Gets the source field paths of this document referred from the mapping definition,
+     * which are compiled once for the mapping definition.
+     */
+    private PathTrie getSourcePaths(AtlasMapping mapping) {
+        SourcePaths answer = sourcePaths;
+        if (answer == null || answer.mapping != mapping) {
+            Set<String> paths = new HashSet<>();
+            if (mapping != null && mapping.getMappings() != null) {
+                collectSourcePaths(mapping.getMappings().getMapping(), paths);
+            }
+            answer = new SourcePaths(mapping, PathTrie.compile(paths));
+            sourcePaths = answer;
+        }
+        return answer.trie;
+    }
+
+    private void collectSourcePaths(List<BaseMapping> mappings, Set<String> paths) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection && ((Collection) baseMapping).getMappings() != null) {
+                collectSourcePaths(((Collection) baseMapping).getMappings().getMapping(), paths);
+            } else if (baseMapping instanceof Mapping) {
+                Mapping m = (Mapping) baseMapping;
+                if (m.getInputFieldGroup() != null) {
+                    collectSourcePaths(m.getInputFieldGroup(), paths);
+                }
+                for (Field f : m.getInputField()) {
+                    collectSourcePaths(f, paths);
+                }
+            }
+        }
+    }
+
+    private void collectSourcePaths(Field field, Set<String> paths) {
+        String docId = field.getDocId();
+        if (docId == null || docId.isEmpty()) {
+            // resolved in the same way as DefaultAtlasContext resolves the module
+            docId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+        }
+        if (getDocId().equals(docId) && field.getPath() != null) {
+            // a complex field is read as a whole
+            paths.add(field.getPath());
+        } else if (field instanceof FieldGroup) {
+            for (Field child : ((FieldGroup) field).getField()) {
+                collectSourcePaths(child, paths);
+            }
+        }
+    }
+
     /**
      * Convert a source document into XML. The modules extending this class can
      * override this to convert some format into XML so that XML field reader can read it.
@@ -143,21 +272,50 @@ public class XmlModule extends BaseAtlasModule {
         }
 
         try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(namespaced); // this must be done to use namespaces
-            DocumentBuilder b = dbf.newDocumentBuilder();
-            return b.parse(new ByteArrayInputStream(source.getBytes("UTF-8")));
+            return getXmlIOHelper().parseDocument(source, namespaced);
         } catch (Exception e) {
             LOG.warn("Failed to parse XML document", e);
             return null;
         }
     };
 
+    /**
+     * Convert a source document of one of the {@link #getSupportedSourceTypes()} into the XML document.
+     * A String is passed to {@link #convertToXmlDocument(String, boolean)}, and a {@link Document} is used as is.
+     * The modules extending this class which support other source types than String should override this.
+     * @param source source document
+     * @param namespaced whether to enable namespace support
+     * @return converted
+     */
+    protected Document convertSourceToXmlDocument(Object source, boolean namespaced) throws AtlasException {
+        if (source instanceof String) {
+            return convertToXmlDocument((String) source, namespaced);
+        } else if (source instanceof Document) {
+            return (Document) source;
+        }
+        try {
+            if (source instanceof byte[]) {
+                byte[] bytes = (byte[]) source;
+                return bytes.length != 0 ? getXmlIOHelper().parseDocument(new ByteArrayInputStream(bytes), namespaced) : null;
+            } else if (source instanceof ByteBuffer) {
+                ByteBuffer buffer = (ByteBuffer) source;
+                return buffer.hasRemaining()
+                        ? getXmlIOHelper().parseDocument(AtlasUtil.toInputStream(buffer), namespaced) : null;
+            } else if (source instanceof Reader) {
+                return getXmlIOHelper().parseDocument((Reader) source, namespaced);
+            }
+            return getXmlIOHelper().parseDocument((InputStream) source, namespaced);
+        } catch (Exception e) {
+            LOG.warn("Failed to parse XML document", e);
+            return null;
+        }
+    }
+
     @Override
     public void processPreTargetExecution(AtlasInternalSession session) throws AtlasException {
         XmlNamespaces xmlNs = null;
         String template = null;
-        for (DataSource ds : session.getMapping().getDataSource()) {
+        for (DataSource ds : session.getMappingDefinition().getDataSource()) {
             if (DataSourceType.TARGET.equals(ds.getDataSourceType()) && ds instanceof XmlDataSource
                     && (ds.getId() == null || ds.getId().equals(getDocId()))) {
                 xmlNs = ((XmlDataSource) ds).getXmlNamespaces();
@@ -172,7 +330,7 @@ public class XmlModule extends BaseAtlasModule {
             }
         }
 
-        XmlFieldWriter writer = new XmlFieldWriter(getClassLoader(), nsMap, template);
+        XmlFieldWriter writer = new XmlFieldWriter(getXmlIOHelper(), nsMap, template);
         session.setFieldWriter(getDocId(), writer);
 
         if (LOG.isDebugEnabled()) {
@@ -313,8 +471,14 @@ public class XmlModule extends BaseAtlasModule {
         XmlFieldWriter writer = session.getFieldWriter(getDocId(), XmlFieldWriter.class);
         if (writer != null && writer.getDocument() != null) {
             Document doc = enforceSchema(writer.getDocument());
-            String targetDocumentString = convertFromXmlDocument(doc);
-            session.setTargetDocument(getDocId(), targetDocumentString);
+            Object targetDocument = session.hasTargetDocument(getDocId()) ? session.getTargetDocument(getDocId()) : null;
+            if (targetDocument instanceof OutputStream) {
+                // the caller asked to write the document into the stream rather than to create a String
+                writeTargetDocument(doc, (OutputStream) targetDocument);
+            } else {
+                String targetDocumentString = convertFromXmlDocument(doc);
+                session.setTargetDocument(getDocId(), targetDocumentString);
+            }
         } else {
             AtlasUtil.addAudit(session, getDocId(), String
                     .format("No target document created for DataSource:[id=%s, uri=%s]", getDocId(), this.getUri()),
@@ -337,6 +501,17 @@ public class XmlModule extends BaseAtlasModule {
         return getXmlIOHelper().writeDocumentToString(false, xml);
     }
 
+    /**
+     * Write a target XML document into the stream which is set as a target document. The modules
+     * extending this class which override {@link #convertFromXmlDocument(Document)} should override this as well.
+     * The stream is not closed.
+     * @param xml XML document written by XML field writer
+     * @param out output stream
+     */
+    protected void writeTargetDocument(Document xml, OutputStream out) throws AtlasException {
+        getXmlIOHelper().writeDocument(xml, out);
+    }
+
     @Override
     public Boolean isSupportedField(Field field) {
         if (super.isSupportedField(field)) {
@@ -360,36 +535,21 @@ public class XmlModule extends BaseAtlasModule {
     }
 
     private Document enforceSchema(Document doc) {
-        if (getDataSourceMetadata() == null || getDataSourceMetadata().getInspectionType() != InspectionType.SCHEMA
-            || getDataSourceMetadata().getSpecification() == null || getDataSourceMetadata().getSpecification().length == 0) {
+        if (schemaRewritePlan == null) {
             return doc;
         }
         try {
-            byte[] bytes = getDataSourceMetadata().getSpecification();
-            AtlasXmlSchemaSetParser schemaParser = new AtlasXmlSchemaSetParser(getClassLoader());
-            XSSchemaSet schemaSet = schemaParser.parse(new ByteArrayInputStream(bytes));
-            Element sourceRoot = doc.getDocumentElement();
-            String namespaceUri = sourceRoot.getNamespaceURI();
-            if (namespaceUri == null) {
-                namespaceUri = XMLConstants.NULL_NS_URI;
-            }
-            String localName = sourceRoot.getLocalName();
-            if (XMLConstants.NULL_NS_URI.equals(namespaceUri)) {
-                localName = sourceRoot.getTagName();
-            }
-            XSElementDecl rootDecl = schemaSet.getElementDecl(namespaceUri, localName);
-            if (rootDecl == null) {
+            Document targetDoc = getXmlIOHelper().newDocument(true);
+            if (!schemaRewritePlan.rewrite(doc, targetDoc)) {
+                Element sourceRoot = doc.getDocumentElement();
                 LOG.warn("Declaration of the root element '{}' was not found in the schema",
-                        namespaceUri != null ? namespaceUri + ":" + localName : localName);
+                        sourceRoot.getNamespaceURI() != null
+                            ? sourceRoot.getNamespaceURI() + ":" + sourceRoot.getLocalName() : sourceRoot.getTagName());
                 return doc;
             }
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(true);
-            Document targetDoc = dbf.newDocumentBuilder().newDocument();
-            rootDecl.visit(new AtlasRewritingXSVisitor(doc, targetDoc));
             return targetDoc;
         } catch (Exception e) {
-            LOG.warn("Failed to load XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
+            LOG.warn("Failed to enforce XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
             if (LOG.isDebugEnabled()) {
                 LOG.debug("", e);
             }
@@ -397,4 +557,37 @@ public class XmlModule extends BaseAtlasModule {
         }
     }
 
+    /**
+     * Compiles the XML schema of this document into an element ordering plan once, so that
+     * the schema doesn't have to be parsed for each target document.
+     */
+    private AtlasXmlSchemaRewritePlan compileSchema() {
+        if (getDataSourceMetadata() == null || getDataSourceMetadata().getInspectionType() != InspectionType.SCHEMA
+            || getDataSourceMetadata().getSpecification() == null || getDataSourceMetadata().getSpecification().length == 0) {
+            return null;
+        }
+        try {
+            byte[] bytes = getDataSourceMetadata().getSpecification();
+            AtlasXmlSchemaSetParser schemaParser = new AtlasXmlSchemaSetParser(getClassLoader());
+            XSSchemaSet schemaSet = schemaParser.parse(new ByteArrayInputStream(bytes));
+            return AtlasXmlSchemaRewritePlan.compile(schemaSet);
+        } catch (Exception e) {
+            LOG.warn("Failed to load XML schema for the document '{}': {} - ignoring", getDocId(), e.getMessage());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("", e);
+            }
+            return null;
+        }
+    }
+
+    private static final class SourcePaths {
+        private final AtlasMapping mapping;
+        private final PathTrie trie;
+
+        private SourcePaths(AtlasMapping mapping, PathTrie trie) {
+            this.mapping = mapping;
+            this.trie = trie;
+        }
+    }
+
 }